@@ -0,0 +1,240 @@
+package com.example.scratchgame.analysis;
+
+import com.example.scratchgame.config.Config;
+import com.example.scratchgame.engine.GameEngine;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.WinEvaluator;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the exact payout distribution of a config without enumerating grids.
+ *
+ * <p>Cells are independent, so the probability of a grid factorizes over symbols: it is the product,
+ * for each symbol, of that symbol's probability on the cells it occupies. The reward also decomposes
+ * per symbol, since a symbol's combinations depend only on the set of cells it occupies. The
+ * calculator therefore runs a dynamic program over symbols whose state is the set of cells already
+ * filled (by earlier symbols or by bonus placements) mapped to the distribution of the reward
+ * accumulated so far. Each step costs O(3^cells) subset pairs instead of symbols^cells grids, and
+ * the states of a step are filled in parallel.
+ *
+ * <p>A winning spin's bonus is the first non-standard symbol in row-major order, so outcomes also carry
+ * the lowest such cell. A bonus placement's symbol is drawn independently of where it lands, so cells
+ * covered by placements only need to record that their bonus follows the bonus distribution.
+ */
+public final class ExactRtpCalculator {
+
+    public static final int MAX_CELLS = 16;
+
+    private final GameEngine engine = new GameEngine();
+
+    public PayoutDistribution compute(Config config, int betAmount) {
+        return compute(GameModel.compile(config), betAmount);
+    }
+
+    public PayoutDistribution compute(GameModel model, int betAmount) {
+        int cells = model.getCellCount();
+        if (cells > MAX_CELLS) {
+            throw new IllegalArgumentException("exact evaluation supports at most " + MAX_CELLS + " cells, config has "
+                    + cells);
+        }
+        int states = 1 << cells;
+
+        @SuppressWarnings("unchecked")
+        Map<Outcome, Double>[] current = new Map[states];
+        double[] covered = bonusCoverage(model);
+        // Which placed cell comes first only matters if standard cells can draw non-standard symbols too.
+        boolean drawnBonuses = drawsBonusSymbols(model);
+        for (int mask = 0; mask < states; mask++) {
+            if (covered[mask] > 0) {
+                current[mask] = new HashMap<>();
+                current[mask].put(mask == 0 ? Outcome.NONE : new Outcome(0, false,
+                        drawnBonuses ? Integer.numberOfTrailingZeros(mask) : 0, Outcome.PLACED), covered[mask]);
+            }
+        }
+
+        for (int symbol = 0; symbol < model.getSymbolCount(); symbol++) {
+            SymbolTable table = symbolTable(model, betAmount, symbol);
+            if (table == null) {
+                continue;
+            }
+            Map<Outcome, Double>[] previous = current;
+            @SuppressWarnings("unchecked")
+            Map<Outcome, Double>[] next = new Map[states];
+            IntStream.range(0, states).parallel().forEach(target -> next[target] = step(previous, table, target));
+            current = next;
+        }
+
+        return finish(model, betAmount, current[states - 1]);
+    }
+
+    private static boolean drawsBonusSymbols(GameModel model) {
+        for (int symbol = 0; symbol < model.getSymbolCount(); symbol++) {
+            for (int cell = 0; cell < model.getCellCount() && !model.isStandardSymbol(symbol); cell++) {
+                if (model.getStandardSymbolProbability(cell, symbol) > 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Probability of each set of cells ending up covered by bonus symbols: a uniform number of
+     * placements in {@code [0, bound)}, each on a uniformly chosen cell.
+     */
+    private static double[] bonusCoverage(GameModel model) {
+        int cells = model.getCellCount();
+        int bound = model.getBonusPlacementBound();
+        double[] placements = new double[1 << cells];
+        placements[0] = 1;
+        double[] coverage = new double[1 << cells];
+        for (int k = 0; k < bound; k++) {
+            for (int mask = 0; mask < coverage.length; mask++) {
+                coverage[mask] += placements[mask] / bound;
+            }
+            double[] next = new double[1 << cells];
+            for (int mask = 0; mask < placements.length; mask++) {
+                if (placements[mask] == 0) {
+                    continue;
+                }
+                for (int cell = 0; cell < cells; cell++) {
+                    next[mask | (1 << cell)] += placements[mask] / cells;
+                }
+            }
+            placements = next;
+        }
+        return coverage;
+    }
+
+    private SymbolTable symbolTable(GameModel model, int betAmount, int symbol) {
+        int cells = model.getCellCount();
+        double[] cellProbability = new double[cells];
+        boolean present = false;
+        for (int cell = 0; cell < cells; cell++) {
+            cellProbability[cell] = model.getStandardSymbolProbability(cell, symbol);
+            present |= cellProbability[cell] > 0;
+        }
+        if (!present) {
+            return null;
+        }
+
+        WinEvaluator winEvaluator = model.getWinEvaluator();
+        int states = 1 << cells;
+        double[] probability = new double[states];
+        long[] reward = new long[states];
+        boolean[] win = new boolean[states];
+        probability[0] = 1;
+        for (int mask = 1; mask < states; mask++) {
+            int lowest = Integer.numberOfTrailingZeros(mask);
+            probability[mask] = probability[mask & (mask - 1)] * cellProbability[lowest];
+            if (probability[mask] == 0) {
+                continue;
+            }
+            long combinations = winEvaluator.evaluateSymbol(symbol, mask);
+            if (combinations != 0) {
+                win[mask] = true;
+                reward[mask] = engine.calculateSymbolReward(betAmount, model, symbol, combinations);
+            }
+        }
+        return new SymbolTable(model.isStandardSymbol(symbol) ? -1 : symbol, probability, reward, win);
+    }
+
+    private static Map<Outcome, Double> step(Map<Outcome, Double>[] previous, SymbolTable table, int target) {
+        Map<Outcome, Double> result = null;
+        // Enumerate every subset of target (including the empty one) as the cells this symbol takes.
+        int subset = target;
+        while (true) {
+            Map<Outcome, Double> before = previous[target ^ subset];
+            double probability = table.probability[subset];
+            if (before != null && probability > 0) {
+                if (result == null) {
+                    result = new HashMap<>();
+                }
+                long reward = table.reward[subset];
+                boolean win = table.win[subset];
+                int cell = table.bonusSymbol >= 0 && subset != 0
+                        ? Integer.numberOfTrailingZeros(subset) : Outcome.NO_CELL;
+                for (Map.Entry<Outcome, Double> entry : before.entrySet()) {
+                    Outcome outcome = entry.getKey();
+                    boolean first = cell < outcome.bonusCell;
+                    result.merge(new Outcome(outcome.reward + reward, outcome.win || win,
+                                    first ? cell : outcome.bonusCell, first ? table.bonusSymbol : outcome.bonusSymbol),
+                            entry.getValue() * probability, Double::sum);
+                }
+            }
+            if (subset == 0) {
+                break;
+            }
+            subset = (subset - 1) & target;
+        }
+        return result;
+    }
+
+    private PayoutDistribution finish(GameModel model, int betAmount, Map<Outcome, Double> outcomes) {
+        TreeMap<Double, Double> rewards = new TreeMap<>();
+        double hitFrequency = 0;
+        for (Map.Entry<Outcome, Double> entry : outcomes.entrySet()) {
+            Outcome outcome = entry.getKey();
+            double probability = entry.getValue();
+            if (!outcome.win) {
+                rewards.merge(0.0, probability, Double::sum);
+                continue;
+            }
+            hitFrequency += probability;
+            if (outcome.bonusSymbol != Outcome.PLACED) {
+                double reward = model.getPaytable().toReward(
+                        engine.applyBonusSymbol(model, outcome.bonusSymbol, outcome.reward));
+                rewards.merge(reward, probability, Double::sum);
+                continue;
+            }
+            for (int bonus = 0; bonus < model.getSymbolCount(); bonus++) {
+                double bonusProbability = model.getBonusSymbolProbability(bonus);
+                if (bonusProbability > 0) {
+                    double reward = model.getPaytable().toReward(engine.applyBonusSymbol(model, bonus, outcome.reward));
+                    rewards.merge(reward, probability * bonusProbability, Double::sum);
+                }
+            }
+        }
+
+        double[] values = new double[rewards.size()];
+        double[] probabilities = new double[rewards.size()];
+        int i = 0;
+        for (Map.Entry<Double, Double> entry : rewards.entrySet()) {
+            values[i] = entry.getKey();
+            probabilities[i] = entry.getValue();
+            i++;
+        }
+        return new PayoutDistribution(betAmount, values, probabilities, hitFrequency);
+    }
+
+    private static final class SymbolTable {
+        final double[] probability;
+        final long[] reward;
+        final boolean[] win;
+        /**
+         * The symbol id when it is a non-standard symbol drawn for standard cells, otherwise -1.
+         */
+        final int bonusSymbol;
+
+        SymbolTable(int bonusSymbol, double[] probability, long[] reward, boolean[] win) {
+            this.bonusSymbol = bonusSymbol;
+            this.probability = probability;
+            this.reward = reward;
+            this.win = win;
+        }
+    }
+
+    /**
+     * @param bonusCell   the lowest cell holding a non-standard symbol, or {@link #NO_CELL}
+     * @param bonusSymbol the symbol in that cell, {@link #PLACED} when a bonus placement put it there, or -1
+     */
+    private record Outcome(long reward, boolean win, int bonusCell, int bonusSymbol) {
+        static final int NO_CELL = Integer.MAX_VALUE;
+        static final int PLACED = -2;
+        static final Outcome NONE = new Outcome(0, false, NO_CELL, -1);
+    }
+}
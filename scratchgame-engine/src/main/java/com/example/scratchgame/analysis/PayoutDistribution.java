@@ -0,0 +1,95 @@
+package com.example.scratchgame.analysis;
+
+import java.util.Locale;
+
+/**
+ * Exact distribution of the reward of one spin at a fixed bet: distinct reward values in ascending
+ * order with their probabilities.
+ */
+public final class PayoutDistribution {
+
+    private final int betAmount;
+    private final double[] rewards;
+    private final double[] probabilities;
+    private final double hitFrequency;
+
+    PayoutDistribution(int betAmount, double[] rewards, double[] probabilities, double hitFrequency) {
+        this.betAmount = betAmount;
+        this.rewards = rewards;
+        this.probabilities = probabilities;
+        this.hitFrequency = hitFrequency;
+    }
+
+    public int getBetAmount() {
+        return betAmount;
+    }
+
+    public int size() {
+        return rewards.length;
+    }
+
+    public double getReward(int index) {
+        return rewards[index];
+    }
+
+    public double getProbability(int index) {
+        return probabilities[index];
+    }
+
+    public double getTotalProbability() {
+        double total = 0;
+        for (double probability : probabilities) {
+            total += probability;
+        }
+        return total;
+    }
+
+    public double getExpectedReward() {
+        double expected = 0;
+        for (int i = 0; i < rewards.length; i++) {
+            expected += rewards[i] * probabilities[i];
+        }
+        return expected;
+    }
+
+    public double getRtp() {
+        return getExpectedReward() / betAmount;
+    }
+
+    public double getVariance() {
+        double mean = getExpectedReward();
+        double variance = 0;
+        for (int i = 0; i < rewards.length; i++) {
+            double delta = rewards[i] - mean;
+            variance += delta * delta * probabilities[i];
+        }
+        return variance;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * @return probability that at least one win combination applies, including wins worth nothing
+     */
+    public double getHitFrequency() {
+        return hitFrequency;
+    }
+
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "bet                %d%n", betAmount));
+        out.append(String.format(Locale.ROOT, "RTP                %.10f%n", getRtp()));
+        out.append(String.format(Locale.ROOT, "hit frequency      %.10f%n", getHitFrequency()));
+        out.append(String.format(Locale.ROOT, "expected reward    %.6f%n", getExpectedReward()));
+        out.append(String.format(Locale.ROOT, "reward variance    %.6f%n", getVariance()));
+        out.append(String.format(Locale.ROOT, "reward std dev     %.6f%n", getStandardDeviation()));
+        out.append(String.format(Locale.ROOT, "distinct payouts   %d%n", size()));
+        out.append(String.format("%n          reward      probability%n"));
+        for (int i = 0; i < rewards.length; i++) {
+            out.append(String.format(Locale.ROOT, "%16.4f   %.12e%n", rewards[i], probabilities[i]));
+        }
+        return out.toString();
+    }
+}
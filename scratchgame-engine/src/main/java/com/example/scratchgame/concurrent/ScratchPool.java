@@ -0,0 +1,76 @@
+package com.example.scratchgame.concurrent;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Reusable scratch objects such as encode buffers. A platform thread serves many requests, so it keeps its
+ * own in a {@link ThreadLocal}. A virtual thread usually serves one and would fill a thread-local only to
+ * drop it, so virtual threads borrow from a small striped pool instead: a slot is taken and returned with
+ * one atomic swap, and nothing ever blocks. An empty pool allocates, a full one drops the returned object.
+ *
+ * <p>Every {@link #acquire} must be paired with a {@link #release} on the same thread, passing the object
+ * back or a grown replacement for it.
+ */
+public final class ScratchPool<T> {
+
+    /** Slots a virtual thread tries, starting at its own, before allocating or dropping. */
+    private static final int PROBES = 4;
+
+    private final Supplier<T> factory;
+    private final ThreadLocal<T> local;
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+
+    public ScratchPool(Supplier<T> factory) {
+        this.factory = factory;
+        this.local = ThreadLocal.withInitial(factory);
+        int stripes = stripes();
+        this.slots = new AtomicReferenceArray<>(stripes);
+        this.mask = stripes - 1;
+    }
+
+    public T acquire() {
+        Thread thread = Thread.currentThread();
+        if (!thread.isVirtual()) {
+            return local.get();
+        }
+        int start = home(thread);
+        for (int i = 0; i < PROBES; i++) {
+            int slot = (start + i) & mask;
+            if (slots.getPlain(slot) != null) {
+                T item = slots.getAndSet(slot, null);
+                if (item != null) {
+                    return item;
+                }
+            }
+        }
+        return factory.get();
+    }
+
+    public void release(T item) {
+        Thread thread = Thread.currentThread();
+        if (!thread.isVirtual()) {
+            local.set(item);
+            return;
+        }
+        int start = home(thread);
+        for (int i = 0; i < PROBES; i++) {
+            if (slots.compareAndSet((start + i) & mask, null, item)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return a power of two of at least four slots per processor
+     */
+    public static int stripes() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        return Integer.highestOneBit(Math.max(1, processors) * 4 - 1) << 1;
+    }
+
+    private int home(Thread thread) {
+        return (int) ((thread.threadId() * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
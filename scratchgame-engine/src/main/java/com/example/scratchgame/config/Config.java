@@ -21,6 +21,10 @@ public class Config {
     private Map<String, Symbol> symbols;
     @JsonProperty("probabilities")
     private Probabilities probabilities;
+    @JsonProperty("reward_scale")
+    private Integer rewardScale;
+    @JsonProperty("reward_rounding")
+    private String rewardRounding;
     public int getColumns() {
         return columns;
     }
@@ -77,4 +81,20 @@ public class Config {
     public void setProbabilities(Probabilities probabilities) {
         this.probabilities = probabilities;
     }
+
+    public Integer getRewardScale() {
+        return rewardScale;
+    }
+
+    public void setRewardScale(Integer rewardScale) {
+        this.rewardScale = rewardScale;
+    }
+
+    public String getRewardRounding() {
+        return rewardRounding;
+    }
+
+    public void setRewardRounding(String rewardRounding) {
+        this.rewardRounding = rewardRounding;
+    }
 }
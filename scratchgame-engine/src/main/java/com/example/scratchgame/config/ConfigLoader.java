@@ -7,8 +7,13 @@ import java.io.IOException;
 
 public class ConfigLoader {
 
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
     public static Config loadConfig(String configFilePath) throws IOException {
-        ObjectMapper objectMapper = new ObjectMapper();
         return objectMapper.readValue(new File(configFilePath), Config.class);
     }
+
+    public static Config loadConfig(byte[] content) throws IOException {
+        return objectMapper.readValue(content, Config.class);
+    }
 }
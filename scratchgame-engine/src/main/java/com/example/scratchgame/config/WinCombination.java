@@ -17,6 +17,10 @@ public class WinCombination {
     private String group;
     @JsonProperty("covered_areas")
     private List<List<String>> coveredAreas;
+    @JsonProperty("pattern")
+    private String pattern;
+    @JsonProperty("length")
+    private int length;
 
     public String getName() {
         return name;
@@ -65,4 +69,20 @@ public class WinCombination {
     public void setCoveredAreas(List<List<String>> coveredAreas) {
         this.coveredAreas = coveredAreas;
     }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public void setLength(int length) {
+        this.length = length;
+    }
 }
@@ -0,0 +1,97 @@
+package com.example.scratchgame.engine;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Walker/Vose alias table over integer weights. Building is O(n); each sample costs one random draw
+ * and one array lookup regardless of how many outcomes there are. Outcomes default to the weight
+ * indices but can be any int labels, e.g. interned symbol ids.
+ */
+public final class AliasTable {
+
+    private final double[] probability;
+    private final int[] outcome;
+    private final int[] alias;
+
+    public AliasTable(int[] weights) {
+        this(identity(weights.length), weights);
+    }
+
+    public AliasTable(int[] outcomes, int[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("weights must not be empty");
+        }
+        if (outcomes.length != n) {
+            throw new IllegalArgumentException("outcomes and weights must have the same length");
+        }
+        long total = 0;
+        for (int weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("weights must not be negative");
+            }
+            total += weight;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("weights must not all be zero");
+        }
+
+        probability = new double[n];
+        outcome = outcomes.clone();
+        alias = new int[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = (double) weights[i] * n / total;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = outcomes[more];
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Whatever is left is 1.0 up to rounding error.
+        while (largeCount > 0) {
+            int i = large[--largeCount];
+            probability[i] = 1.0;
+            alias[i] = outcomes[i];
+        }
+        while (smallCount > 0) {
+            int i = small[--smallCount];
+            probability[i] = 1.0;
+            alias[i] = outcomes[i];
+        }
+    }
+
+    private static int[] identity(int n) {
+        int[] outcomes = new int[n];
+        for (int i = 0; i < n; i++) {
+            outcomes[i] = i;
+        }
+        return outcomes;
+    }
+
+    public int sample(RandomGenerator random) {
+        double u = random.nextDouble() * probability.length;
+        int column = Math.min((int) u, probability.length - 1);
+        return u - column < probability[column] ? outcome[column] : alias[column];
+    }
+
+    public int size() {
+        return probability.length;
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.scratchgame.engine;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Evaluates and pays a batch of grids at once, for simulation and batch workloads. The grids are held in
+ * structure-of-arrays form, one lane per spin, and a {@link LaneKernel} tests every linear area, counts every
+ * standard symbol and finds every bonus for all lanes together: on the Vector API when the JVM was started
+ * with {@code --add-modules jdk.incubator.vector} and the CPU has 256-bit vectors or wider, in plain loops
+ * otherwise. Awarding what the kernel found is per lane and goes through the same {@link WinEvaluator} and
+ * {@link Paytable} as {@link GameEngine#resolve}, so every lane's outcome is the one a single spin would get.
+ * <p>
+ * Only grids evaluated by area scan, up to 64 cells, can be batched; see {@link #supports}. An evaluator
+ * keeps its batch in reusable buffers and must not be shared between threads.
+ */
+public final class BatchEvaluator {
+
+    private static final boolean VECTOR_API = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    /** Narrower vectors do not win back the cost of counting symbol by symbol. */
+    private static final int MIN_VECTOR_LANES = 8;
+
+    private final GameModel model;
+    private final WinEvaluator evaluator;
+    private final GameEngine engine = new GameEngine();
+    private final LaneKernel kernel;
+    private final int lanes;
+    private final int cellCount;
+    private final int standardCount;
+    private final int[] rankOf;
+    private final int[] symbolOf;
+    private final CompiledCombination[] linearCombinations;
+    private final int[] firstCells;
+
+    private final int[] cells;
+    private final long[] areaHits;
+    private final int[] counts;
+    private final int[] bonus;
+    private final long[][] applied;
+    private final int[] appliedBonus;
+    private final long[] rewards;
+
+    private BatchEvaluator(GameModel model, boolean vectorize) {
+        this.model = model;
+        this.evaluator = model.getWinEvaluator();
+        this.cellCount = model.getCellCount();
+
+        int symbolCount = model.getSymbolCount();
+        this.rankOf = new int[symbolCount];
+        this.symbolOf = new int[symbolCount];
+        int rank = 0;
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            if (evaluator.isStandardSymbol(symbol)) {
+                symbolOf[rank] = symbol;
+                rankOf[symbol] = rank++;
+            }
+        }
+        this.standardCount = rank;
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            if (!evaluator.isStandardSymbol(symbol)) {
+                symbolOf[rank] = symbol;
+                rankOf[symbol] = rank++;
+            }
+        }
+
+        this.linearCombinations = evaluator.getLinearCombinations();
+        int[][] areas = Arrays.stream(linearCombinations)
+                .flatMap(combination -> Arrays.stream(combination.getAreas()))
+                .toArray(int[][]::new);
+        this.firstCells = Arrays.stream(areas).mapToInt(area -> area[0]).toArray();
+        this.kernel = vectorize && VECTOR_API && VectorLaneKernel.preferredLanes() >= MIN_VECTOR_LANES
+                ? new VectorLaneKernel(cellCount, standardCount, areas)
+                : new ScalarLaneKernel(cellCount, standardCount, areas);
+        this.lanes = kernel.lanes();
+
+        this.cells = new int[cellCount * lanes];
+        this.areaHits = new long[areas.length];
+        this.counts = new int[standardCount * lanes];
+        this.bonus = new int[lanes];
+        this.applied = new long[lanes][symbolCount];
+        this.appliedBonus = new int[lanes];
+        this.rewards = new long[lanes];
+    }
+
+    /**
+     * @return whether spins of {@code model} can be evaluated in batches
+     */
+    public static boolean supports(GameModel model) {
+        return !model.getWinEvaluator().usesBitboards();
+    }
+
+    /**
+     * Creates an evaluator on the Vector API when it is available.
+     *
+     * @throws IllegalArgumentException when the model's grids cannot be batched
+     */
+    public static BatchEvaluator create(GameModel model) {
+        return create(model, true);
+    }
+
+    /**
+     * @param vectorize whether to use the Vector API when it is available; plain loops otherwise
+     * @throws IllegalArgumentException when the model's grids cannot be batched
+     */
+    public static BatchEvaluator create(GameModel model, boolean vectorize) {
+        if (!supports(model)) {
+            throw new IllegalArgumentException("grids of more than " + Long.SIZE + " cells cannot be batched");
+        }
+        return new BatchEvaluator(model, vectorize);
+    }
+
+    /**
+     * @return how many grids a batch holds
+     */
+    public int getLanes() {
+        return lanes;
+    }
+
+    public boolean isVectorized() {
+        return kernel instanceof VectorLaneKernel;
+    }
+
+    /**
+     * Copies {@code grid} into {@code lane} of the next batch.
+     */
+    public void setGrid(int lane, int[] grid) {
+        for (int cell = 0; cell < cellCount; cell++) {
+            cells[cell * lanes + lane] = rankOf[grid[cell]];
+        }
+    }
+
+    /**
+     * Generates a grid into {@code lane}, drawing from {@code random} exactly as
+     * {@link GameEngine#generateGrid} does.
+     */
+    public void generateGrid(int lane, RandomGenerator random) {
+        for (int cell = 0; cell < cellCount; cell++) {
+            cells[cell * lanes + lane] = rankOf[model.sampleStandardSymbol(cell, random)];
+        }
+        int numberOfBonusSymbols = random.nextInt(model.getBonusPlacementBound());
+        for (int i = 0; i < numberOfBonusSymbols; i++) {
+            cells[random.nextInt(cellCount) * lanes + lane] = rankOf[model.sampleBonusSymbol(random)];
+        }
+    }
+
+    /**
+     * Evaluates and pays the grids in lanes {@code [0, count)}; lanes past {@code count} are ignored.
+     */
+    public void evaluate(int count, int betAmount) {
+        if (count < 0 || count > lanes) {
+            throw new IllegalArgumentException("count must be between 0 and " + lanes);
+        }
+        kernel.scan(cells, areaHits, counts, bonus);
+
+        for (int lane = 0; lane < count; lane++) {
+            Arrays.fill(applied[lane], 0);
+        }
+        long laneMask = count == Long.SIZE ? -1L : (1L << count) - 1;
+        int area = 0;
+        for (CompiledCombination combination : linearCombinations) {
+            for (int end = area + combination.getAreas().length; area < end; area++) {
+                long hits = areaHits[area] & laneMask;
+                while (hits != 0) {
+                    int lane = Long.numberOfTrailingZeros(hits);
+                    int symbol = symbolOf[cells[firstCells[area] * lanes + lane]];
+                    evaluator.award(applied[lane], symbol, combination);
+                    hits &= hits - 1;
+                }
+            }
+        }
+
+        // Only standard symbols win, so summing over them is GameEngine#calculateReward.
+        Paytable paytable = model.getPaytable();
+        int minSameSymbolCount = evaluator.getMinSameSymbolCount();
+        for (int lane = 0; lane < count; lane++) {
+            long[] combinations = applied[lane];
+            long reward = 0;
+            boolean won = false;
+            for (int rank = 0; rank < standardCount; rank++) {
+                int symbol = symbolOf[rank];
+                int symbolCount = counts[rank * lanes + lane];
+                if (symbolCount >= minSameSymbolCount) {
+                    evaluator.awardSameSymbols(combinations, symbol, symbolCount);
+                }
+                if (combinations[symbol] != 0) {
+                    won = true;
+                    reward += paytable.symbolReward(betAmount, symbol, combinations[symbol]);
+                }
+            }
+            if (won) {
+                appliedBonus[lane] = bonus[lane] >= 0 ? symbolOf[bonus[lane]] : -1;
+                reward = engine.applyBonusSymbol(model, appliedBonus[lane], reward);
+            } else {
+                appliedBonus[lane] = -1;
+                reward = 0;
+            }
+            rewards[lane] = paytable.toMinorUnits(reward);
+        }
+    }
+
+    /**
+     * @return the lane's reward in minor units, as {@link SpinResult#getRewardMinorUnits()}
+     */
+    public long getRewardMinorUnits(int lane) {
+        return rewards[lane];
+    }
+
+    /**
+     * @return the lane's winning combinations per symbol id; overwritten by the next {@link #evaluate}
+     */
+    public long[] getAppliedCombinations(int lane) {
+        return applied[lane];
+    }
+
+    public int getAppliedBonusSymbol(int lane) {
+        return appliedBonus[lane];
+    }
+
+    /**
+     * @return a copy of the lane's outcome, as {@link GameEngine#resolve} would return it
+     */
+    public SpinResult getResult(int lane) {
+        int[] grid = new int[cellCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            grid[cell] = symbolOf[cells[cell * lanes + lane]];
+        }
+        return new SpinResult(grid, rewards[lane], model.getPaytable().getScale(), applied[lane].clone(),
+                appliedBonus[lane]);
+    }
+}
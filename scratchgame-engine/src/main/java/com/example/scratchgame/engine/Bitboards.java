@@ -0,0 +1,75 @@
+package com.example.scratchgame.engine;
+
+/**
+ * Multi-word bitboards over row-major cell indices: bit {@code cell & 63} of word {@code cell >>> 6}.
+ */
+final class Bitboards {
+
+    private Bitboards() {
+    }
+
+    static int words(int cells) {
+        return (cells + Long.SIZE - 1) >>> 6;
+    }
+
+    static void set(long[] board, int cell) {
+        board[cell >>> 6] |= 1L << cell;
+    }
+
+    /**
+     * Tests whether {@code board} has {@code length} set bits in a row {@code stride} apart, starting at a
+     * bit set in {@code starts}. Doubles the covered run with each shift-and-AND, so it takes
+     * {@code log2(length)} passes over the words. {@code scratch} must be as long as {@code board}.
+     */
+    static boolean hasRun(long[] board, int stride, int length, long[] starts, long[] scratch) {
+        System.arraycopy(board, 0, scratch, 0, board.length);
+        int covered = 1;
+        while (covered < length) {
+            int step = Math.min(covered, length - covered);
+            if (!andShifted(scratch, step * stride)) {
+                return false;
+            }
+            covered += step;
+        }
+        for (int word = 0; word < scratch.length; word++) {
+            if ((scratch[word] & starts[word]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets bit {@code i} of {@code board} to bit {@code i} AND bit {@code i + shift}, in place.
+     *
+     * @return false if no bit is left set
+     */
+    private static boolean andShifted(long[] board, int shift) {
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+        long any = 0;
+        for (int word = 0; word < board.length; word++) {
+            int source = word + wordShift;
+            long low = source < board.length ? board[source] : 0;
+            long shifted = low >>> bitShift;
+            if (bitShift != 0 && source + 1 < board.length) {
+                shifted |= board[source + 1] << (Long.SIZE - bitShift);
+            }
+            board[word] &= shifted;
+            any |= board[word];
+        }
+        return any != 0;
+    }
+
+    /**
+     * @return whether every bit of {@code mask} is set in {@code board}
+     */
+    static boolean containsAll(long[] board, long[] mask) {
+        for (int word = 0; word < mask.length; word++) {
+            if ((board[word] & mask[word]) != mask[word]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.scratchgame.engine;
+
+/**
+ * What a bonus symbol's {@code impact} does to the reward of a winning spin. Every impact compiles to
+ * one operation, {@code reward * factor + extra}, taking the factor from the symbol's
+ * {@code reward_multiplier} and the addend from its {@code extra}, so a new bonus symbol only needs config.
+ */
+public enum BonusImpact {
+    MULTIPLY_REWARD("multiply_reward", true, false),
+    EXTRA_BONUS("extra_bonus", false, true),
+    MULTIPLY_AND_EXTRA("multiply_and_extra", true, true),
+    MISS("miss", false, false);
+
+    private final String configName;
+    private final boolean multiplies;
+    private final boolean adds;
+
+    BonusImpact(String configName, boolean multiplies, boolean adds) {
+        this.configName = configName;
+        this.multiplies = multiplies;
+        this.adds = adds;
+    }
+
+    public String getConfigName() {
+        return configName;
+    }
+
+    /**
+     * @return whether the reward is scaled by the symbol's {@code reward_multiplier}
+     */
+    public boolean multiplies() {
+        return multiplies;
+    }
+
+    /**
+     * @return whether the symbol's {@code extra} is added to the reward
+     */
+    public boolean adds() {
+        return adds;
+    }
+
+    static BonusImpact of(String configName) {
+        for (BonusImpact impact : values()) {
+            if (impact.configName.equals(configName)) {
+                return impact;
+            }
+        }
+        return null;
+    }
+}
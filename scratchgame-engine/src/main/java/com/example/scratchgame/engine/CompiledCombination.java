@@ -0,0 +1,281 @@
+package com.example.scratchgame.engine;
+
+import com.example.scratchgame.config.WinCombination;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link WinCombination} with its covered areas resolved to row-major cell indices (and bitmasks when
+ * the grid fits in a long), so nothing is parsed at spin time. A {@code linear_symbols} combination lists
+ * its areas in {@code covered_areas} or declares a {@code pattern}: every run of {@code length} cells in
+ * one {@link LineDirection}, a full line when the length is omitted. Both forms also compile to
+ * multi-word bitboards for grids too large for one long.
+ */
+public final class CompiledCombination {
+
+    public enum When {
+        SAME_SYMBOLS("same_symbols"),
+        LINEAR_SYMBOLS("linear_symbols");
+
+        private final String configName;
+
+        When(String configName) {
+            this.configName = configName;
+        }
+
+        public String getConfigName() {
+            return configName;
+        }
+
+        static When of(String configName) {
+            for (When when : values()) {
+                if (when.configName.equals(configName)) {
+                    return when;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final int id;
+    private final String name;
+    private final byte[] jsonName;
+    private final int group;
+    private final When when;
+    private final double rewardMultiplier;
+    private final int count;
+    private final int[][] areas;
+    private final long[] areaMasks;
+    private final long[][] wideAreaMasks;
+    private final LineDirection direction;
+    private final int runLength;
+    private final int stride;
+    private final long[] runStarts;
+
+    private CompiledCombination(int id, String name, int group, When when, double rewardMultiplier, int count,
+                                int[][] areas, long[] areaMasks, long[][] wideAreaMasks, LineDirection direction,
+                                int runLength, int stride, long[] runStarts) {
+        this.id = id;
+        this.name = name;
+        this.jsonName = GameModel.jsonString(name);
+        this.group = group;
+        this.when = when;
+        this.rewardMultiplier = rewardMultiplier;
+        this.count = count;
+        this.areas = areas;
+        this.areaMasks = areaMasks;
+        this.wideAreaMasks = wideAreaMasks;
+        this.direction = direction;
+        this.runLength = runLength;
+        this.stride = stride;
+        this.runStarts = runStarts;
+    }
+
+    static CompiledCombination compile(int id, String name, int group, WinCombination winCombination, int rows,
+                                       int columns) {
+        When when = When.of(winCombination.getWhen());
+        if (when == null) {
+            throw new IllegalArgumentException("win_combinations." + name + " has unsupported 'when' "
+                    + winCombination.getWhen());
+        }
+        int[][] areas = new int[0][];
+        long[] areaMasks = null;
+        long[][] wideAreaMasks = null;
+        LineDirection direction = null;
+        int runLength = 0;
+        int stride = 0;
+        long[] runStarts = null;
+        switch (when) {
+            case SAME_SYMBOLS:
+                if (winCombination.getCount() <= 0) {
+                    throw new IllegalArgumentException("win_combinations." + name + " needs a positive count");
+                }
+                break;
+            case LINEAR_SYMBOLS:
+                List<List<String>> coveredAreas = winCombination.getCoveredAreas();
+                if (winCombination.getPattern() != null) {
+                    if (coveredAreas != null && !coveredAreas.isEmpty()) {
+                        throw new IllegalArgumentException("win_combinations." + name
+                                + " has both a pattern and covered_areas");
+                    }
+                    direction = LineDirection.of(winCombination.getPattern());
+                    if (direction == null) {
+                        throw new IllegalArgumentException("win_combinations." + name + " has unsupported pattern "
+                                + winCombination.getPattern());
+                    }
+                    runLength = winCombination.getLength() > 0
+                            ? winCombination.getLength() : direction.fullLength(rows, columns);
+                    stride = direction.stride(columns);
+                    runStarts = new long[Bitboards.words(rows * columns)];
+                    areas = patternAreas(direction, runLength, rows, columns, runStarts);
+                    if (areas.length == 0) {
+                        throw new IllegalArgumentException("win_combinations." + name + " pattern of length "
+                                + runLength + " does not fit the " + rows + "x" + columns + " grid");
+                    }
+                } else {
+                    if (coveredAreas == null || coveredAreas.isEmpty()) {
+                        throw new IllegalArgumentException("win_combinations." + name
+                                + " needs covered_areas or a pattern");
+                    }
+                    areas = new int[coveredAreas.size()][];
+                    for (int i = 0; i < areas.length; i++) {
+                        areas[i] = parseArea(name, coveredAreas.get(i), rows, columns);
+                    }
+                }
+                if (rows * columns <= Long.SIZE) {
+                    areaMasks = new long[areas.length];
+                    for (int i = 0; i < areas.length; i++) {
+                        for (int cell : areas[i]) {
+                            areaMasks[i] |= 1L << cell;
+                        }
+                    }
+                } else if (direction == null) {
+                    wideAreaMasks = new long[areas.length][];
+                    for (int i = 0; i < areas.length; i++) {
+                        wideAreaMasks[i] = new long[Bitboards.words(rows * columns)];
+                        for (int cell : areas[i]) {
+                            Bitboards.set(wideAreaMasks[i], cell);
+                        }
+                    }
+                }
+                break;
+        }
+        return new CompiledCombination(id, name, group, when, winCombination.getRewardMultiplier(),
+                winCombination.getCount(), areas, areaMasks, wideAreaMasks, direction, runLength, stride, runStarts);
+    }
+
+    /**
+     * Expands a pattern into the cells of every run that fits the grid, marking each run's first cell in
+     * {@code runStarts}.
+     */
+    private static int[][] patternAreas(LineDirection direction, int length, int rows, int columns,
+                                        long[] runStarts) {
+        List<int[]> areas = new ArrayList<>();
+        int stride = direction.stride(columns);
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                if (!direction.fits(row, column, length, rows, columns)) {
+                    continue;
+                }
+                int start = row * columns + column;
+                int[] cells = new int[length];
+                for (int i = 0; i < length; i++) {
+                    cells[i] = start + i * stride;
+                }
+                areas.add(cells);
+                Bitboards.set(runStarts, start);
+            }
+        }
+        return areas.toArray(new int[0][]);
+    }
+
+    /**
+     * Tests whether a symbol whose cells are set in {@code board} covers any area of this combination.
+     *
+     * @param count   the number of cells set in {@code board}
+     * @param scratch a bitboard as long as {@code board} that may be overwritten
+     */
+    boolean matches(long[] board, int count, long[] scratch) {
+        if (direction != null) {
+            return count >= runLength && Bitboards.hasRun(board, stride, runLength, runStarts, scratch);
+        }
+        for (long[] mask : wideAreaMasks) {
+            if (Bitboards.containsAll(board, mask)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] parseArea(String name, List<String> area, int rows, int columns) {
+        if (area == null || area.isEmpty()) {
+            throw new IllegalArgumentException("win_combinations." + name + " has an empty covered area");
+        }
+        int[] cells = new int[area.size()];
+        for (int i = 0; i < cells.length; i++) {
+            String position = area.get(i);
+            String[] pos = position == null ? new String[0] : position.split(":", -1);
+            if (pos.length != 2) {
+                throw malformedPosition(name, position);
+            }
+            int row;
+            int column;
+            try {
+                row = Integer.parseInt(pos[0].trim());
+                column = Integer.parseInt(pos[1].trim());
+            } catch (NumberFormatException e) {
+                throw malformedPosition(name, position);
+            }
+            if (row < 0 || row >= rows || column < 0 || column >= columns) {
+                throw new IllegalArgumentException("win_combinations." + name + " position " + position
+                        + " is outside the " + rows + "x" + columns + " grid");
+            }
+            cells[i] = row * columns + column;
+        }
+        return cells;
+    }
+
+    private static IllegalArgumentException malformedPosition(String name, String position) {
+        return new IllegalArgumentException("win_combinations." + name + " has malformed position " + position);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the name pre-encoded as a JSON string literal; shared, so callers must not modify it
+     */
+    public byte[] getJsonName() {
+        return jsonName;
+    }
+
+    public int getGroup() {
+        return group;
+    }
+
+    public When getWhen() {
+        return when;
+    }
+
+    public double getRewardMultiplier() {
+        return rewardMultiplier;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return the covered areas as row-major cell indices; empty for {@link When#SAME_SYMBOLS}
+     */
+    public int[][] getAreas() {
+        return areas;
+    }
+
+    /**
+     * @return one bitmask per covered area, or {@code null} when the grid has more than 64 cells
+     */
+    public long[] getAreaMasks() {
+        return areaMasks;
+    }
+
+    /**
+     * @return the direction of a pattern combination, or {@code null} when its areas were listed
+     */
+    public LineDirection getDirection() {
+        return direction;
+    }
+
+    /**
+     * @return the run length of a pattern combination, or 0 when its areas were listed
+     */
+    public int getRunLength() {
+        return runLength;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.scratchgame.engine;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Stateless spin pipeline over a compiled {@link GameModel}. All randomness comes from the caller's
+ * generator, so one engine can be shared by any number of threads.
+ */
+public final class GameEngine {
+
+    public SpinResult spin(GameModel model, int betAmount, RandomGenerator random) {
+        return spin(model, betAmount, random, null);
+    }
+
+    /**
+     * Runs a spin, reporting how long each {@link SpinPhase} took to {@code recorder} when it is not null.
+     */
+    public SpinResult spin(GameModel model, int betAmount, RandomGenerator random, SpinPhaseRecorder recorder) {
+        long start = recorder != null ? System.nanoTime() : 0;
+        int[] grid = generateGrid(model, random);
+        if (recorder != null) {
+            recorder.record(SpinPhase.GENERATE_GRID, System.nanoTime() - start);
+        }
+        return resolve(model, betAmount, grid, recorder);
+    }
+
+    /**
+     * Evaluates and pays an already generated grid; a spin's outcome depends on nothing else, so this
+     * reproduces it from the grid alone.
+     */
+    public SpinResult resolve(GameModel model, int betAmount, int[] grid) {
+        return resolve(model, betAmount, grid, null);
+    }
+
+    private SpinResult resolve(GameModel model, int betAmount, int[] grid, SpinPhaseRecorder recorder) {
+        long start = recorder != null ? System.nanoTime() : 0;
+        long[] appliedCombinations = new long[model.getSymbolCount()];
+        int bonusSymbol = model.getWinEvaluator().evaluate(grid, appliedCombinations);
+        long evaluated = recorder != null ? System.nanoTime() : 0;
+
+        long reward = calculateReward(betAmount, model, appliedCombinations);
+
+        int appliedBonusSymbol = -1;
+        if (hasWin(appliedCombinations)) {
+            appliedBonusSymbol = bonusSymbol;
+            reward = applyBonusSymbol(model, appliedBonusSymbol, reward);
+        } else {
+            reward = 0;
+        }
+        Paytable paytable = model.getPaytable();
+        long amount = paytable.toMinorUnits(reward);
+
+        if (recorder != null) {
+            recorder.record(SpinPhase.EVALUATE, evaluated - start);
+            recorder.record(SpinPhase.CALCULATE_REWARD, System.nanoTime() - evaluated);
+        }
+        return new SpinResult(grid, amount, paytable.getScale(), appliedCombinations, appliedBonusSymbol);
+    }
+
+    public int[] generateGrid(GameModel model, RandomGenerator random) {
+        int cells = model.getCellCount();
+        int[] grid = new int[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            grid[cell] = model.sampleStandardSymbol(cell, random);
+        }
+
+        int numberOfBonusSymbols = random.nextInt(model.getBonusPlacementBound()); // Random number of bonus symbols to add
+        for (int i = 0; i < numberOfBonusSymbols; i++) {
+            grid[random.nextInt(cells)] = model.sampleBonusSymbol(random);
+        }
+        return grid;
+    }
+
+    public long[] evaluate(GameModel model, int[] grid) {
+        return model.getWinEvaluator().evaluate(grid);
+    }
+
+    /**
+     * @return the summed reward of every winning standard symbol, in {@link Paytable} sub-units
+     */
+    public long calculateReward(int betAmount, GameModel model, long[] appliedCombinations) {
+        Paytable paytable = model.getPaytable();
+        long totalReward = 0;
+
+        for (int symbol = 0; symbol < appliedCombinations.length; symbol++) {
+            long combinations = appliedCombinations[symbol];
+            if (combinations != 0 && model.isStandardSymbol(symbol)) {
+                totalReward += paytable.symbolReward(betAmount, symbol, combinations);
+            }
+        }
+
+        return totalReward;
+    }
+
+    /**
+     * @return the reward of one standard symbol that won {@code combinations}, in {@link Paytable} sub-units
+     */
+    public long calculateSymbolReward(int betAmount, GameModel model, int symbol, long combinations) {
+        return model.getPaytable().symbolReward(betAmount, symbol, combinations);
+    }
+
+    private static boolean hasWin(long[] appliedCombinations) {
+        for (long combinations : appliedCombinations) {
+            if (combinations != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Applies a bonus symbol to a reward in {@link Paytable} sub-units; -1 and losing spins leave it as is.
+     */
+    public long applyBonusSymbol(GameModel model, int bonusSymbol, long reward) {
+        if (bonusSymbol < 0 || reward == 0) {
+            return reward;
+        }
+        return model.getPaytable().applyBonus(bonusSymbol, reward);
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.scratchgame.engine;
+
+import com.example.scratchgame.config.*;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.io.IOException;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.random.RandomGenerator;
+import java.util.zip.CRC32;
+
+/**
+ * Immutable, validated view of a {@link Config}, compiled once per load and shared by every spin.
+ */
+public final class GameModel {
+
+    private final long version;
+    private final int rows;
+    private final int columns;
+    private final String[] symbolNames;
+    private final byte[][] jsonSymbolNames;
+    private final Map<String, Integer> symbolIds;
+    private final boolean[] standardSymbols;
+    private final double[] rewardMultipliers;
+    private final AliasTable[] cellSamplers;
+    private final double[][] cellProbabilities;
+    private final Map<String, Integer> bonusWeights;
+    private final AliasTable bonusSampler;
+    private final double[] bonusProbabilities;
+    private final Map<String, Symbol> symbols;
+    private final WinEvaluator winEvaluator;
+    private final Paytable paytable;
+
+    private GameModel(long version, int rows, int columns, Map<String, Symbol> symbols, Map<String, Integer> symbolIds,
+                      boolean[] standardSymbols, AliasTable[] cellSamplers, double[][] cellProbabilities,
+                      Map<String, Integer> bonusWeights, WinEvaluator winEvaluator, int rewardScale,
+                      RoundingMode rewardRounding) {
+        this.version = version;
+        this.rows = rows;
+        this.columns = columns;
+        this.symbols = symbols;
+        this.symbolIds = symbolIds;
+        this.symbolNames = symbols.keySet().toArray(new String[0]);
+        this.jsonSymbolNames = new byte[symbolNames.length][];
+        for (int id = 0; id < symbolNames.length; id++) {
+            jsonSymbolNames[id] = jsonString(symbolNames[id]);
+        }
+        this.standardSymbols = standardSymbols;
+        this.rewardMultipliers = new double[symbolNames.length];
+        for (int id = 0; id < symbolNames.length; id++) {
+            rewardMultipliers[id] = symbols.get(symbolNames[id]).getRewardMultiplier();
+        }
+        this.cellSamplers = cellSamplers;
+        this.cellProbabilities = cellProbabilities;
+        this.bonusWeights = bonusWeights;
+        this.bonusSampler = new AliasTable(idsOf(bonusWeights, symbolIds), weightsOf(bonusWeights));
+        this.bonusProbabilities = probabilitiesOf(bonusWeights, symbolIds);
+        this.winEvaluator = winEvaluator;
+        this.paytable = Paytable.compile(symbolNames, symbols, standardSymbols, winEvaluator, rewardScale,
+                rewardRounding);
+    }
+
+    /**
+     * Reads and compiles a config file; the model version is the CRC-32 of the file content.
+     */
+    public static GameModel load(Path path) throws IOException {
+        byte[] content = Files.readAllBytes(path);
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return compile(ConfigLoader.loadConfig(content), crc.getValue());
+    }
+
+    public static GameModel compile(Config config) {
+        return compile(config, 0L);
+    }
+
+    /**
+     * Validates the config and resolves everything a spin needs up front.
+     *
+     * @throws IllegalArgumentException if the config is incomplete or inconsistent
+     */
+    public static GameModel compile(Config config, long version) {
+        if (config.getRows() <= 0 || config.getColumns() <= 0) {
+            throw new IllegalArgumentException("rows and columns must be positive");
+        }
+        if (config.getSymbols() == null || config.getSymbols().isEmpty()) {
+            throw new IllegalArgumentException("symbols must not be empty");
+        }
+        Probabilities probabilities = config.getProbabilities();
+        if (probabilities == null || probabilities.getStandardSymbols() == null
+                || probabilities.getStandardSymbols().isEmpty()) {
+            throw new IllegalArgumentException("probabilities.standard_symbols must not be empty");
+        }
+        if (probabilities.getBonusSymbols() == null || probabilities.getBonusSymbols().getSymbols() == null
+                || probabilities.getBonusSymbols().getSymbols().isEmpty()) {
+            throw new IllegalArgumentException("probabilities.bonus_symbols must not be empty");
+        }
+
+        Map<String, Symbol> symbols = Collections.unmodifiableMap(new LinkedHashMap<>(config.getSymbols()));
+        Map<String, Integer> symbolIds = new HashMap<>();
+        boolean[] standardSymbols = new boolean[symbols.size()];
+        for (Map.Entry<String, Symbol> entry : symbols.entrySet()) {
+            if (entry.getValue() == null) {
+                throw new IllegalArgumentException("symbols." + entry.getKey() + " must not be null");
+            }
+            standardSymbols[symbolIds.size()] = "standard".equals(entry.getValue().getType());
+            symbolIds.put(entry.getKey(), symbolIds.size());
+        }
+        int rows = config.getRows();
+        int columns = config.getColumns();
+
+        List<Probability> cellEntries = probabilities.getStandardSymbols();
+        AliasTable[] cellSamplers = new AliasTable[rows * columns];
+        double[][] cellProbabilities = new double[rows * columns][];
+        // Cells that fall back to the same Probability entry share one table.
+        Map<Probability, Integer> firstCellByProbability = new IdentityHashMap<>();
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int cell = row * columns + column;
+                Probability probability = resolveCellProbability(cellEntries, row, column);
+                Integer shared = firstCellByProbability.putIfAbsent(probability, cell);
+                if (shared != null) {
+                    cellSamplers[cell] = cellSamplers[shared];
+                    cellProbabilities[cell] = cellProbabilities[shared];
+                    continue;
+                }
+                Map<String, Integer> weights = copyWeights(probability.getSymbols(), symbols,
+                        "probabilities.standard_symbols[" + row + ":" + column + "]");
+                cellSamplers[cell] = new AliasTable(idsOf(weights, symbolIds), weightsOf(weights));
+                cellProbabilities[cell] = probabilitiesOf(weights, symbolIds);
+            }
+        }
+
+        Map<String, Integer> bonusWeights = copyWeights(probabilities.getBonusSymbols().getSymbols(),
+                symbols, "probabilities.bonus_symbols");
+
+        WinEvaluator winEvaluator = WinEvaluator.compile(config.getWinCombinations() == null
+                ? Collections.emptyMap() : config.getWinCombinations(), rows, columns, standardSymbols);
+
+        int rewardScale = config.getRewardScale() != null ? config.getRewardScale() : Paytable.DEFAULT_SCALE;
+        RoundingMode rewardRounding = Paytable.DEFAULT_ROUNDING;
+        if (config.getRewardRounding() != null) {
+            try {
+                rewardRounding = RoundingMode.valueOf(config.getRewardRounding().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("unknown reward_rounding " + config.getRewardRounding());
+            }
+        }
+
+        return new GameModel(version, rows, columns, symbols, Collections.unmodifiableMap(symbolIds), standardSymbols,
+                cellSamplers, cellProbabilities, bonusWeights, winEvaluator, rewardScale, rewardRounding);
+    }
+
+    private static Probability resolveCellProbability(List<Probability> standardSymbols, int row, int column) {
+        for (Probability probability : standardSymbols) {
+            if (probability.getColumn() == column && probability.getRow() == row) {
+                return probability;
+            }
+        }
+        return standardSymbols.get(0);
+    }
+
+    /**
+     * @return {@code value} as a quoted, escaped JSON string in UTF-8
+     */
+    static byte[] jsonString(String value) {
+        byte[] escaped = JsonStringEncoder.getInstance().quoteAsUTF8(value);
+        byte[] quoted = new byte[escaped.length + 2];
+        quoted[0] = '"';
+        System.arraycopy(escaped, 0, quoted, 1, escaped.length);
+        quoted[quoted.length - 1] = '"';
+        return quoted;
+    }
+
+    private static int[] idsOf(Map<String, Integer> weights, Map<String, Integer> symbolIds) {
+        return weights.keySet().stream().mapToInt(symbolIds::get).toArray();
+    }
+
+    private static double[] probabilitiesOf(Map<String, Integer> weights, Map<String, Integer> symbolIds) {
+        double total = weights.values().stream().mapToDouble(Integer::doubleValue).sum();
+        double[] probabilities = new double[symbolIds.size()];
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            probabilities[symbolIds.get(entry.getKey())] = entry.getValue() / total;
+        }
+        return probabilities;
+    }
+
+    private static int[] weightsOf(Map<String, Integer> weights) {
+        return weights.values().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static Map<String, Integer> copyWeights(Map<String, Integer> weights, Map<String, Symbol> symbols,
+                                                    String path) {
+        if (weights == null || weights.isEmpty()) {
+            throw new IllegalArgumentException(path + " must not be empty");
+        }
+        long total = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            if (!symbols.containsKey(entry.getKey())) {
+                throw new IllegalArgumentException(path + " references unknown symbol " + entry.getKey());
+            }
+            if (entry.getValue() == null || entry.getValue() < 0) {
+                throw new IllegalArgumentException(path + " has a negative weight for " + entry.getKey());
+            }
+            total += entry.getValue();
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException(path + " weights must not all be zero");
+        }
+        return Collections.unmodifiableMap(new LinkedHashMap<>(weights));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getCellCount() {
+        return cellSamplers.length;
+    }
+
+    /**
+     * Draws a symbol id for the cell at {@code row * columns + column}.
+     */
+    public int sampleStandardSymbol(int cell, RandomGenerator random) {
+        return cellSamplers[cell].sample(random);
+    }
+
+    public int sampleBonusSymbol(RandomGenerator random) {
+        return bonusSampler.sample(random);
+    }
+
+    public double getStandardSymbolProbability(int cell, int symbolId) {
+        return cellProbabilities[cell][symbolId];
+    }
+
+    public double getBonusSymbolProbability(int symbolId) {
+        return bonusProbabilities[symbolId];
+    }
+
+    /**
+     * A spin places a uniformly chosen number of bonus symbols in {@code [0, bound)}. Grids of fewer than
+     * four cells get a bound of one, so they never have bonus symbols placed.
+     */
+    public int getBonusPlacementBound() {
+        return Math.max(1, getCellCount() / 4);
+    }
+
+    public int getSymbolCount() {
+        return symbolNames.length;
+    }
+
+    public String getSymbolName(int symbolId) {
+        return symbolNames[symbolId];
+    }
+
+    /**
+     * @return the symbol name pre-encoded as a JSON string literal; shared, so callers must not modify it
+     */
+    public byte[] getJsonSymbolName(int symbolId) {
+        return jsonSymbolNames[symbolId];
+    }
+
+    public String[] getSymbolNames() {
+        return symbolNames.clone();
+    }
+
+    /**
+     * @return the interned id of {@code name}, or -1 if the config does not define it
+     */
+    public int getSymbolId(String name) {
+        Integer id = symbolIds.get(name);
+        return id == null ? -1 : id;
+    }
+
+    public boolean isStandardSymbol(int symbolId) {
+        return standardSymbols[symbolId];
+    }
+
+    public double getRewardMultiplier(int symbolId) {
+        return rewardMultipliers[symbolId];
+    }
+
+    public Map<String, Integer> getBonusWeights() {
+        return bonusWeights;
+    }
+
+    public Map<String, Symbol> getSymbols() {
+        return symbols;
+    }
+
+    public WinEvaluator getWinEvaluator() {
+        return winEvaluator;
+    }
+
+    public Paytable getPaytable() {
+        return paytable;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.scratchgame.engine;
+
+/**
+ * The data-parallel part of {@link BatchEvaluator}. A batch holds one grid per lane in structure-of-arrays
+ * form: {@code cells[cell * lanes() + lane]} is the rank of the symbol in that cell, standard symbols ranking
+ * before every other symbol.
+ */
+interface LaneKernel {
+
+    int lanes();
+
+    /**
+     * @param areaHits per linear area, in combination and area order, a bitmask of the lanes whose area
+     *                 holds a single standard symbol
+     * @param counts   {@code counts[rank * lanes() + lane]}: how often each standard symbol occurs
+     * @param bonus    per lane, the rank of the first non-standard symbol in row-major order, or -1
+     */
+    void scan(int[] cells, long[] areaHits, int[] counts, int[] bonus);
+}
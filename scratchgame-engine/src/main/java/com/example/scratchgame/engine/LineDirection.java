@@ -0,0 +1,67 @@
+package com.example.scratchgame.engine;
+
+/**
+ * Directions a {@code linear_symbols} {@code pattern} can run in. Every run is described from its first
+ * cell, the one closest to the top of the grid (leftmost for horizontal runs), so each step moves to a
+ * higher row-major cell index.
+ */
+public enum LineDirection {
+    HORIZONTAL("horizontal", 0, 1),
+    VERTICAL("vertical", 1, 0),
+    DIAGONAL_LTR("diagonal_ltr", 1, 1),
+    DIAGONAL_RTL("diagonal_rtl", 1, -1);
+
+    private final String configName;
+    private final int rowStep;
+    private final int columnStep;
+
+    LineDirection(String configName, int rowStep, int columnStep) {
+        this.configName = configName;
+        this.rowStep = rowStep;
+        this.columnStep = columnStep;
+    }
+
+    public String getConfigName() {
+        return configName;
+    }
+
+    static LineDirection of(String configName) {
+        for (LineDirection direction : values()) {
+            if (direction.configName.equals(configName)) {
+                return direction;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the run length a pattern without an explicit {@code length} uses: a full row or column, or
+     * the longest diagonal
+     */
+    int fullLength(int rows, int columns) {
+        switch (this) {
+            case HORIZONTAL:
+                return columns;
+            case VERTICAL:
+                return rows;
+            default:
+                return Math.min(rows, columns);
+        }
+    }
+
+    /**
+     * @return the row-major index distance between consecutive cells of a run
+     */
+    int stride(int columns) {
+        return rowStep * columns + columnStep;
+    }
+
+    /**
+     * @return whether a run of {@code length} cells starting at ({@code row}, {@code column}) stays on the grid
+     */
+    boolean fits(int row, int column, int length, int rows, int columns) {
+        int lastRow = row + rowStep * (length - 1);
+        int lastColumn = column + columnStep * (length - 1);
+        return lastRow < rows && lastColumn >= 0 && lastColumn < columns;
+    }
+}
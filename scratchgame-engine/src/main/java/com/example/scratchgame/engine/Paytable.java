@@ -0,0 +1,269 @@
+package com.example.scratchgame.engine;
+
+import com.example.scratchgame.config.Symbol;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+
+/**
+ * Fixed-point reward table compiled from a {@link GameModel}'s multipliers. Amounts are {@code long}s in
+ * sub-units: a minor unit (1 / {@link #getScale() scale} of a bet unit) split {@link #SUB_UNITS} ways, so
+ * sums and bonus arithmetic stay exact and a spin rounds only once, with the config's rounding policy,
+ * when it converts its total to minor units.
+ * <p>
+ * Each symbol has one entry per combination set, indexed by the sum of its combinations' digits: a
+ * symbol wins at most one combination per group, so the index is a mixed-radix number with one digit per
+ * group. Models whose groups would make a symbol's table larger than {@link #MAX_ENTRIES} fall back to
+ * multiplying the set out on every lookup.
+ * <p>
+ * Bonus symbols compile to their {@link BonusImpact} as a factor and an addend, so applying any bonus is
+ * the same multiply-add.
+ */
+public final class Paytable {
+
+    public static final int SUB_UNITS = 10_000;
+    public static final int DEFAULT_SCALE = 100;
+    public static final RoundingMode DEFAULT_ROUNDING = RoundingMode.HALF_EVEN;
+    static final int MAX_ENTRIES = 1 << 12;
+
+    private final int scale;
+    private final RoundingMode rounding;
+    private final long unitsPerBetUnit;
+    private final BigDecimal[] symbolMultipliers;
+    private final BigDecimal[] combinationMultipliers;
+    private final int[] digits;
+    private final long[][] entries;
+    private final BonusImpact[] bonusImpacts;
+    /**
+     * Per bonus symbol id, the reward factor in 1 / {@link #SUB_UNITS} and the addend in sub-units.
+     */
+    private final long[] bonusFactors;
+    private final long[] bonusExtras;
+
+    private Paytable(int scale, RoundingMode rounding, BigDecimal[] symbolMultipliers,
+                     BigDecimal[] combinationMultipliers, int[] digits, long[][] entries, int symbolCount) {
+        this.scale = scale;
+        this.rounding = rounding;
+        this.unitsPerBetUnit = (long) scale * SUB_UNITS;
+        this.symbolMultipliers = symbolMultipliers;
+        this.combinationMultipliers = combinationMultipliers;
+        this.digits = digits;
+        this.entries = entries;
+        this.bonusImpacts = new BonusImpact[symbolCount];
+        this.bonusFactors = new long[symbolCount];
+        this.bonusExtras = new long[symbolCount];
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code scale} is not positive, {@code rounding} is
+     *                                  {@link RoundingMode#UNNECESSARY}, which could fail a spin, or a bonus
+     *                                  symbol has an unknown impact or lacks the value its impact needs
+     */
+    static Paytable compile(String[] symbolNames, Map<String, Symbol> symbols, boolean[] standardSymbols,
+                            WinEvaluator winEvaluator, int scale, RoundingMode rounding) {
+        if (scale <= 0 || scale > 1_000_000) {
+            throw new IllegalArgumentException("reward_scale must be in [1, 1000000]");
+        }
+        if (rounding == RoundingMode.UNNECESSARY) {
+            throw new IllegalArgumentException("reward_rounding must not be UNNECESSARY");
+        }
+
+        int combinationCount = winEvaluator.getCombinationCount();
+        BigDecimal[] combinationMultipliers = new BigDecimal[combinationCount];
+        int[] groupSizes = new int[winEvaluator.getGroupCount()];
+        int[] positions = new int[combinationCount];
+        for (int id = 0; id < combinationCount; id++) {
+            CompiledCombination combination = winEvaluator.getCombination(id);
+            combinationMultipliers[id] = BigDecimal.valueOf(combination.getRewardMultiplier());
+            positions[id] = ++groupSizes[combination.getGroup()];
+        }
+
+        // Digit of a combination = (its 1-based position in the group) * (radix of the group).
+        int[] radices = new int[groupSizes.length];
+        long size = 1;
+        for (int group = 0; group < groupSizes.length; group++) {
+            radices[group] = (int) Math.min(size, MAX_ENTRIES);
+            size *= groupSizes[group] + 1;
+            size = Math.min(size, MAX_ENTRIES + 1L);
+        }
+        boolean tabulated = size <= MAX_ENTRIES;
+        int[] digits = new int[combinationCount];
+        long[] setByIndex = new long[tabulated ? (int) size : 0];
+        for (int id = 0; id < combinationCount; id++) {
+            digits[id] = positions[id] * radices[winEvaluator.getCombination(id).getGroup()];
+        }
+        if (tabulated) {
+            // Every combination set with at most one combination per group, keyed by its index.
+            setByIndex[0] = 0;
+            int filled = 1;
+            for (int group = 0; group < groupSizes.length; group++) {
+                int before = filled;
+                for (int id = 0; id < combinationCount; id++) {
+                    if (winEvaluator.getCombination(id).getGroup() == group) {
+                        for (int index = 0; index < before; index++) {
+                            setByIndex[index + digits[id]] = setByIndex[index] | 1L << id;
+                        }
+                        filled += before;
+                    }
+                }
+            }
+        }
+
+        int symbolCount = symbolNames.length;
+        BigDecimal[] symbolMultipliers = new BigDecimal[symbolCount];
+        long[][] entries = new long[symbolCount][];
+        Paytable paytable = new Paytable(scale, rounding, symbolMultipliers, combinationMultipliers, digits, entries,
+                symbolCount);
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            Symbol config = symbols.get(symbolNames[symbol]);
+            if (!standardSymbols[symbol]) {
+                paytable.compileBonus(symbol, symbolNames[symbol], config);
+                continue;
+            }
+            symbolMultipliers[symbol] = BigDecimal.valueOf(config.getRewardMultiplier());
+            if (tabulated) {
+                entries[symbol] = new long[setByIndex.length];
+                for (int index = 0; index < setByIndex.length; index++) {
+                    entries[symbol][index] = paytable.multiplyOut(symbol, setByIndex[index]);
+                }
+            }
+        }
+        return paytable;
+    }
+
+    private void compileBonus(int symbol, String name, Symbol config) {
+        BonusImpact impact = config.getImpact() == null ? BonusImpact.MISS : BonusImpact.of(config.getImpact());
+        if (impact == null) {
+            throw new IllegalArgumentException("symbols." + name + " has unknown impact " + config.getImpact());
+        }
+        if (impact.adds() && config.getExtra() == null) {
+            throw new IllegalArgumentException("symbols." + name + " needs extra for impact " + impact.getConfigName());
+        }
+        bonusImpacts[symbol] = impact;
+        bonusFactors[symbol] = impact.multiplies()
+                ? BigDecimal.valueOf(config.getRewardMultiplier()).multiply(BigDecimal.valueOf(SUB_UNITS))
+                        .setScale(0, rounding).longValueExact()
+                : SUB_UNITS;
+        bonusExtras[symbol] = impact.adds()
+                ? BigDecimal.valueOf(config.getExtra()).multiply(BigDecimal.valueOf(unitsPerBetUnit))
+                        .setScale(0, rounding).longValueExact()
+                : 0;
+    }
+
+    /**
+     * @return the reward in sub-units of a standard symbol that won {@code combinations} at {@code betAmount}
+     * @throws ArithmeticException if the reward does not fit in a {@code long}
+     */
+    public long symbolReward(int betAmount, int symbol, long combinations) {
+        long[] table = entries[symbol];
+        if (table == null) {
+            return Math.multiplyExact(betAmount, multiplyOut(symbol, combinations));
+        }
+        int index = 0;
+        while (combinations != 0) {
+            index += digits[Long.numberOfTrailingZeros(combinations)];
+            combinations &= combinations - 1;
+        }
+        return Math.multiplyExact(betAmount, table[index]);
+    }
+
+    private long multiplyOut(int symbol, long combinations) {
+        BigDecimal multiplier = symbolMultipliers[symbol];
+        if (multiplier == null) {
+            return 0;
+        }
+        while (combinations != 0) {
+            multiplier = multiplier.multiply(combinationMultipliers[Long.numberOfTrailingZeros(combinations)]);
+            combinations &= combinations - 1;
+        }
+        return multiplier.multiply(BigDecimal.valueOf(unitsPerBetUnit)).setScale(0, rounding).longValueExact();
+    }
+
+    /**
+     * Applies a bonus symbol's impact to a reward in sub-units.
+     *
+     * @throws ArithmeticException if the result does not fit in a {@code long}
+     */
+    public long applyBonus(int bonusSymbol, long reward) {
+        long factor = bonusFactors[bonusSymbol];
+        if (factor != SUB_UNITS) {
+            reward = factor % SUB_UNITS == 0
+                    ? Math.multiplyExact(reward, factor / SUB_UNITS)
+                    : divide(Math.multiplyExact(reward, factor), SUB_UNITS, rounding);
+        }
+        return Math.addExact(reward, bonusExtras[bonusSymbol]);
+    }
+
+    /**
+     * @return the impact of a bonus symbol, or null for a standard symbol
+     */
+    public BonusImpact getBonusImpact(int symbol) {
+        return bonusImpacts[symbol];
+    }
+
+    /**
+     * @return {@code amount} bet units in sub-units
+     */
+    public long toSubUnits(long amount) {
+        return Math.multiplyExact(amount, unitsPerBetUnit);
+    }
+
+    /**
+     * Rounds a sub-unit amount to minor units with the configured rounding policy.
+     */
+    public long toMinorUnits(long subUnits) {
+        return divide(subUnits, SUB_UNITS, rounding);
+    }
+
+    private static long divide(long value, long divisor, RoundingMode rounding) {
+        long quotient = value / divisor;
+        long remainder = value % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        int sign = remainder > 0 ? 1 : -1;
+        int half = Long.compare(Math.abs(remainder) * 2, divisor);
+        boolean away = switch (rounding) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> sign > 0;
+            case FLOOR -> sign < 0;
+            case HALF_UP -> half >= 0;
+            case HALF_DOWN -> half > 0;
+            case HALF_EVEN -> half > 0 || half == 0 && (quotient & 1) != 0;
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+        return away ? quotient + sign : quotient;
+    }
+
+    /**
+     * @return {@code subUnits} rounded to minor units and expressed in bet units, the form responses carry
+     */
+    public double toReward(long subUnits) {
+        return toMinorUnits(subUnits) / (double) scale;
+    }
+
+    /**
+     * @return minor units per bet unit
+     */
+    public int getScale() {
+        return scale;
+    }
+
+    public RoundingMode getRounding() {
+        return rounding;
+    }
+
+    /**
+     * @return whether lookups read precomputed entries rather than multiplying the set out
+     */
+    public boolean isTabulated() {
+        for (long[] table : entries) {
+            if (table != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.scratchgame.engine;
+
+import java.util.Arrays;
+
+/**
+ * {@link LaneKernel} in plain loops, for JVMs started without {@code jdk.incubator.vector}. Each lane stops
+ * testing an area at its first mismatch, as {@link WinEvaluator} does, and symbols are counted into a
+ * histogram in one pass over the cells.
+ */
+final class ScalarLaneKernel implements LaneKernel {
+
+    static final int LANES = 16;
+
+    private final int cellCount;
+    private final int standardCount;
+    private final int[][] areas;
+
+    ScalarLaneKernel(int cellCount, int standardCount, int[][] areas) {
+        this.cellCount = cellCount;
+        this.standardCount = standardCount;
+        this.areas = areas;
+    }
+
+    @Override
+    public int lanes() {
+        return LANES;
+    }
+
+    @Override
+    public void scan(int[] cells, long[] areaHits, int[] counts, int[] bonus) {
+        for (int a = 0; a < areas.length; a++) {
+            int[] area = areas[a];
+            long hits = 0;
+            for (int lane = 0; lane < LANES; lane++) {
+                int first = cells[area[0] * LANES + lane];
+                if (first >= standardCount) {
+                    continue;
+                }
+                int i = 1;
+                while (i < area.length && cells[area[i] * LANES + lane] == first) {
+                    i++;
+                }
+                if (i == area.length) {
+                    hits |= 1L << lane;
+                }
+            }
+            areaHits[a] = hits;
+        }
+
+        Arrays.fill(counts, 0);
+        Arrays.fill(bonus, -1);
+        for (int cell = 0; cell < cellCount; cell++) {
+            int offset = cell * LANES;
+            for (int lane = 0; lane < LANES; lane++) {
+                int rank = cells[offset + lane];
+                if (rank < standardCount) {
+                    counts[rank * LANES + lane]++;
+                } else if (bonus[lane] < 0) {
+                    bonus[lane] = rank;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.scratchgame.engine;
+
+/**
+ * Stages of {@link GameEngine#spin}, as reported to a {@link SpinPhaseRecorder}.
+ */
+public enum SpinPhase {
+    GENERATE_GRID("generate_grid"),
+    EVALUATE("evaluate"),
+    CALCULATE_REWARD("calculate_reward");
+
+    private final String metricName;
+
+    SpinPhase(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.scratchgame.engine;
+
+/**
+ * Receives per-phase timings from {@link GameEngine#spin(GameModel, int, java.util.random.RandomGenerator,
+ * SpinPhaseRecorder)}. Called on the spinning thread, so implementations must be thread-safe and cheap.
+ */
+public interface SpinPhaseRecorder {
+
+    void record(SpinPhase phase, long nanos);
+}
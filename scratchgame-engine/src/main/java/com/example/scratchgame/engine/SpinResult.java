@@ -0,0 +1,70 @@
+package com.example.scratchgame.engine;
+
+/**
+ * Outcome of one spin in engine form: the grid is a row-major array of symbol ids, winning combinations
+ * are a bitmask of combination ids per symbol id, and the bonus is a symbol id, or -1 when none was
+ * applied. The reward is exact, in minor units at the model's {@link Paytable#getScale() scale}. Names
+ * are only resolved, and the reward only converted to a {@code double}, when a response is rendered.
+ */
+public final class SpinResult {
+
+    private final int[] grid;
+    private final long rewardMinorUnits;
+    private final int scale;
+    private final long[] appliedCombinations;
+    private final int appliedBonusSymbol;
+
+    public SpinResult(int[] grid, long rewardMinorUnits, int scale, long[] appliedCombinations,
+                      int appliedBonusSymbol) {
+        this.grid = grid;
+        this.rewardMinorUnits = rewardMinorUnits;
+        this.scale = scale;
+        this.appliedCombinations = appliedCombinations;
+        this.appliedBonusSymbol = appliedBonusSymbol;
+    }
+
+    public int[] getGrid() {
+        return grid;
+    }
+
+    /**
+     * @return the reward in minor units, the form wallets, journals and statistics account in
+     */
+    public long getRewardMinorUnits() {
+        return rewardMinorUnits;
+    }
+
+    /**
+     * @return minor units per bet unit
+     */
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * @return the reward in bet units, the form JSON responses carry
+     */
+    public double getReward() {
+        return rewardMinorUnits / (double) scale;
+    }
+
+    /**
+     * @return per symbol id, the bitmask of {@link CompiledCombination#getId() combination ids} it won
+     */
+    public long[] getAppliedCombinations() {
+        return appliedCombinations;
+    }
+
+    public boolean hasWinningCombination() {
+        for (long combinations : appliedCombinations) {
+            if (combinations != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getAppliedBonusSymbol() {
+        return appliedBonusSymbol;
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.scratchgame.engine;
+
+import com.example.scratchgame.config.WinCombination;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates every configured win combination against a symbol-id grid. The result is one bitmask per
+ * symbol id whose set bits are the ids of the combinations that symbol won. Only standard symbols can
+ * win, and each symbol gets at most one combination per group: the highest count for same_symbols
+ * groups, the highest multiplier for linear_symbols groups.
+ *
+ * <p>Grids of more than 64 cells are evaluated on bitboards: one multi-word bitboard per standard
+ * symbol present, tested against each linear combination by shift-and-AND run detection or whole-area
+ * masks instead of walking every area cell by cell.
+ *
+ * <p>The pass that counts symbols also resolves the bonus: the first non-standard symbol in row-major
+ * order.
+ */
+public final class WinEvaluator {
+
+    public static final int MAX_COMBINATIONS = Long.SIZE;
+
+    private final CompiledCombination[] combinations;
+    private final String[] groupNames;
+    private final long[] groupMasks;
+    private final boolean[] standardSymbols;
+    private final int[] standardSymbolIds;
+    private final CompiledCombination[] linearCombinations;
+    /**
+     * One table per same_symbols group: entry {@code n} is the id of the combination a symbol seen
+     * {@code n} times wins, or -1. Counts past the end resolve through the last entry.
+     */
+    private final int[][] sameSymbolTables;
+    /** The fewest occurrences that win any same_symbols combination. */
+    private final int minSameSymbolCount;
+    private final boolean bitboards;
+
+    private WinEvaluator(CompiledCombination[] combinations, String[] groupNames, boolean[] standardSymbols,
+                         int cells) {
+        this.combinations = combinations;
+        this.bitboards = cells > Long.SIZE;
+        this.groupNames = groupNames;
+        this.standardSymbols = standardSymbols;
+        this.standardSymbolIds = IntStream.range(0, standardSymbols.length)
+                .filter(symbol -> standardSymbols[symbol])
+                .toArray();
+        this.groupMasks = new long[groupNames.length];
+        CompiledCombination.When[] groupWhen = new CompiledCombination.When[groupNames.length];
+        for (CompiledCombination combination : combinations) {
+            int group = combination.getGroup();
+            if (groupWhen[group] != null && groupWhen[group] != combination.getWhen()) {
+                throw new IllegalArgumentException("win_combinations group " + groupNames[group]
+                        + " mixes '" + groupWhen[group].getConfigName() + "' and '"
+                        + combination.getWhen().getConfigName() + "'");
+            }
+            groupWhen[group] = combination.getWhen();
+            groupMasks[group] |= 1L << combination.getId();
+        }
+        this.linearCombinations = Arrays.stream(combinations)
+                .filter(c -> c.getWhen() == CompiledCombination.When.LINEAR_SYMBOLS)
+                .toArray(CompiledCombination[]::new);
+
+        List<int[]> tables = new ArrayList<>();
+        for (int group = 0; group < groupNames.length; group++) {
+            if (groupWhen[group] == CompiledCombination.When.SAME_SYMBOLS) {
+                tables.add(buildSameSymbolTable(group));
+            }
+        }
+        this.sameSymbolTables = tables.toArray(new int[0][]);
+        int minCount = Integer.MAX_VALUE;
+        for (CompiledCombination combination : combinations) {
+            if (combination.getWhen() == CompiledCombination.When.SAME_SYMBOLS) {
+                minCount = Math.min(minCount, combination.getCount());
+            }
+        }
+        this.minSameSymbolCount = minCount;
+    }
+
+    private int[] buildSameSymbolTable(int group) {
+        int maxCount = 0;
+        for (CompiledCombination combination : combinations) {
+            if (combination.getGroup() == group) {
+                maxCount = Math.max(maxCount, combination.getCount());
+            }
+        }
+        int[] table = new int[maxCount + 1];
+        Arrays.fill(table, -1);
+        for (int count = 1; count <= maxCount; count++) {
+            int best = -1;
+            for (CompiledCombination combination : combinations) {
+                if (combination.getGroup() == group && combination.getCount() <= count
+                        && (best < 0 || combination.getCount() > combinations[best].getCount())) {
+                    best = combination.getId();
+                }
+            }
+            table[count] = best;
+        }
+        return table;
+    }
+
+    static WinEvaluator compile(Map<String, WinCombination> winCombinations, int rows, int columns,
+                                boolean[] standardSymbols) {
+        if (winCombinations.size() > MAX_COMBINATIONS) {
+            throw new IllegalArgumentException("at most " + MAX_COMBINATIONS + " win_combinations are supported");
+        }
+        Map<String, Integer> groups = new LinkedHashMap<>();
+        CompiledCombination[] combinations = new CompiledCombination[winCombinations.size()];
+        int id = 0;
+        for (Map.Entry<String, WinCombination> entry : winCombinations.entrySet()) {
+            WinCombination winCombination = entry.getValue();
+            if (winCombination == null || winCombination.getWhen() == null) {
+                throw new IllegalArgumentException("win_combinations." + entry.getKey() + " is missing 'when'");
+            }
+            String groupName = winCombination.getGroup() != null ? winCombination.getGroup() : entry.getKey();
+            int group = groups.computeIfAbsent(groupName, k -> groups.size());
+            combinations[id] = CompiledCombination.compile(id, entry.getKey(), group, winCombination, rows, columns);
+            id++;
+        }
+        return new WinEvaluator(combinations, groups.keySet().toArray(new String[0]), standardSymbols,
+                rows * columns);
+    }
+
+    public long[] evaluate(int[] grid) {
+        long[] applied = new long[standardSymbols.length];
+        evaluate(grid, applied);
+        return applied;
+    }
+
+    /**
+     * Evaluates {@code grid} into {@code applied}, which must be zeroed and have one entry per symbol id.
+     *
+     * @return the id of the first non-standard symbol in row-major order, or -1 if the grid holds none
+     */
+    public int evaluate(int[] grid, long[] applied) {
+        if (bitboards) {
+            return evaluateBitboards(grid, applied);
+        }
+        int symbolCount = standardSymbols.length;
+
+        for (CompiledCombination combination : linearCombinations) {
+            for (int[] area : combination.getAreas()) {
+                int firstSymbol = grid[area[0]];
+                if (!standardSymbols[firstSymbol]) {
+                    continue;
+                }
+                boolean match = true;
+                for (int i = 1; i < area.length; i++) {
+                    if (grid[area[i]] != firstSymbol) {
+                        match = false;
+                        break;
+                    }
+                }
+                if (match) {
+                    award(applied, firstSymbol, combination);
+                }
+            }
+        }
+
+        int[] counts = new int[symbolCount];
+        int bonus = -1;
+        for (int symbol : grid) {
+            counts[symbol]++;
+            if (bonus < 0 && !standardSymbols[symbol]) {
+                bonus = symbol;
+            }
+        }
+        awardSameSymbols(applied, counts);
+        return bonus;
+    }
+
+    private int evaluateBitboards(int[] grid, long[] applied) {
+        int symbolCount = standardSymbols.length;
+        int words = Bitboards.words(grid.length);
+        long[][] boards = new long[symbolCount][];
+        int[] counts = new int[symbolCount];
+        int bonus = -1;
+        for (int cell = 0; cell < grid.length; cell++) {
+            int symbol = grid[cell];
+            counts[symbol]++;
+            if (standardSymbols[symbol]) {
+                if (boards[symbol] == null) {
+                    boards[symbol] = new long[words];
+                }
+                Bitboards.set(boards[symbol], cell);
+            } else if (bonus < 0) {
+                bonus = symbol;
+            }
+        }
+
+        long[] scratch = new long[words];
+        for (CompiledCombination combination : linearCombinations) {
+            for (int symbol : standardSymbolIds) {
+                if (boards[symbol] != null && combination.matches(boards[symbol], counts[symbol], scratch)) {
+                    award(applied, symbol, combination);
+                }
+            }
+        }
+
+        awardSameSymbols(applied, counts);
+        return bonus;
+    }
+
+    private void awardSameSymbols(long[] applied, int[] counts) {
+        for (int symbol : standardSymbolIds) {
+            if (counts[symbol] != 0) {
+                awardSameSymbols(applied, symbol, counts[symbol]);
+            }
+        }
+    }
+
+    /**
+     * Awards the same_symbols combinations a standard symbol seen {@code count} times wins.
+     */
+    void awardSameSymbols(long[] applied, int symbol, int count) {
+        for (int[] table : sameSymbolTables) {
+            int id = table[Math.min(count, table.length - 1)];
+            if (id >= 0) {
+                applied[symbol] |= 1L << id;
+            }
+        }
+    }
+
+    /**
+     * Evaluates a single symbol that occupies exactly the cells in {@code cells} (bit {@code i} is the
+     * row-major cell {@code i}). Only available for grids of at most 64 cells.
+     *
+     * @return the bitmask of combination ids the symbol wins, as {@link #evaluate(int[])} would report it
+     */
+    public long evaluateSymbol(int symbol, long cells) {
+        if (!standardSymbols[symbol] || cells == 0) {
+            return 0;
+        }
+        long[] applied = new long[1];
+        for (CompiledCombination combination : linearCombinations) {
+            for (long area : combination.getAreaMasks()) {
+                if ((area & cells) == area) {
+                    award(applied, 0, combination);
+                }
+            }
+        }
+        int count = Long.bitCount(cells);
+        for (int[] table : sameSymbolTables) {
+            int id = table[Math.min(count, table.length - 1)];
+            if (id >= 0) {
+                applied[0] |= 1L << id;
+            }
+        }
+        return applied[0];
+    }
+
+    /**
+     * Awards a linear combination matched by {@code symbol} unless its group already holds a better one.
+     * Matches must be awarded in combination and area order for ties to resolve as {@link #evaluate} does.
+     */
+    void award(long[] applied, int symbol, CompiledCombination combination) {
+        long groupMask = groupMasks[combination.getGroup()];
+        long current = applied[symbol] & groupMask;
+        if (current != 0
+                && combinations[Long.numberOfTrailingZeros(current)].getRewardMultiplier() >= combination.getRewardMultiplier()) {
+            return;
+        }
+        applied[symbol] = (applied[symbol] & ~groupMask) | (1L << combination.getId());
+    }
+
+    /**
+     * @return the linear_symbols combinations in id order
+     */
+    CompiledCombination[] getLinearCombinations() {
+        return linearCombinations;
+    }
+
+    /**
+     * @return the fewest occurrences of a symbol that win a same_symbols combination, or
+     * {@link Integer#MAX_VALUE} when there are none
+     */
+    int getMinSameSymbolCount() {
+        return minSameSymbolCount;
+    }
+
+    boolean isStandardSymbol(int symbol) {
+        return standardSymbols[symbol];
+    }
+
+    /**
+     * @return whether grids are evaluated on bitboards rather than by scanning areas
+     */
+    boolean usesBitboards() {
+        return bitboards;
+    }
+
+    public int getCombinationCount() {
+        return combinations.length;
+    }
+
+    public CompiledCombination getCombination(int id) {
+        return combinations[id];
+    }
+
+    public int getGroupCount() {
+        return groupNames.length;
+    }
+
+    public String getGroupName(int group) {
+        return groupNames[group];
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.scratchgame.game;
+
+/**
+ * Totals of a batch of spins. Bets and rewards are summed exactly in minor units at the model's scale and
+ * only converted to bet units by the getters, which is the form the JSON summary carries.
+ */
+public class BatchSummary {
+    private final int scale;
+    private long spins;
+    private long totalBet;
+    private long totalReward;
+    private long winningSpins;
+    private long maxReward;
+
+    public BatchSummary(int scale) {
+        this.scale = scale;
+    }
+
+    public void add(int betAmount, long rewardMinorUnits, boolean win) {
+        spins++;
+        totalBet = Math.addExact(totalBet, (long) betAmount * scale);
+        totalReward = Math.addExact(totalReward, rewardMinorUnits);
+        if (win) {
+            winningSpins++;
+        }
+        maxReward = Math.max(maxReward, rewardMinorUnits);
+    }
+
+    public long getSpins() {
+        return spins;
+    }
+
+    public double getTotalBet() {
+        return totalBet / (double) scale;
+    }
+
+    public double getTotalReward() {
+        return totalReward / (double) scale;
+    }
+
+    public long getWinningSpins() {
+        return winningSpins;
+    }
+
+    public double getMaxReward() {
+        return maxReward / (double) scale;
+    }
+
+    public double getRtp() {
+        return totalBet == 0 ? 0 : (double) totalReward / totalBet;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.scratchgame.game;
+
+public class GameRequest {
+    private int betAmount;
+    private String playerId;
+
+    public int getBetAmount() {
+        return betAmount;
+    }
+
+    public void setBetAmount(int betAmount) {
+        this.betAmount = betAmount;
+    }
+
+    /**
+     * @return the player whose wallet pays for the spin, or null for an unpaid spin
+     */
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+}
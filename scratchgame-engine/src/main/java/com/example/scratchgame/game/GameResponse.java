@@ -0,0 +1,97 @@
+package com.example.scratchgame.game;
+
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+import com.example.scratchgame.engine.WinEvaluator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GameResponse {
+    private List<List<String>> matrix;
+    private int[] grid;
+    private long[] appliedCombinations;
+    private GameModel model;
+    private double reward;
+    private Map<String, List<String>> appliedWinningCombinations;
+    private String appliedBonusSymbol;
+
+    /**
+     * Builds a response backed by the engine's result; the matrix and combination names are only
+     * materialized when something (normally the JSON serializer) asks for them.
+     */
+    public static GameResponse of(SpinResult result, GameModel model) {
+        GameResponse response = new GameResponse();
+        response.grid = result.getGrid();
+        response.model = model;
+        response.setReward(result.getReward());
+        response.appliedCombinations = result.getAppliedCombinations();
+        if (result.getAppliedBonusSymbol() >= 0) {
+            response.setAppliedBonusSymbol(model.getSymbolName(result.getAppliedBonusSymbol()));
+        }
+        return response;
+    }
+
+    public List<List<String>> getMatrix() {
+        if (matrix == null && grid != null) {
+            int columns = model.getColumns();
+            List<List<String>> rows = new ArrayList<>(model.getRows());
+            for (int row = 0; row < model.getRows(); row++) {
+                List<String> names = new ArrayList<>(columns);
+                for (int column = 0; column < columns; column++) {
+                    names.add(model.getSymbolName(grid[row * columns + column]));
+                }
+                rows.add(names);
+            }
+            matrix = rows;
+        }
+        return matrix;
+    }
+
+    public void setMatrix(List<List<String>> matrix) {
+        this.matrix = matrix;
+    }
+
+    public double getReward() {
+        return reward;
+    }
+
+    public void setReward(double reward) {
+        this.reward = reward;
+    }
+
+    public Map<String, List<String>> getAppliedWinningCombinations() {
+        if (appliedWinningCombinations == null && appliedCombinations != null) {
+            WinEvaluator winEvaluator = model.getWinEvaluator();
+            Map<String, List<String>> names = new LinkedHashMap<>();
+            for (int symbol = 0; symbol < appliedCombinations.length; symbol++) {
+                long combinations = appliedCombinations[symbol];
+                if (combinations == 0) {
+                    continue;
+                }
+                List<String> symbolCombinations = new ArrayList<>(Long.bitCount(combinations));
+                while (combinations != 0) {
+                    symbolCombinations.add(winEvaluator.getCombination(Long.numberOfTrailingZeros(combinations)).getName());
+                    combinations &= combinations - 1;
+                }
+                names.put(model.getSymbolName(symbol), symbolCombinations);
+            }
+            appliedWinningCombinations = names;
+        }
+        return appliedWinningCombinations;
+    }
+
+    public void setAppliedWinningCombinations(Map<String, List<String>> appliedWinningCombinations) {
+        this.appliedWinningCombinations = appliedWinningCombinations;
+    }
+
+    public String getAppliedBonusSymbol() {
+        return appliedBonusSymbol;
+    }
+
+    public void setAppliedBonusSymbol(String appliedBonusSymbol) {
+        this.appliedBonusSymbol = appliedBonusSymbol;
+    }
+}
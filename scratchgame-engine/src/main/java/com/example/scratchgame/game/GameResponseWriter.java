@@ -0,0 +1,161 @@
+package com.example.scratchgame.game;
+
+import com.example.scratchgame.concurrent.ScratchPool;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+import com.example.scratchgame.engine.WinEvaluator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Renders a {@link SpinResult} as exactly the JSON Jackson produces for the matching {@link GameResponse},
+ * without building the response: names are copied from the UTF-8 literals the {@link GameModel} encoded
+ * when it compiled, and the document is assembled in a reused {@link ScratchPool} buffer, so a warm writer
+ * allocates nothing unless the reward has a fractional part.
+ */
+public final class GameResponseWriter {
+
+    private static final byte[] MATRIX = ascii("{\"matrix\":[");
+    private static final byte[] REWARD = ascii("],\"reward\":");
+    private static final byte[] COMBINATIONS = ascii(",\"appliedWinningCombinations\":{");
+    private static final byte[] BONUS = ascii("},\"appliedBonusSymbol\":");
+    private static final byte[] NULL = ascii("null");
+    /** Below this magnitude {@link Double#toString} prints whole numbers as plain digits plus ".0". */
+    private static final double MAX_PLAIN_DOUBLE = 1e7;
+
+    private final ScratchPool<Buffer> buffers = new ScratchPool<>(Buffer::new);
+
+    public void write(SpinResult result, GameModel model, OutputStream out) throws IOException {
+        Buffer buffer = buffers.acquire();
+        try {
+            encode(buffer, result, model);
+            out.write(buffer.bytes, 0, buffer.length);
+        } finally {
+            buffers.release(buffer);
+        }
+    }
+
+    public byte[] toBytes(SpinResult result, GameModel model) {
+        Buffer buffer = buffers.acquire();
+        try {
+            encode(buffer, result, model);
+            return Arrays.copyOf(buffer.bytes, buffer.length);
+        } finally {
+            buffers.release(buffer);
+        }
+    }
+
+    private void encode(Buffer buffer, SpinResult result, GameModel model) {
+        buffer.length = 0;
+
+        int[] grid = result.getGrid();
+        int columns = model.getColumns();
+        buffer.put(MATRIX);
+        for (int row = 0; row < model.getRows(); row++) {
+            if (row > 0) {
+                buffer.put((byte) ',');
+            }
+            buffer.put((byte) '[');
+            for (int column = 0; column < columns; column++) {
+                if (column > 0) {
+                    buffer.put((byte) ',');
+                }
+                buffer.put(model.getJsonSymbolName(grid[row * columns + column]));
+            }
+            buffer.put((byte) ']');
+        }
+
+        buffer.put(REWARD);
+        writeDouble(buffer, result.getReward());
+
+        buffer.put(COMBINATIONS);
+        WinEvaluator winEvaluator = model.getWinEvaluator();
+        long[] appliedCombinations = result.getAppliedCombinations();
+        boolean firstSymbol = true;
+        for (int symbol = 0; symbol < appliedCombinations.length; symbol++) {
+            long combinations = appliedCombinations[symbol];
+            if (combinations == 0) {
+                continue;
+            }
+            if (!firstSymbol) {
+                buffer.put((byte) ',');
+            }
+            firstSymbol = false;
+            buffer.put(model.getJsonSymbolName(symbol));
+            buffer.put((byte) ':');
+            buffer.put((byte) '[');
+            boolean firstCombination = true;
+            while (combinations != 0) {
+                if (!firstCombination) {
+                    buffer.put((byte) ',');
+                }
+                firstCombination = false;
+                buffer.put(winEvaluator.getCombination(Long.numberOfTrailingZeros(combinations)).getJsonName());
+                combinations &= combinations - 1;
+            }
+            buffer.put((byte) ']');
+        }
+
+        buffer.put(BONUS);
+        int bonusSymbol = result.getAppliedBonusSymbol();
+        buffer.put(bonusSymbol >= 0 ? model.getJsonSymbolName(bonusSymbol) : NULL);
+        buffer.put((byte) '}');
+    }
+
+    /**
+     * Writes {@code value} as {@link Double#toString} (and so Jackson) would, formatting whole numbers
+     * in place and falling back to {@code Double.toString} for everything else.
+     */
+    private static void writeDouble(Buffer buffer, double value) {
+        if (value != Math.rint(value) || Math.abs(value) >= MAX_PLAIN_DOUBLE) {
+            buffer.put(ascii(Double.toString(value)));
+            return;
+        }
+        if (Double.doubleToRawLongBits(value) < 0) {
+            buffer.put((byte) '-');
+        }
+        long digits = Math.abs((long) value);
+        int length = 1;
+        for (long rest = digits / 10; rest != 0; rest /= 10) {
+            length++;
+        }
+        buffer.ensure(length + 2);
+        for (int i = buffer.length + length - 1; i >= buffer.length; i--) {
+            buffer.bytes[i] = (byte) ('0' + digits % 10);
+            digits /= 10;
+        }
+        buffer.length += length;
+        buffer.put((byte) '.');
+        buffer.put((byte) '0');
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static final class Buffer {
+
+        byte[] bytes = new byte[512];
+        int length;
+
+        void ensure(int additional) {
+            if (length + additional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + additional));
+            }
+        }
+
+        void put(byte value) {
+            ensure(1);
+            bytes[length++] = value;
+        }
+
+        void put(byte[] values) {
+            ensure(values.length);
+            System.arraycopy(values, 0, bytes, length, values.length);
+            length += values.length;
+        }
+    }
+}
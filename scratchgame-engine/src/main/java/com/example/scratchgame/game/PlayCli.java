@@ -0,0 +1,132 @@
+package com.example.scratchgame.game;
+
+import com.example.scratchgame.engine.GameEngine;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.random.RandomProvider;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Paths;
+import java.util.random.RandomGenerator;
+
+/**
+ * Command-line entry point that plays spins without the server:
+ * {@code --config <path> --betting-amount <amount> [--spins <n>] [--seed <long>]}. Prints each spin as one
+ * line of the JSON /play returns. Nothing but the engine is loaded, so a single spin starts and exits in
+ * tens of milliseconds.
+ */
+public class PlayCli {
+
+    private static final String USAGE =
+            "Usage: --config <path> --betting-amount <amount> [--spins <n>] [--seed <long>]";
+
+    private final String configPath;
+    private final int betAmount;
+    private final long spins;
+    private final Long seed;
+
+    private PlayCli(String configPath, int betAmount, long spins, Long seed) {
+        this.configPath = configPath;
+        this.betAmount = betAmount;
+        this.spins = spins;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws IOException {
+        PlayCli cli;
+        try {
+            cli = parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        OutputStream out = new BufferedOutputStream(System.out, 1 << 16);
+        cli.play(out);
+        out.flush();
+    }
+
+    /**
+     * @throws IllegalArgumentException if an argument is unknown or its value is missing or malformed, or
+     * {@code --config} or a positive {@code --betting-amount} is not given
+     */
+    public static PlayCli parse(String[] args) {
+        String configPath = null;
+        int betAmount = 0;
+        long spins = 1;
+        Long seed = null;
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            switch (name) {
+                case "--config" -> configPath = value(args, ++i, name);
+                case "--betting-amount" ->
+                        betAmount = (int) number(args, ++i, name, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                case "--spins" -> spins = number(args, ++i, name, 0, Long.MAX_VALUE);
+                case "--seed" -> seed = number(args, ++i, name, Long.MIN_VALUE, Long.MAX_VALUE);
+                default -> throw new IllegalArgumentException("Unknown argument " + name);
+            }
+        }
+        if (configPath == null || betAmount <= 0) {
+            throw new IllegalArgumentException("--config and a positive --betting-amount are required");
+        }
+        return new PlayCli(configPath, betAmount, spins, seed);
+    }
+
+    /**
+     * Plays the spins and writes each to {@code out} as one line of the JSON /play returns.
+     */
+    public void play(OutputStream out) throws IOException {
+        GameModel model = GameModel.load(Paths.get(configPath));
+        GameEngine engine = new GameEngine();
+        GameResponseWriter writer = new GameResponseWriter();
+        // Each spin runs on a generator seeded from the provider's stream, as the server's spins do.
+        RandomProvider random = RandomProvider.create(RandomProvider.DEFAULT_ALGORITHM, seed);
+        RandomGenerator seeds = random.current();
+        for (long i = 0; i < spins; i++) {
+            writer.write(engine.spin(model, betAmount, random.spinGenerator(seeds.nextLong())), model, out);
+            out.write('\n');
+        }
+    }
+
+    public String getConfigPath() {
+        return configPath;
+    }
+
+    public int getBetAmount() {
+        return betAmount;
+    }
+
+    public long getSpins() {
+        return spins;
+    }
+
+    /**
+     * @return the seed of the spins, or null to seed them randomly
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    private static String value(String[] args, int i, String name) {
+        if (i == args.length) {
+            throw new IllegalArgumentException("Missing value for " + name);
+        }
+        return args[i];
+    }
+
+    private static long number(String[] args, int i, String name, long min, long max) {
+        String value = value(args, i, name);
+        long number;
+        try {
+            number = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed value " + value + " for " + name);
+        }
+        if (number < min || number > max) {
+            throw new IllegalArgumentException("Value " + value + " for " + name + " is out of range");
+        }
+        return number;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.scratchgame.random;
+
+import java.util.SplittableRandom;
+import java.util.function.LongFunction;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Source of random streams for spins. Generators handed out are not thread-safe and must stay on the
+ * thread (or the single request) they were obtained for.
+ */
+public interface RandomProvider {
+
+    String SPLITTABLE_RANDOM = "SplittableRandom";
+    String DEFAULT_ALGORITHM = "L64X128MixRandom";
+
+    /**
+     * Returns a stream for the calling thread. Repeated calls on a platform thread return the same
+     * generator; a virtual thread, which usually lives for one request, gets a new split per call.
+     */
+    RandomGenerator current();
+
+    /**
+     * Returns a new stream statistically independent of every other stream from this provider, for work
+     * such as a batch request that should own its randomness.
+     */
+    RandomGenerator split();
+
+    /**
+     * @return the algorithm name this provider was created with
+     */
+    String getAlgorithm();
+
+    /**
+     * Returns the generator a single spin runs on, of this provider's algorithm. Spins draw only their
+     * seed from a provider stream, so a journaled seed and algorithm are enough to replay the spin exactly.
+     */
+    RandomGenerator spinGenerator(long seed);
+
+    /**
+     * Creates a provider for a splittable algorithm. {@code "SplittableRandom"} selects
+     * {@link SplittableRandom}; any other name is resolved through {@link RandomGeneratorFactory}, e.g.
+     * {@code L64X128MixRandom} or {@code L128X256MixRandom}. With a seed the provider is deterministic: the
+     * n-th stream it hands out always produces the same sequence.
+     *
+     * @param seed the root seed, or {@code null} to seed from entropy
+     */
+    static RandomProvider create(String algorithm, Long seed) {
+        RandomGenerator.SplittableGenerator root;
+        if (SPLITTABLE_RANDOM.equals(algorithm)) {
+            root = seed != null ? new SplittableRandom(seed) : new SplittableRandom();
+        } else {
+            RandomGeneratorFactory<RandomGenerator> factory = factory(algorithm);
+            if (!factory.isSplittable()) {
+                throw new IllegalArgumentException("Random algorithm " + algorithm + " is not splittable");
+            }
+            RandomGenerator generator = seed != null ? factory.create(seed) : factory.create();
+            root = (RandomGenerator.SplittableGenerator) generator;
+        }
+        return new SplittingRandomProvider(algorithm, root, spinGenerators(algorithm));
+    }
+
+    /**
+     * Returns how spins of {@code algorithm} create their generator from a seed, with the factory lookup
+     * done once. Used to replay spins journaled under an algorithm other than the running one.
+     */
+    static LongFunction<RandomGenerator> spinGenerators(String algorithm) {
+        if (SPLITTABLE_RANDOM.equals(algorithm)) {
+            return SplittableRandom::new;
+        }
+        return factory(algorithm)::create;
+    }
+
+    static RandomProvider seeded(long seed) {
+        return create(DEFAULT_ALGORITHM, seed);
+    }
+
+    private static RandomGeneratorFactory<RandomGenerator> factory(String algorithm) {
+        try {
+            return RandomGeneratorFactory.of(algorithm);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown random algorithm " + algorithm, e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.scratchgame.random;
+
+import com.example.scratchgame.concurrent.ScratchPool;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Splits streams off a striped set of parent generators, themselves split off the root at construction.
+ * A split claims the next parent round-robin by swapping it out of its slot, splits it and puts it back:
+ * no monitor is taken, so a virtual thread never pins its carrier here, and splits on different
+ * processors rarely meet on one parent. Claiming round-robin keeps a seeded provider deterministic: the
+ * n-th split always comes from the same parent in the same state.
+ *
+ * <p>A platform thread caches its split in a {@link ThreadLocal}, so its steady-state spins draw from an
+ * unshared generator with no CAS or lock. Virtual threads, one per request, take a split per call instead of
+ * filling a thread-local each.
+ */
+final class SplittingRandomProvider implements RandomProvider {
+
+    private final String algorithm;
+    private final AtomicReferenceArray<RandomGenerator.SplittableGenerator> parents;
+    private final int mask;
+    private final AtomicInteger nextParent = new AtomicInteger();
+    private final LongFunction<RandomGenerator> spinGenerators;
+    private final ThreadLocal<RandomGenerator> streams = ThreadLocal.withInitial(this::split);
+
+    SplittingRandomProvider(String algorithm, RandomGenerator.SplittableGenerator root,
+                            LongFunction<RandomGenerator> spinGenerators) {
+        this.algorithm = algorithm;
+        int stripes = ScratchPool.stripes();
+        this.parents = new AtomicReferenceArray<>(stripes);
+        for (int i = 0; i < stripes; i++) {
+            parents.set(i, root.split());
+        }
+        this.mask = stripes - 1;
+        this.spinGenerators = spinGenerators;
+    }
+
+    @Override
+    public RandomGenerator current() {
+        return Thread.currentThread().isVirtual() ? split() : streams.get();
+    }
+
+    @Override
+    public RandomGenerator split() {
+        int slot = nextParent.getAndIncrement() & mask;
+        RandomGenerator.SplittableGenerator parent;
+        // Only more concurrent splits than slots, wrapping onto a parent still in use, wait here.
+        while ((parent = parents.getAndSet(slot, null)) == null) {
+            Thread.onSpinWait();
+        }
+        try {
+            return parent.split();
+        } finally {
+            parents.set(slot, parent);
+        }
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    @Override
+    public RandomGenerator spinGenerator(long seed) {
+        return spinGenerators.apply(seed);
+    }
+}
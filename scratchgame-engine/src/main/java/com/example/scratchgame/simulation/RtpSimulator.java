@@ -0,0 +1,110 @@
+package com.example.scratchgame.simulation;
+
+import com.example.scratchgame.engine.BatchEvaluator;
+import com.example.scratchgame.engine.GameEngine;
+import com.example.scratchgame.engine.GameModel;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo RTP estimator. Spins are cut into fixed-size chunks, each with its own random stream
+ * derived from the master seed and the chunk index, and partial statistics are merged in chunk order.
+ * The result therefore depends only on the seed and spin count, never on the thread count or on
+ * how the fork-join pool happens to schedule the work.
+ * <p>
+ * Models that {@link BatchEvaluator} supports are evaluated a batch of lanes at a time, drawing the grids in
+ * the same order from the same stream, so the report is the same either way.
+ */
+public final class RtpSimulator {
+
+    static final int CHUNK_SPINS = 1 << 16;
+
+    private final GameEngine engine = new GameEngine();
+
+    public SimulationReport simulate(GameModel model, int betAmount, long spins, long masterSeed, int parallelism) {
+        if (spins <= 0) {
+            throw new IllegalArgumentException("spins must be positive");
+        }
+        long chunks = (spins + CHUNK_SPINS - 1) / CHUNK_SPINS;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            SpinStatistics statistics = pool.invoke(new ChunkTask(model, betAmount, spins, masterSeed, 0, chunks));
+            return new SimulationReport(model, betAmount, masterSeed, statistics);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Seed of chunk {@code index}: a SplitMix64 finalizer over the master seed and the index, so any
+     * chunk's stream can be recreated without generating the ones before it.
+     */
+    static long chunkSeed(long masterSeed, long index) {
+        long z = masterSeed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private SpinStatistics runChunk(GameModel model, int betAmount, long spins, long masterSeed, long index) {
+        SpinStatistics statistics = new SpinStatistics(model.getPaytable().getScale(),
+                model.getWinEvaluator().getCombinationCount(), model.getSymbolCount());
+        SplittableRandom random = new SplittableRandom(chunkSeed(masterSeed, index));
+        long first = index * CHUNK_SPINS;
+        long count = Math.min(CHUNK_SPINS, spins - first);
+        if (!BatchEvaluator.supports(model)) {
+            for (long i = 0; i < count; i++) {
+                statistics.add(engine.spin(model, betAmount, random));
+            }
+            return statistics;
+        }
+        BatchEvaluator batch = BatchEvaluator.create(model);
+        for (long i = 0; i < count; i += batch.getLanes()) {
+            int lanes = (int) Math.min(batch.getLanes(), count - i);
+            for (int lane = 0; lane < lanes; lane++) {
+                batch.generateGrid(lane, random);
+            }
+            batch.evaluate(lanes, betAmount);
+            for (int lane = 0; lane < lanes; lane++) {
+                statistics.add(batch.getRewardMinorUnits(lane), batch.getAppliedCombinations(lane),
+                        batch.getAppliedBonusSymbol(lane));
+            }
+        }
+        return statistics;
+    }
+
+    private final class ChunkTask extends RecursiveTask<SpinStatistics> {
+
+        private final GameModel model;
+        private final int betAmount;
+        private final long spins;
+        private final long masterSeed;
+        private final long from;
+        private final long to;
+
+        ChunkTask(GameModel model, int betAmount, long spins, long masterSeed, long from, long to) {
+            this.model = model;
+            this.betAmount = betAmount;
+            this.spins = spins;
+            this.masterSeed = masterSeed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SpinStatistics compute() {
+            if (to - from == 1) {
+                return runChunk(model, betAmount, spins, masterSeed, from);
+            }
+            long middle = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(model, betAmount, spins, masterSeed, from, middle);
+            ChunkTask right = new ChunkTask(model, betAmount, spins, masterSeed, middle, to);
+            right.fork();
+            SpinStatistics statistics = left.compute();
+            statistics.merge(right.join());
+            return statistics;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.scratchgame.simulation;
+
+import com.example.scratchgame.analysis.ExactRtpCalculator;
+import com.example.scratchgame.analysis.PayoutDistribution;
+import com.example.scratchgame.engine.GameModel;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Command-line entry point for {@link RtpSimulator}:
+ * {@code --config <path> --bet <amount> --spins <n> [--seed <long>] [--threads <n>]}. With {@code --exact}
+ * it prints the exact figures from {@link ExactRtpCalculator} instead of simulating.
+ */
+public class SimulationCli {
+
+    private static final String USAGE =
+            "Usage: --config <path> --bet <amount> [--spins <n>] [--seed <long>] [--threads <n>] [--exact]";
+
+    private final String configPath;
+    private final int betAmount;
+    private final long spins;
+    private final long seed;
+    private final int threads;
+    private final boolean exact;
+
+    private SimulationCli(String configPath, int betAmount, long spins, long seed, int threads, boolean exact) {
+        this.configPath = configPath;
+        this.betAmount = betAmount;
+        this.spins = spins;
+        this.seed = seed;
+        this.threads = threads;
+        this.exact = exact;
+    }
+
+    public static void main(String[] args) throws IOException {
+        SimulationCli cli;
+        try {
+            cli = parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        cli.run();
+    }
+
+    /**
+     * @throws IllegalArgumentException for an unknown flag, a flag without its value or a value that is not
+     * a number in range
+     */
+    public static SimulationCli parse(String[] args) {
+        String configPath = "src/main/resources/config.json";
+        int betAmount = 1;
+        long spins = 10_000_000L;
+        long seed = 0L;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean exact = false;
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            switch (name) {
+                case "--config" -> configPath = value(args, ++i, name);
+                case "--bet" -> betAmount = (int) number(args, ++i, name, 1, Integer.MAX_VALUE);
+                case "--spins" -> spins = number(args, ++i, name, 1, Long.MAX_VALUE);
+                case "--seed" -> seed = number(args, ++i, name, Long.MIN_VALUE, Long.MAX_VALUE);
+                case "--threads" -> threads = (int) number(args, ++i, name, 1, Integer.MAX_VALUE);
+                case "--exact" -> exact = true;
+                default -> throw new IllegalArgumentException("Unknown argument " + name);
+            }
+        }
+        return new SimulationCli(configPath, betAmount, spins, seed, threads, exact);
+    }
+
+    public void run() throws IOException {
+        GameModel model = GameModel.load(Paths.get(configPath));
+
+        long start = System.nanoTime();
+        if (exact) {
+            PayoutDistribution distribution = new ExactRtpCalculator().compute(model, betAmount);
+            System.out.print(distribution.format());
+            System.out.printf("%ncomputed in %.2f s%n", (System.nanoTime() - start) / 1e9);
+            return;
+        }
+        SimulationReport report = new RtpSimulator().simulate(model, betAmount, spins, seed, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.print(report.format());
+        System.out.printf("%n%d spins in %.2f s on %d threads (%.0f spins/s)%n", spins, seconds, threads, spins / seconds);
+    }
+
+    public String getConfigPath() {
+        return configPath;
+    }
+
+    public int getBetAmount() {
+        return betAmount;
+    }
+
+    public long getSpins() {
+        return spins;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public boolean isExact() {
+        return exact;
+    }
+
+    private static String value(String[] args, int i, String name) {
+        if (i == args.length) {
+            throw new IllegalArgumentException("Missing value for " + name);
+        }
+        return args[i];
+    }
+
+    private static long number(String[] args, int i, String name, long min, long max) {
+        String value = value(args, i, name);
+        long number;
+        try {
+            number = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed value " + value + " for " + name);
+        }
+        if (number < min || number > max) {
+            throw new IllegalArgumentException("Value " + value + " for " + name + " is out of range");
+        }
+        return number;
+    }
+}
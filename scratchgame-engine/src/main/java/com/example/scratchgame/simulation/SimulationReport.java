@@ -0,0 +1,91 @@
+package com.example.scratchgame.simulation;
+
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.WinEvaluator;
+
+import java.util.Locale;
+
+public final class SimulationReport {
+
+    private static final double Z_95 = 1.959963984540054;
+
+    private final GameModel model;
+    private final int betAmount;
+    private final long masterSeed;
+    private final SpinStatistics statistics;
+
+    SimulationReport(GameModel model, int betAmount, long masterSeed, SpinStatistics statistics) {
+        this.model = model;
+        this.betAmount = betAmount;
+        this.masterSeed = masterSeed;
+        this.statistics = statistics;
+    }
+
+    public SpinStatistics getStatistics() {
+        return statistics;
+    }
+
+    public long getSpins() {
+        return statistics.getSpins();
+    }
+
+    public double getRtp() {
+        return statistics.getMeanReward() / betAmount;
+    }
+
+    public double getHitFrequency() {
+        return (double) statistics.getWinningSpins() / statistics.getSpins();
+    }
+
+    public double getRewardVariance() {
+        return statistics.getVariance();
+    }
+
+    public double getRewardStandardDeviation() {
+        return Math.sqrt(statistics.getVariance());
+    }
+
+    /**
+     * @return half-width of the normal-approximation 95% confidence interval around {@link #getRtp()}
+     */
+    public double getRtpMarginOfError() {
+        return Z_95 * getRewardStandardDeviation() / Math.sqrt(statistics.getSpins()) / betAmount;
+    }
+
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "config version     %x%n", model.getVersion()));
+        out.append(String.format(Locale.ROOT, "master seed        %d%n", masterSeed));
+        out.append(String.format(Locale.ROOT, "spins              %d%n", getSpins()));
+        out.append(String.format(Locale.ROOT, "bet                %d%n", betAmount));
+        out.append(String.format(Locale.ROOT, "RTP                %.6f (95%% CI %.6f .. %.6f)%n",
+                getRtp(), getRtp() - getRtpMarginOfError(), getRtp() + getRtpMarginOfError()));
+        out.append(String.format(Locale.ROOT, "hit frequency      %.6f%n", getHitFrequency()));
+        out.append(String.format(Locale.ROOT, "mean reward        %.4f%n", statistics.getMeanReward()));
+        out.append(String.format(Locale.ROOT, "reward variance    %.4f%n", getRewardVariance()));
+        out.append(String.format(Locale.ROOT, "reward std dev     %.4f%n", getRewardStandardDeviation()));
+        out.append(String.format(Locale.ROOT, "max reward         %.2f%n", statistics.getMaxReward()));
+
+        out.append(String.format("%ncombination                               hits   frequency%n"));
+        WinEvaluator winEvaluator = model.getWinEvaluator();
+        long[] combinationHits = statistics.getCombinationHits();
+        for (int id = 0; id < combinationHits.length; id++) {
+            out.append(String.format(Locale.ROOT, "%-36s %10d   %.6f%n", winEvaluator.getCombination(id).getName(),
+                    combinationHits[id], (double) combinationHits[id] / getSpins()));
+        }
+
+        out.append(String.format("%nbonus symbol                              hits   frequency   reward share%n"));
+        long[] bonusHits = statistics.getBonusHits();
+        long[] bonusRewards = statistics.getBonusRewardMinorUnits();
+        long totalReward = statistics.getTotalRewardMinorUnits();
+        for (int symbol = 0; symbol < bonusHits.length; symbol++) {
+            if (bonusHits[symbol] == 0) {
+                continue;
+            }
+            out.append(String.format(Locale.ROOT, "%-36s %10d   %.6f    %.6f%n", model.getSymbolName(symbol),
+                    bonusHits[symbol], (double) bonusHits[symbol] / getSpins(),
+                    totalReward == 0 ? 0 : (double) bonusRewards[symbol] / totalReward));
+        }
+        return out.toString();
+    }
+}
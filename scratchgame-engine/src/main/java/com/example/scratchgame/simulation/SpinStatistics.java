@@ -0,0 +1,132 @@
+package com.example.scratchgame.simulation;
+
+import com.example.scratchgame.engine.SpinResult;
+
+/**
+ * Mergeable accumulator for simulated spins. Reward totals are exact sums of minor units; reward moments
+ * use Chan's parallel update so partial results from different workers combine without loss of precision.
+ */
+public final class SpinStatistics {
+
+    private final int scale;
+    private long spins;
+    private long winningSpins;
+    private long totalReward;
+    private double meanReward;
+    private double squaredDeviations;
+    private long maxReward;
+    private final long[] combinationHits;
+    private final long[] bonusHits;
+    private final long[] bonusRewards;
+
+    /**
+     * @param scale minor units per bet unit of the rewards that will be added
+     */
+    public SpinStatistics(int scale, int combinationCount, int symbolCount) {
+        this.scale = scale;
+        this.combinationHits = new long[combinationCount];
+        this.bonusHits = new long[symbolCount];
+        this.bonusRewards = new long[symbolCount];
+    }
+
+    public void add(SpinResult result) {
+        add(result.getRewardMinorUnits(), result.getAppliedCombinations(), result.getAppliedBonusSymbol());
+    }
+
+    /**
+     * Adds a spin given by its parts, as {@link SpinResult} holds them.
+     */
+    public void add(long rewardMinorUnits, long[] appliedCombinations, int bonus) {
+        spins++;
+        totalReward = Math.addExact(totalReward, rewardMinorUnits);
+        double delta = rewardMinorUnits - meanReward;
+        meanReward += delta / spins;
+        squaredDeviations += delta * (rewardMinorUnits - meanReward);
+        maxReward = Math.max(maxReward, rewardMinorUnits);
+
+        long spinCombinations = 0;
+        for (long combinations : appliedCombinations) {
+            spinCombinations |= combinations;
+        }
+        if (spinCombinations != 0) {
+            winningSpins++;
+        }
+        while (spinCombinations != 0) {
+            combinationHits[Long.numberOfTrailingZeros(spinCombinations)]++;
+            spinCombinations &= spinCombinations - 1;
+        }
+        if (bonus >= 0) {
+            bonusHits[bonus]++;
+            bonusRewards[bonus] = Math.addExact(bonusRewards[bonus], rewardMinorUnits);
+        }
+    }
+
+    public void merge(SpinStatistics other) {
+        if (other.spins == 0) {
+            return;
+        }
+        long total = spins + other.spins;
+        double delta = other.meanReward - meanReward;
+        meanReward += delta * other.spins / total;
+        squaredDeviations += other.squaredDeviations + delta * delta * ((double) spins * other.spins / total);
+        spins = total;
+        totalReward = Math.addExact(totalReward, other.totalReward);
+        winningSpins += other.winningSpins;
+        maxReward = Math.max(maxReward, other.maxReward);
+        for (int i = 0; i < combinationHits.length; i++) {
+            combinationHits[i] += other.combinationHits[i];
+        }
+        for (int i = 0; i < bonusHits.length; i++) {
+            bonusHits[i] += other.bonusHits[i];
+            bonusRewards[i] = Math.addExact(bonusRewards[i], other.bonusRewards[i]);
+        }
+    }
+
+    public long getSpins() {
+        return spins;
+    }
+
+    public long getWinningSpins() {
+        return winningSpins;
+    }
+
+    /**
+     * @return the exact sum of rewards, in minor units
+     */
+    public long getTotalRewardMinorUnits() {
+        return totalReward;
+    }
+
+    public double getMeanReward() {
+        return spins == 0 ? 0 : totalReward / (double) spins / scale;
+    }
+
+    public double getVariance() {
+        return spins > 1 ? squaredDeviations / (spins - 1) / ((double) scale * scale) : 0;
+    }
+
+    public double getMaxReward() {
+        return maxReward / (double) scale;
+    }
+
+    /**
+     * @return per combination id, the number of spins in which at least one symbol won it
+     */
+    public long[] getCombinationHits() {
+        return combinationHits.clone();
+    }
+
+    /**
+     * @return per symbol id, the number of spins whose reward went through that bonus symbol
+     */
+    public long[] getBonusHits() {
+        return bonusHits.clone();
+    }
+
+    /**
+     * @return per symbol id, the exact sum in minor units of the rewards that went through that bonus symbol
+     */
+    public long[] getBonusRewardMinorUnits() {
+        return bonusRewards.clone();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.config.*;
+import com.example.scratchgame.engine.AliasTable;
+import com.example.scratchgame.engine.GameModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AliasTableTest {
+
+    private static final int SAMPLES = 600_000;
+
+    @Test
+    void testSampleDistributionMatchesWeights() {
+        int[] weights = {1, 2, 3, 4, 5, 6, 0};
+        AliasTable table = new AliasTable(weights);
+        Random random = new Random(42);
+
+        int[] counts = new int[weights.length];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[table.sample(random)]++;
+        }
+
+        assertEquals(0, counts[6]);
+        for (int i = 0; i < weights.length - 1; i++) {
+            assertFrequency(weights[i] / 21.0, counts[i]);
+        }
+    }
+
+    @Test
+    void testSingleOutcomeAlwaysSampled() {
+        AliasTable table = new AliasTable(new int[]{7});
+        Random random = new Random(1);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, table.sample(random));
+        }
+    }
+
+    @Test
+    void testRejectsInvalidWeights() {
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new int[0]));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new int[]{0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new int[]{1, -1}));
+    }
+
+    @Test
+    void testCellWithoutProbabilityFallsBackToFirstEntry() {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        weights.put("A", 1);
+        weights.put("B", 3);
+        GameModel model = GameModel.compile(createConfig(weights));
+        Random random = new Random(7);
+
+        int countA = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            String symbol = model.getSymbolName(model.sampleStandardSymbol(2 * 3 + 1, random));
+            assertTrue(symbol.equals("A") || symbol.equals("B"));
+            if (symbol.equals("A")) {
+                countA++;
+            }
+        }
+        assertFrequency(0.25, countA);
+    }
+
+    private static void assertFrequency(double expected, int count) {
+        double sigma = Math.sqrt(SAMPLES * expected * (1 - expected));
+        assertEquals(SAMPLES * expected, count, 5 * sigma);
+    }
+
+    private Config createConfig(Map<String, Integer> weights) {
+        Config config = new Config();
+        config.setColumns(3);
+        config.setRows(3);
+
+        Map<String, Symbol> symbols = new HashMap<>();
+        for (String name : List.of("A", "B", "10x")) {
+            Symbol symbol = new Symbol();
+            symbol.setType(name.equals("10x") ? "bonus" : "standard");
+            symbol.setRewardMultiplier(1);
+            symbols.put(name, symbol);
+        }
+        config.setSymbols(symbols);
+
+        Probability probability = new Probability();
+        probability.setColumn(0);
+        probability.setRow(0);
+        probability.setSymbols(weights);
+        BonusSymbols bonusSymbols = new BonusSymbols();
+        bonusSymbols.setSymbols(Map.of("10x", 1));
+        Probabilities probabilities = new Probabilities();
+        probabilities.setStandardSymbols(List.of(probability));
+        probabilities.setBonusSymbols(bonusSymbols);
+        config.setProbabilities(probabilities);
+        config.setWinCombinations(new HashMap<>());
+        return config;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.config.ConfigLoader;
+import com.example.scratchgame.engine.BatchEvaluator;
+import com.example.scratchgame.engine.GameEngine;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchEvaluatorTest {
+
+    /**
+     * Two symbols on an 8x8 board win lines often; rows and columns share a group and a multiplier, so
+     * which of them is kept depends on the order matches are awarded in.
+     */
+    private static final String BOARD_CONFIG = """
+            {
+              "columns": 8,
+              "rows": 8,
+              "symbols": {
+                "10x": {"reward_multiplier": 10, "type": "bonus", "impact": "multiply_reward"},
+                "A": {"reward_multiplier": 5, "type": "standard"},
+                "+500": {"extra": 500, "type": "bonus", "impact": "extra_bonus"},
+                "B": {"reward_multiplier": 3, "type": "standard"}
+              },
+              "probabilities": {
+                "standard_symbols": [{"column": 0, "row": 0, "symbols": {"A": 3, "B": 1}}],
+                "bonus_symbols": {"symbols": {"10x": 1, "+500": 1}}
+              },
+              "win_combinations": {
+                "rows": {"reward_multiplier": 2, "when": "linear_symbols", "group": "lines", "pattern": "horizontal",
+                  "length": 4},
+                "columns": {"reward_multiplier": 2, "when": "linear_symbols", "group": "lines", "pattern": "vertical",
+                  "length": 4},
+                "corners": {"reward_multiplier": 4, "when": "linear_symbols", "group": "corners",
+                  "covered_areas": [["0:0", "0:7", "7:0", "7:7"]]},
+                "same_symbol_20_times": {"reward_multiplier": 1, "when": "same_symbols", "count": 20, "group": "same"},
+                "same_symbol_40_times": {"reward_multiplier": 2, "when": "same_symbols", "count": 40, "group": "same"}
+              }
+            }
+            """;
+
+    private final GameEngine engine = new GameEngine();
+
+    @Test
+    void testLanesMatchSingleSpins() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/test/resources/config.json"));
+        for (boolean vectorize : new boolean[]{false, true}) {
+            assertLanesMatchSingleSpins(model, BatchEvaluator.create(model, vectorize), 50_000);
+        }
+    }
+
+    @Test
+    void testBoardLanesMatchSingleSpins() throws IOException {
+        GameModel model = GameModel.compile(ConfigLoader.loadConfig(BOARD_CONFIG.getBytes(StandardCharsets.UTF_8)));
+        for (boolean vectorize : new boolean[]{false, true}) {
+            assertLanesMatchSingleSpins(model, BatchEvaluator.create(model, vectorize), 5_000);
+        }
+    }
+
+    @Test
+    void testLargeGridsAreNotBatched() throws IOException {
+        GameModel model = GameModel.compile(ConfigLoader.loadConfig(
+                BOARD_CONFIG.replace("\"columns\": 8", "\"columns\": 9").getBytes(StandardCharsets.UTF_8)));
+
+        assertFalse(BatchEvaluator.supports(model));
+        assertThrows(IllegalArgumentException.class, () -> BatchEvaluator.create(model));
+    }
+
+    /**
+     * Plays {@code spins} spins in batches, the last one partial, and replays each grid as a single spin.
+     */
+    private void assertLanesMatchSingleSpins(GameModel model, BatchEvaluator batch, int spins) {
+        SplittableRandom batchRandom = new SplittableRandom(7);
+        SplittableRandom spinRandom = new SplittableRandom(7);
+        int lanes = batch.getLanes();
+        int wins = 0;
+        for (int played = 0; played < spins; played += lanes) {
+            int count = Math.min(lanes, spins - played);
+            for (int lane = 0; lane < count; lane++) {
+                batch.generateGrid(lane, batchRandom);
+            }
+            batch.evaluate(count, 10);
+
+            for (int lane = 0; lane < count; lane++) {
+                int[] grid = engine.generateGrid(model, spinRandom);
+                SpinResult expected = engine.resolve(model, 10, grid);
+                SpinResult actual = batch.getResult(lane);
+                assertArrayEquals(grid, actual.getGrid());
+                assertArrayEquals(expected.getAppliedCombinations(), actual.getAppliedCombinations());
+                assertEquals(expected.getAppliedBonusSymbol(), actual.getAppliedBonusSymbol());
+                assertEquals(expected.getRewardMinorUnits(), actual.getRewardMinorUnits());
+                assertEquals(expected.getScale(), actual.getScale());
+                assertEquals(expected.getRewardMinorUnits(), batch.getRewardMinorUnits(lane));
+                if (expected.hasWinningCombination()) {
+                    wins++;
+                }
+            }
+        }
+        assertTrue(wins > 0);
+    }
+}
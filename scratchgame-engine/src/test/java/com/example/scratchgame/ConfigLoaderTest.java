@@ -0,0 +1,122 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.config.Config;
+import com.example.scratchgame.config.ConfigLoader;
+import com.example.scratchgame.config.Symbol;
+import com.example.scratchgame.config.WinCombination;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConfigLoaderTest {
+
+    @Test
+    void testBindsConfigJson() throws IOException {
+        Config config = ConfigLoader.loadConfig("src/test/resources/config.json");
+        assertEquals(3, config.getColumns());
+        assertEquals(3, config.getRows());
+        Symbol a = config.getSymbols().get("A");
+        assertEquals(5, a.getRewardMultiplier());
+        assertEquals("standard", a.getType());
+        assertNull(a.getExtra());
+        Symbol extra = config.getSymbols().get("+1000");
+        assertEquals(1000, extra.getExtra());
+        assertEquals("extra_bonus", extra.getImpact());
+        WinCombination horizontal = config.getWinCombinations().get("same_symbols_horizontally");
+        assertEquals("linear_symbols", horizontal.getWhen());
+        assertEquals("horizontally_linear_symbols", horizontal.getGroup());
+        assertEquals(Arrays.asList("0:0", "0:1", "0:2"), horizontal.getCoveredAreas().get(0));
+    }
+
+    @Test
+    void testBindsSnakeCaseNames() throws IOException {
+        Config config = load("""
+                {"columns": 4, "rows": 2, "reward_scale": 1000, "reward_rounding": "half_even",
+                 "symbols": {"é": {"reward_multiplier": 1.5e1, "type": "bonus", "extra": 1E-3, "impact": "miss"}},
+                 "win_combinations": {"lines": {"reward_multiplier": 2, "when": "linear_symbols", "group": "lines",
+                                                "covered_areas": [["0:0", "0:1"]]}}}
+                """);
+        assertEquals(1000, config.getRewardScale());
+        assertEquals("half_even", config.getRewardRounding());
+        Symbol symbol = config.getSymbols().get("é");
+        assertEquals(15, symbol.getRewardMultiplier());
+        assertEquals(0.001, symbol.getExtra());
+        assertEquals("miss", symbol.getImpact());
+        WinCombination lines = config.getWinCombinations().get("lines");
+        assertEquals(2, lines.getRewardMultiplier());
+        assertEquals(Arrays.asList("0:0", "0:1"), lines.getCoveredAreas().get(0));
+    }
+
+    @Test
+    void testNullOptionalFieldsBindToNull() throws IOException {
+        String json = """
+                {"columns": 3, "rows": 3, "reward_scale": null, "reward_rounding": null, "win_combinations": null,
+                 "symbols": {"A": {"reward_multiplier": 1, "type": "standard", "extra": null, "impact": null}},
+                 "probabilities": {"standard_symbols": null, "bonus_symbols": {"symbols": null}}}
+                """;
+        Config config = load(json);
+        assertNull(config.getRewardScale());
+        assertNull(config.getRewardRounding());
+        assertNull(config.getWinCombinations());
+        assertNull(config.getSymbols().get("A").getExtra());
+        assertNull(config.getSymbols().get("A").getImpact());
+        assertNull(config.getProbabilities().getStandardSymbols());
+        assertNull(config.getProbabilities().getBonusSymbols().getSymbols());
+    }
+
+    @Test
+    void testRejectsUnknownFields() {
+        for (String json : new String[]{
+                "{\"columns\": 3, \"paylines\": 9}",
+                "{\"symbols\": {\"A\": {\"type\": \"standard\", \"color\": \"red\"}}}",
+                "{\"probabilities\": {\"wild_symbols\": []}}",
+                "{\"probabilities\": {\"standard_symbols\": [{\"row\": 0, \"weight\": 1}]}}",
+                "{\"probabilities\": {\"bonus_symbols\": {\"weights\": {}}}}",
+                "{\"win_combinations\": {\"x\": {\"when\": \"same_symbols\", \"payout\": 2}}}"}) {
+            IOException e = assertThrows(IOException.class, () -> load(json), json);
+            assertTrue(e.getMessage().startsWith("Unrecognized field"), e.getMessage());
+        }
+    }
+
+    @Test
+    void testRejectsMalformedJson() {
+        for (String json : new String[]{
+                "{\"columns\": 3,}",
+                "{\"win_combinations\": {\"x\": {\"covered_areas\": [[\"0:0\",]]}}}",
+                "{\"columns\" 3}",
+                "{\"columns\": 3 \"rows\": 3}",
+                "{columns: 3}",
+                "{\"reward_rounding\": \"\\q\"}",
+                "{\"reward_rounding\": \"\\u12G4\"}",
+                "{\"reward_rounding\": \"\\u12\"}",
+                "{\"reward_rounding\": \"a\nb\"}",
+                "{\"columns\": tru}",
+                "{\"columns\": 3.5.1}",
+                "{\"columns\": 1e10}",
+                "[]",
+                ""}) {
+            assertThrows(IOException.class, () -> load(json), json);
+        }
+    }
+
+    @Test
+    void testRejectsEveryTruncationOfConfigJson() throws IOException {
+        byte[] content = Files.readAllBytes(Paths.get("src/test/resources/config.json"));
+        int end = new String(content, StandardCharsets.UTF_8).stripTrailing().length();
+        for (int length = 0; length < end; length++) {
+            byte[] truncated = Arrays.copyOf(content, length);
+            assertThrows(IOException.class, () -> ConfigLoader.loadConfig(truncated),
+                    () -> "accepted the first " + truncated.length + " bytes");
+        }
+    }
+
+    private static Config load(String json) throws IOException {
+        return ConfigLoader.loadConfig(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.analysis.ExactRtpCalculator;
+import com.example.scratchgame.analysis.PayoutDistribution;
+import com.example.scratchgame.config.ConfigLoader;
+import com.example.scratchgame.engine.GameEngine;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.simulation.RtpSimulator;
+import com.example.scratchgame.simulation.SimulationReport;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExactRtpCalculatorTest {
+
+    private static final String SMALL_CONFIG = """
+            {
+              "columns": 2,
+              "rows": 2,
+              "symbols": {
+                "A": {"reward_multiplier": 5, "type": "standard"},
+                "B": {"reward_multiplier": 2, "type": "standard"},
+                "C": {"reward_multiplier": 0, "type": "standard"},
+                "10x": {"reward_multiplier": 10, "type": "bonus", "impact": "multiply_reward"},
+                "+500": {"extra": 500, "type": "bonus", "impact": "extra_bonus"},
+                "2x+100": {"reward_multiplier": 2, "extra": 100, "type": "bonus", "impact": "multiply_and_extra"}
+              },
+              "probabilities": {
+                "standard_symbols": [
+                  {"column": 0, "row": 0, "symbols": {"A": 1, "B": 2, "C": 3, "10x": 1, "2x+100": 1}},
+                  {"column": 1, "row": 1, "symbols": {"A": 3, "B": 1, "C": 1}}
+                ],
+                "bonus_symbols": {"symbols": {"10x": 1, "+500": 3}}
+              },
+              "win_combinations": {
+                "same_symbol_2_times": {"reward_multiplier": 1, "when": "same_symbols", "count": 2, "group": "same_symbols"},
+                "same_symbol_3_times": {"reward_multiplier": 2, "when": "same_symbols", "count": 3, "group": "same_symbols"},
+                "same_symbols_horizontally": {"reward_multiplier": 3, "when": "linear_symbols",
+                  "group": "horizontally_linear_symbols", "covered_areas": [["0:0", "0:1"], ["1:0", "1:1"]]}
+              }
+            }
+            """;
+
+    @Test
+    void testMatchesBruteForceEnumeration() throws IOException {
+        GameModel model = GameModel.compile(ConfigLoader.loadConfig(SMALL_CONFIG.getBytes(StandardCharsets.UTF_8)));
+        GameEngine engine = new GameEngine();
+        int bet = 10;
+        int cells = model.getCellCount();
+        int symbols = model.getSymbolCount();
+
+        double expected = 0;
+        double hitFrequency = 0;
+        int[] grid = new int[cells];
+        for (int index = 0; index < Math.pow(symbols, cells); index++) {
+            double probability = 1;
+            for (int cell = 0, rest = index; cell < cells; cell++, rest /= symbols) {
+                grid[cell] = rest % symbols;
+                probability *= model.getStandardSymbolProbability(cell, grid[cell]);
+            }
+            if (probability == 0) {
+                continue;
+            }
+            long[] applied = new long[symbols];
+            int bonus = model.getWinEvaluator().evaluate(grid, applied);
+            long reward = engine.calculateReward(bet, model, applied);
+            boolean win = false;
+            for (long combinations : applied) {
+                win |= combinations != 0;
+            }
+            if (!win) {
+                continue;
+            }
+            hitFrequency += probability;
+            expected += probability * model.getPaytable().toReward(engine.applyBonusSymbol(model, bonus, reward));
+        }
+
+        PayoutDistribution distribution = new ExactRtpCalculator().compute(model, bet);
+
+        assertEquals(1.0, distribution.getTotalProbability(), 1e-12);
+        assertEquals(expected, distribution.getExpectedReward(), 1e-9);
+        assertEquals(hitFrequency, distribution.getHitFrequency(), 1e-12);
+    }
+
+    @Test
+    void testGridsOfFewerThanFourCellsPlaceNoBonusSymbols() throws IOException {
+        String config = SMALL_CONFIG.replace("\"rows\": 2", "\"rows\": 1").replace(", [\"1:0\", \"1:1\"]", "");
+        GameModel model = GameModel.compile(ConfigLoader.loadConfig(config.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(2, model.getCellCount());
+        assertEquals(1, model.getBonusPlacementBound());
+
+        GameEngine engine = new GameEngine();
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(2, engine.spin(model, 10, random).getGrid().length);
+        }
+        PayoutDistribution distribution = new ExactRtpCalculator().compute(model, 10);
+        SimulationReport report = new RtpSimulator().simulate(model, 10, 200_000, 5L, 2);
+        assertEquals(1.0, distribution.getTotalProbability(), 1e-12);
+        assertEquals(distribution.getRtp(), report.getRtp(), 5 * report.getRtpMarginOfError());
+    }
+
+    @Test
+    void testAgreesWithSimulator() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/test/resources/config.json"));
+
+        PayoutDistribution distribution = new ExactRtpCalculator().compute(model, 10);
+        SimulationReport report = new RtpSimulator().simulate(model, 10, 1_000_000, 11L, 2);
+
+        assertEquals(1.0, distribution.getTotalProbability(), 1e-9);
+        assertEquals(distribution.getRtp(), report.getRtp(), 5 * report.getRtpMarginOfError());
+        assertEquals(distribution.getHitFrequency(), report.getHitFrequency(), 0.005);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.engine.GameEngine;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+import com.example.scratchgame.game.GameResponse;
+import com.example.scratchgame.game.GameResponseWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameResponseWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GameResponseWriter writer = new GameResponseWriter();
+
+    @Test
+    void testMatchesJacksonOutput() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/test/resources/config.json"));
+        GameEngine engine = new GameEngine();
+        SplittableRandom random = new SplittableRandom(21);
+        for (int i = 0; i < 5000; i++) {
+            SpinResult result = engine.spin(model, 1 + random.nextInt(10_000), random);
+            assertJacksonCompatible(result, model);
+        }
+    }
+
+    @Test
+    void testMatchesJacksonForUnusualRewards() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/test/resources/config.json"));
+        SpinResult spin = new GameEngine().spin(model, 100, new SplittableRandom(3));
+        long[][] rewards = {{0, 100}, {7, 1}, {125, 10}, {9_999_999, 1}, {10_000_000, 1}, {123_456_789, 1},
+                {3, 10}, {1, 100_000}, {1, 3}, {2, 3}, {Long.MAX_VALUE / 2, 100}};
+        for (long[] reward : rewards) {
+            assertJacksonCompatible(new SpinResult(spin.getGrid(), reward[0], (int) reward[1],
+                    spin.getAppliedCombinations(), spin.getAppliedBonusSymbol()), model);
+        }
+    }
+
+    private void assertJacksonCompatible(SpinResult result, GameModel model) throws IOException {
+        String expected = objectMapper.writeValueAsString(GameResponse.of(result, model));
+        assertEquals(expected, new String(writer.toBytes(result, model), StandardCharsets.UTF_8));
+    }
+}
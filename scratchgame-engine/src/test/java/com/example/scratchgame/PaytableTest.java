@@ -0,0 +1,159 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.config.ConfigLoader;
+import com.example.scratchgame.engine.BonusImpact;
+import com.example.scratchgame.engine.CompiledCombination;
+import com.example.scratchgame.engine.GameEngine;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.Paytable;
+import com.example.scratchgame.engine.WinEvaluator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PaytableTest {
+
+    private static final String CONFIG = """
+            {
+              "columns": 3,
+              "rows": 3,
+              %s
+              "symbols": {
+                "A": {"reward_multiplier": 0.1, "type": "standard"},
+                "B": {"reward_multiplier": 2.5, "type": "standard"},
+                "+1000": {"extra": 1000, "type": "bonus", "impact": "extra_bonus"},
+                "1.5x": {"reward_multiplier": 1.5, "type": "bonus", "impact": "multiply_reward"},
+                "3x+20": {"reward_multiplier": 3, "extra": 20, "type": "bonus", "impact": "multiply_and_extra"},
+                "MISS": {"type": "bonus", "impact": "miss"}
+              },
+              "probabilities": {
+                "standard_symbols": [{"column": 0, "row": 0, "symbols": {"A": 1, "B": 1}}],
+                "bonus_symbols": {"symbols": {"+1000": 1}}
+              },
+              "win_combinations": {
+                "same_symbol_3_times": {"reward_multiplier": 3, "when": "same_symbols", "count": 3, "group": "same_symbols"},
+                "same_symbol_4_times": {"reward_multiplier": 1.5, "when": "same_symbols", "count": 4, "group": "same_symbols"}
+              }
+            }
+            """;
+
+    private final GameEngine engine = new GameEngine();
+
+    @Test
+    void testRewardsAreExactInMinorUnits() throws IOException {
+        GameModel model = compile("");
+        int a = model.getSymbolId("A");
+        long[] applied = new long[model.getSymbolCount()];
+        applied[a] = combinations(model, "same_symbol_3_times");
+
+        long reward = engine.calculateReward(1, model, applied);
+
+        // 1 * 0.1 * 3 is 0.30000000000000004 in double arithmetic.
+        assertEquals(30, model.getPaytable().toMinorUnits(reward));
+        assertEquals(0.3, model.getPaytable().toReward(reward));
+        long withBonus = engine.applyBonusSymbol(model, model.getSymbolId("+1000"), reward);
+        assertEquals(1000.3, model.getPaytable().toReward(withBonus));
+    }
+
+    @Test
+    void testRoundingPolicyAppliesOncePerReward() throws IOException {
+        GameModel halfEven = compile("\"reward_scale\": 1,");
+        int b = halfEven.getSymbolId("B");
+        long[] applied = new long[halfEven.getSymbolCount()];
+        applied[b] = combinations(halfEven, "same_symbol_4_times");
+
+        // 2.5 * 1.5 = 3.75 per bet unit; rounding that to 4 first would pay 12 rather than 11 at a bet of 3.
+        assertEquals(RoundingMode.HALF_EVEN, halfEven.getPaytable().getRounding());
+        assertEquals(4, halfEven.getPaytable().toMinorUnits(engine.calculateReward(1, halfEven, applied)));
+        assertEquals(8, halfEven.getPaytable().toMinorUnits(engine.calculateReward(2, halfEven, applied)));
+        assertEquals(11, halfEven.getPaytable().toMinorUnits(engine.calculateReward(3, halfEven, applied)));
+
+        GameModel floor = compile("\"reward_scale\": 1, \"reward_rounding\": \"floor\",");
+        assertEquals(3, floor.getPaytable().toMinorUnits(engine.calculateReward(1, floor, applied)));
+        assertEquals(7, floor.getPaytable().toMinorUnits(engine.calculateReward(2, floor, applied)));
+    }
+
+    @Test
+    void testBonusImpactsComeFromConfig() throws IOException {
+        GameModel model = compile("");
+        Paytable paytable = model.getPaytable();
+        long reward = paytable.toSubUnits(7);
+
+        assertEquals(BonusImpact.MULTIPLY_REWARD, paytable.getBonusImpact(model.getSymbolId("1.5x")));
+        assertEquals(10.5, paytable.toReward(engine.applyBonusSymbol(model, model.getSymbolId("1.5x"), reward)));
+        assertEquals(41.0, paytable.toReward(engine.applyBonusSymbol(model, model.getSymbolId("3x+20"), reward)));
+        assertEquals(7.0, paytable.toReward(engine.applyBonusSymbol(model, model.getSymbolId("MISS"), reward)));
+        assertEquals(0, engine.applyBonusSymbol(model, model.getSymbolId("+1000"), 0));
+        assertNull(paytable.getBonusImpact(model.getSymbolId("A")));
+    }
+
+    @Test
+    void testLookupsMatchMultiplyingOut() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/test/resources/config.json"));
+        Paytable paytable = model.getPaytable();
+        WinEvaluator winEvaluator = model.getWinEvaluator();
+        assertTrue(paytable.isTabulated());
+
+        for (int symbol = 0; symbol < model.getSymbolCount(); symbol++) {
+            if (!model.isStandardSymbol(symbol)) {
+                continue;
+            }
+            // Each linear combination is in a group of its own, so it combines with every same_symbols count.
+            for (int id = 0; id < winEvaluator.getCombinationCount(); id++) {
+                for (int other = 0; other < winEvaluator.getCombinationCount(); other++) {
+                    CompiledCombination first = winEvaluator.getCombination(id);
+                    CompiledCombination second = winEvaluator.getCombination(other);
+                    if (id != other && first.getGroup() == second.getGroup()) {
+                        continue;
+                    }
+                    BigDecimal expected = BigDecimal.valueOf(model.getRewardMultiplier(symbol))
+                            .multiply(BigDecimal.valueOf(7))
+                            .multiply(BigDecimal.valueOf(first.getRewardMultiplier()));
+                    if (id != other) {
+                        expected = expected.multiply(BigDecimal.valueOf(second.getRewardMultiplier()));
+                    }
+                    long combinations = 1L << id | 1L << other;
+                    assertEquals(expected.movePointRight(2).longValueExact(),
+                            paytable.toMinorUnits(paytable.symbolReward(7, symbol, combinations)));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testRejectsInvalidRewardSettings() {
+        assertThrows(IllegalArgumentException.class, () -> compile("\"reward_rounding\": \"sideways\","));
+        assertThrows(IllegalArgumentException.class, () -> compile("\"reward_rounding\": \"unnecessary\","));
+        assertThrows(IllegalArgumentException.class, () -> compile("\"reward_scale\": 0,"));
+        assertThrows(IllegalArgumentException.class, () -> GameModel.compile(ConfigLoader.loadConfig(
+                CONFIG.formatted("").replace("\"impact\": \"miss\"", "\"impact\": \"halve\"")
+                        .getBytes(StandardCharsets.UTF_8))));
+        assertThrows(IllegalArgumentException.class, () -> GameModel.compile(ConfigLoader.loadConfig(
+                CONFIG.formatted("").replace("\"extra\": 20, ", "")
+                        .getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static GameModel compile(String rewardSettings) throws IOException {
+        return GameModel.compile(ConfigLoader.loadConfig(
+                CONFIG.formatted(rewardSettings).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static long combinations(GameModel model, String... names) {
+        long mask = 0;
+        WinEvaluator winEvaluator = model.getWinEvaluator();
+        for (int id = 0; id < winEvaluator.getCombinationCount(); id++) {
+            for (String name : names) {
+                if (winEvaluator.getCombination(id).getName().equals(name)) {
+                    mask |= 1L << id;
+                }
+            }
+        }
+        return mask;
+    }
+}
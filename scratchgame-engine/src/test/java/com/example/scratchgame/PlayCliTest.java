@@ -0,0 +1,73 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.game.GameResponse;
+import com.example.scratchgame.game.PlayCli;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlayCliTest {
+
+    private static final String CONFIG = "src/test/resources/config.json";
+
+    @Test
+    void testParsesArguments() {
+        PlayCli cli = PlayCli.parse(new String[]{"--config", CONFIG, "--betting-amount", "25"});
+        assertEquals(CONFIG, cli.getConfigPath());
+        assertEquals(25, cli.getBetAmount());
+        assertEquals(1, cli.getSpins());
+        assertNull(cli.getSeed());
+
+        cli = PlayCli.parse(new String[]{"--seed", "-7", "--spins", "0", "--betting-amount", "1", "--config", CONFIG});
+        assertEquals(0, cli.getSpins());
+        assertEquals(-7L, cli.getSeed());
+    }
+
+    @Test
+    void testRejectsBadArguments() {
+        for (String[] args : new String[][]{
+                {},
+                {"--config", CONFIG},
+                {"--betting-amount", "10"},
+                {"--config", CONFIG, "--betting-amount", "0"},
+                {"--config", CONFIG, "--betting-amount", "-10"},
+                {"--config", CONFIG, "--betting-amount", "ten"},
+                {"--config", CONFIG, "--betting-amount", "3000000000"},
+                {"--config", CONFIG, "--betting-amount", "10", "--spins", "-1"},
+                {"--config", CONFIG, "--betting-amount", "10", "--seed"},
+                {"--config", CONFIG, "--betting-amount", "10", "--bet", "10"},
+                {"--config"}}) {
+            assertThrows(IllegalArgumentException.class, () -> PlayCli.parse(args), String.join(" ", args));
+        }
+    }
+
+    @Test
+    void testPrintsOnePlayResponsePerSpin() throws IOException {
+        GameModel model = GameModel.load(Paths.get(CONFIG));
+        String[] args = {"--config", CONFIG, "--betting-amount", "10", "--spins", "50", "--seed", "42"};
+        List<String> lines = play(args);
+
+        assertEquals(50, lines.size());
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (String line : lines) {
+            GameResponse response = objectMapper.readValue(line, GameResponse.class);
+            assertEquals(model.getRows(), response.getMatrix().size());
+            assertTrue(response.getReward() >= 0);
+        }
+        assertEquals(lines, play(args));
+    }
+
+    private static List<String> play(String[] args) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PlayCli.parse(args).play(out);
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+}
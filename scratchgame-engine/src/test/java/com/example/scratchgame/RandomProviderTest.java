@@ -0,0 +1,85 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.random.RandomProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RandomProviderTest {
+
+    @Test
+    void testSeededProvidersProduceTheSameStreams() {
+        for (String algorithm : new String[]{RandomProvider.SPLITTABLE_RANDOM, "L64X128MixRandom", "L128X256MixRandom"}) {
+            RandomProvider first = RandomProvider.create(algorithm, 42L);
+            RandomProvider second = RandomProvider.create(algorithm, 42L);
+            assertArrayEquals(draw(first.current()), draw(second.current()), algorithm);
+            assertArrayEquals(draw(first.split()), draw(second.split()), algorithm);
+        }
+    }
+
+    @Test
+    void testSpinGeneratorsUseTheProvidersAlgorithm() {
+        for (String algorithm : new String[]{RandomProvider.SPLITTABLE_RANDOM, "L64X128MixRandom", "L128X256MixRandom"}) {
+            RandomProvider provider = RandomProvider.create(algorithm, 42L);
+            assertEquals(algorithm, provider.getAlgorithm());
+            assertArrayEquals(draw(RandomProvider.spinGenerators(algorithm).apply(7L)),
+                    draw(provider.spinGenerator(7L)), algorithm);
+        }
+        assertArrayEquals(draw(new SplittableRandom(7L)),
+                draw(RandomProvider.create(RandomProvider.SPLITTABLE_RANDOM, 1L).spinGenerator(7L)));
+        assertArrayEquals(draw(RandomGeneratorFactory.of("L128X256MixRandom").create(7L)),
+                draw(RandomProvider.create("L128X256MixRandom", 1L).spinGenerator(7L)));
+    }
+
+    @Test
+    void testEachThreadGetsItsOwnStream() {
+        RandomProvider provider = RandomProvider.seeded(42L);
+        RandomGenerator mine = provider.current();
+        RandomGenerator other = CompletableFuture.supplyAsync(provider::current).join();
+
+        assertSame(mine, provider.current());
+        assertNotSame(mine, other);
+        assertNotSame(mine, provider.split());
+    }
+
+    @Test
+    void testVirtualThreadsSplitPerCall() throws Exception {
+        RandomProvider provider = RandomProvider.seeded(42L);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            assertNotSame(executor.submit(provider::current).get(), executor.submit(provider::current).get());
+            assertTrue(executor.submit(() -> provider.current() != provider.current()).get());
+
+            List<Future<Long>> draws = new ArrayList<>();
+            for (int i = 0; i < 10_000; i++) {
+                draws.add(executor.submit(() -> provider.current().nextLong()));
+            }
+            Set<Long> distinct = new HashSet<>();
+            for (Future<Long> draw : draws) {
+                distinct.add(draw.get());
+            }
+            assertEquals(draws.size(), distinct.size());
+        }
+    }
+
+    @Test
+    void testRejectsUnknownOrNonSplittableAlgorithms() {
+        assertThrows(IllegalArgumentException.class, () -> RandomProvider.create("NoSuchRandom", 1L));
+        assertThrows(IllegalArgumentException.class, () -> RandomProvider.create("Xoshiro256PlusPlus", 1L));
+    }
+
+    private static long[] draw(RandomGenerator random) {
+        return random.longs(16).toArray();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.simulation.RtpSimulator;
+import com.example.scratchgame.simulation.SimulationReport;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RtpSimulatorTest {
+
+    private static final long SPINS = 300_000;
+
+    @Test
+    void testResultsDoNotDependOnThreadCount() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/test/resources/config.json"));
+        RtpSimulator simulator = new RtpSimulator();
+
+        SimulationReport single = simulator.simulate(model, 10, SPINS, 42L, 1);
+        SimulationReport parallel = simulator.simulate(model, 10, SPINS, 42L, 4);
+
+        assertEquals(SPINS, single.getSpins());
+        assertEquals(single.getRtp(), parallel.getRtp());
+        assertEquals(single.getRewardVariance(), parallel.getRewardVariance());
+        assertEquals(single.getHitFrequency(), parallel.getHitFrequency());
+        assertArrayEquals(single.getStatistics().getCombinationHits(), parallel.getStatistics().getCombinationHits());
+        assertArrayEquals(single.getStatistics().getBonusHits(), parallel.getStatistics().getBonusHits());
+    }
+
+    @Test
+    void testDifferentSeedsGiveDifferentSamples() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/test/resources/config.json"));
+        RtpSimulator simulator = new RtpSimulator();
+
+        SimulationReport first = simulator.simulate(model, 10, SPINS, 1L, 2);
+        SimulationReport second = simulator.simulate(model, 10, SPINS, 2L, 2);
+
+        assertNotEquals(first.getRtp(), second.getRtp());
+        assertEquals(first.getRtp(), second.getRtp(), 6 * first.getRtpMarginOfError());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.concurrent.ScratchPool;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScratchPoolTest {
+
+    @Test
+    void testPlatformThreadsKeepTheirOwnObject() {
+        ScratchPool<int[]> pool = new ScratchPool<>(() -> new int[1]);
+        int[] first = pool.acquire();
+        pool.release(first);
+        assertSame(first, pool.acquire());
+
+        int[] grown = new int[2];
+        pool.release(grown);
+        assertSame(grown, pool.acquire());
+    }
+
+    @Test
+    void testVirtualThreadsReuseReleasedObjects() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        ScratchPool<int[]> pool = new ScratchPool<>(() -> {
+            created.incrementAndGet();
+            return new int[1];
+        });
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1000; i++) {
+                executor.submit(() -> pool.release(pool.acquire())).get();
+            }
+        }
+        // Every allocation fills a slot that stays filled, so a sequential run allocates at most one per slot.
+        assertTrue(created.get() <= ScratchPool.stripes(), created.get() + " allocations");
+    }
+
+    @Test
+    void testConcurrentVirtualThreadsNeverShareAnObject() throws Exception {
+        ScratchPool<AtomicInteger> pool = new ScratchPool<>(AtomicInteger::new);
+        AtomicInteger shared = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?>[] tasks = new Future<?>[10_000];
+            for (int i = 0; i < tasks.length; i++) {
+                tasks[i] = executor.submit(() -> {
+                    AtomicInteger owner = pool.acquire();
+                    if (owner.getAndIncrement() != 0) {
+                        shared.incrementAndGet();
+                    }
+                    Thread.yield();
+                    owner.decrementAndGet();
+                    pool.release(owner);
+                });
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        }
+        assertEquals(0, shared.get());
+    }
+}
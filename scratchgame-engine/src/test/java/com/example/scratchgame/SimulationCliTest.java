@@ -0,0 +1,46 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.simulation.SimulationCli;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulationCliTest {
+
+    @Test
+    void testParsesArguments() {
+        SimulationCli cli = SimulationCli.parse(new String[]{});
+        assertEquals("src/main/resources/config.json", cli.getConfigPath());
+        assertEquals(1, cli.getBetAmount());
+        assertEquals(10_000_000L, cli.getSpins());
+        assertFalse(cli.isExact());
+
+        cli = SimulationCli.parse(new String[]{"--config", "game.json", "--bet", "25", "--spins", "1000",
+                "--seed", "-7", "--threads", "3", "--exact"});
+        assertEquals("game.json", cli.getConfigPath());
+        assertEquals(25, cli.getBetAmount());
+        assertEquals(1000, cli.getSpins());
+        assertEquals(-7L, cli.getSeed());
+        assertEquals(3, cli.getThreads());
+        assertTrue(cli.isExact());
+    }
+
+    @Test
+    void testRejectsBadArguments() {
+        for (String[] args : new String[][]{
+                {"--config"},
+                {"--bet"},
+                {"--bet", "0"},
+                {"--bet", "ten"},
+                {"--bet", "3000000000"},
+                {"--spins", "0"},
+                {"--spins", "1e9"},
+                {"--seed"},
+                {"--seed", "x"},
+                {"--threads", "0"},
+                {"--spins", "10", "--threads"},
+                {"--betting-amount", "10"}}) {
+            assertThrows(IllegalArgumentException.class, () -> SimulationCli.parse(args), String.join(" ", args));
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.config.ConfigLoader;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.WinEvaluator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WinEvaluatorTest {
+
+    private static final String CONFIG = """
+            {
+              "columns": 3,
+              "rows": 3,
+              "symbols": {
+                "A": {"reward_multiplier": 5, "type": "standard"},
+                "B": {"reward_multiplier": 3, "type": "standard"},
+                "10x": {"reward_multiplier": 10, "type": "bonus", "impact": "multiply_reward"},
+                "+500": {"extra": 500, "type": "bonus", "impact": "extra_bonus"}
+              },
+              "probabilities": {
+                "standard_symbols": [{"column": 0, "row": 0, "symbols": {"A": 1, "B": 1}}],
+                "bonus_symbols": {"symbols": {"10x": 1}}
+              },
+              "win_combinations": {
+                "same_symbol_3_times": {"reward_multiplier": 1, "when": "same_symbols", "count": 3, "group": "same_symbols"},
+                "same_symbol_5_times": {"reward_multiplier": 2, "when": "same_symbols", "count": 5, "group": "same_symbols"},
+                "same_symbols_horizontally": {"reward_multiplier": 2, "when": "linear_symbols",
+                  "group": "horizontally_linear_symbols", "covered_areas": [["0:0", "0:1", "0:2"], ["1:0", "1:1", "1:2"], ["2:0", "2:1", "2:2"]]},
+                "corners": {"reward_multiplier": 4, "when": "linear_symbols",
+                  "group": "corner_symbols", "covered_areas": [["0:0", "0:2", "2:0", "2:2"]]}
+              }
+            }
+            """;
+
+    @Test
+    void testEveryConfiguredLinearGroupIsEvaluated() throws IOException {
+        GameModel model = compile(CONFIG);
+        int a = model.getSymbolId("A");
+        int b = model.getSymbolId("B");
+        int[] grid = {
+                a, b, a,
+                b, b, b,
+                a, b, a
+        };
+
+        long[] applied = evaluate(model, grid);
+
+        assertEquals(combinations(model, "corners", "same_symbol_3_times"), applied[a]);
+        assertEquals(combinations(model, "same_symbols_horizontally", "same_symbol_5_times"), applied[b]);
+        assertEquals(3, model.getWinEvaluator().getGroupCount());
+    }
+
+    @Test
+    void testLinearCombinationIsAwardedOncePerSymbol() throws IOException {
+        GameModel model = compile(CONFIG);
+        int a = model.getSymbolId("A");
+        int b = model.getSymbolId("B");
+        int[] grid = {
+                a, a, a,
+                b, a, b,
+                a, a, a
+        };
+
+        long[] applied = evaluate(model, grid);
+
+        assertEquals(combinations(model, "same_symbols_horizontally", "corners", "same_symbol_5_times"), applied[a]);
+        assertEquals(0, applied[b]);
+    }
+
+    @Test
+    void testBonusSymbolsNeverWin() throws IOException {
+        GameModel model = compile(CONFIG);
+        int a = model.getSymbolId("A");
+        int bonus = model.getSymbolId("10x");
+        int[] grid = {
+                bonus, bonus, bonus,
+                a, bonus, a,
+                bonus, a, bonus
+        };
+
+        long[] applied = evaluate(model, grid);
+
+        assertEquals(0, applied[bonus]);
+        assertEquals(combinations(model, "same_symbol_3_times"), applied[a]);
+    }
+
+    @Test
+    void testBonusIsFirstNonStandardSymbolInRowMajorOrder() throws IOException {
+        GameModel model = compile(CONFIG);
+        int a = model.getSymbolId("A");
+        int b = model.getSymbolId("B");
+        int multiply = model.getSymbolId("10x");
+        int extra = model.getSymbolId("+500");
+        int[] grid = {
+                a, b, a,
+                b, extra, multiply,
+                multiply, b, a
+        };
+        long[] applied = new long[model.getSymbolCount()];
+
+        assertEquals(extra, model.getWinEvaluator().evaluate(grid, applied));
+        assertArrayEquals(evaluate(model, grid), applied);
+
+        int[] plain = {a, b, a, b, a, b, a, b, a};
+        assertEquals(-1, model.getWinEvaluator().evaluate(plain, new long[model.getSymbolCount()]));
+    }
+
+    @Test
+    void testRejectsUnknownWhenAndOutOfBoundsAreas() {
+        assertThrows(IllegalArgumentException.class,
+                () -> compile(CONFIG.replace("\"reward_multiplier\": 4, \"when\": \"linear_symbols\"",
+                        "\"reward_multiplier\": 4, \"when\": \"zigzag_symbols\"")));
+        IllegalArgumentException outside = assertThrows(IllegalArgumentException.class,
+                () -> compile(CONFIG.replace("\"2:2\"]]}", "\"3:3\"]]}")));
+        assertTrue(outside.getMessage().contains("outside the 3x3 grid"), outside.getMessage());
+    }
+
+    @Test
+    void testRejectsMalformedPositions() {
+        for (String position : new String[]{"1:2:3", "2", "2:", ":2", "a:b", "2:2:"}) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> compile(CONFIG.replace("\"2:2\"]]}", "\"" + position + "\"]]}")));
+            assertTrue(e.getMessage().contains("malformed position " + position), e.getMessage());
+        }
+    }
+
+    @Test
+    void testPatternsExpandToLines() throws IOException {
+        GameModel model = compile(PATTERN_CONFIG.replace("ROWS", "3").replace("COLUMNS", "3")
+                .replace("RUN", "0").replace("DIAGONAL", "0"));
+        WinEvaluator winEvaluator = model.getWinEvaluator();
+
+        assertArrayEquals(new int[][]{{0, 1, 2}, {3, 4, 5}, {6, 7, 8}}, areasOf(winEvaluator, "rows"));
+        assertArrayEquals(new int[][]{{0, 3, 6}, {1, 4, 7}, {2, 5, 8}}, areasOf(winEvaluator, "columns"));
+        assertArrayEquals(new int[][]{{0, 4, 8}}, areasOf(winEvaluator, "ltr"));
+        assertArrayEquals(new int[][]{{2, 4, 6}}, areasOf(winEvaluator, "rtl"));
+        assertThrows(IllegalArgumentException.class, () -> compile(PATTERN_CONFIG.replace("ROWS", "3")
+                .replace("COLUMNS", "3").replace("RUN", "4").replace("DIAGONAL", "0")));
+    }
+
+    @Test
+    void testBitboardsMatchAreaScanOnLargeBoards() throws IOException {
+        GameModel model = compile(PATTERN_CONFIG.replace("ROWS", "12").replace("COLUMNS", "11")
+                .replace("RUN", "4").replace("DIAGONAL", "3"));
+        WinEvaluator winEvaluator = model.getWinEvaluator();
+        int a = model.getSymbolId("A");
+        int b = model.getSymbolId("B");
+        SplittableRandom random = new SplittableRandom(5);
+        int wins = 0;
+        for (int spin = 0; spin < 2000; spin++) {
+            int[] grid = new int[model.getCellCount()];
+            for (int cell = 0; cell < grid.length; cell++) {
+                grid[cell] = random.nextInt(4) == 0 ? b : a;
+            }
+
+            long[] applied = evaluate(model, grid);
+
+            for (int symbol : new int[]{a, b}) {
+                long expected = 0;
+                for (int id = 0; id < winEvaluator.getCombinationCount(); id++) {
+                    for (int[] area : winEvaluator.getCombination(id).getAreas()) {
+                        if (Arrays.stream(area).allMatch(cell -> grid[cell] == symbol)) {
+                            expected |= 1L << id;
+                        }
+                    }
+                }
+                assertEquals(expected, applied[symbol]);
+                wins += Long.bitCount(expected);
+            }
+        }
+        assertTrue(wins > 2000);
+    }
+
+    private static final String PATTERN_CONFIG = """
+            {
+              "columns": COLUMNS,
+              "rows": ROWS,
+              "symbols": {
+                "A": {"reward_multiplier": 5, "type": "standard"},
+                "B": {"reward_multiplier": 3, "type": "standard"},
+                "10x": {"reward_multiplier": 10, "type": "bonus", "impact": "multiply_reward"}
+              },
+              "probabilities": {
+                "standard_symbols": [{"column": 0, "row": 0, "symbols": {"A": 1, "B": 1}}],
+                "bonus_symbols": {"symbols": {"10x": 1}}
+              },
+              "win_combinations": {
+                "rows": {"reward_multiplier": 2, "when": "linear_symbols", "group": "h", "pattern": "horizontal",
+                  "length": RUN},
+                "columns": {"reward_multiplier": 2, "when": "linear_symbols", "group": "v", "pattern": "vertical",
+                  "length": RUN},
+                "ltr": {"reward_multiplier": 5, "when": "linear_symbols", "group": "ltr", "pattern": "diagonal_ltr",
+                  "length": DIAGONAL},
+                "rtl": {"reward_multiplier": 5, "when": "linear_symbols", "group": "rtl", "pattern": "diagonal_rtl",
+                  "length": DIAGONAL},
+                "corners": {"reward_multiplier": 4, "when": "linear_symbols", "group": "corners",
+                  "covered_areas": [["0:0", "0:2", "2:0", "2:2"]]}
+              }
+            }
+            """;
+
+    private static int[][] areasOf(WinEvaluator winEvaluator, String name) {
+        for (int id = 0; id < winEvaluator.getCombinationCount(); id++) {
+            if (winEvaluator.getCombination(id).getName().equals(name)) {
+                return winEvaluator.getCombination(id).getAreas();
+            }
+        }
+        return fail("no combination " + name);
+    }
+
+    private static GameModel compile(String json) throws IOException {
+        return GameModel.compile(ConfigLoader.loadConfig(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static long[] evaluate(GameModel model, int[] grid) {
+        return model.getWinEvaluator().evaluate(grid);
+    }
+
+    private static long combinations(GameModel model, String... names) {
+        WinEvaluator winEvaluator = model.getWinEvaluator();
+        long mask = 0;
+        for (String name : names) {
+            for (int id = 0; id < winEvaluator.getCombinationCount(); id++) {
+                if (winEvaluator.getCombination(id).getName().equals(name)) {
+                    mask |= 1L << id;
+                }
+            }
+        }
+        return mask;
+    }
+}
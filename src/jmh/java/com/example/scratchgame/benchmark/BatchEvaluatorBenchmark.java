@@ -0,0 +1,78 @@
+package com.example.scratchgame.benchmark;
+
+import com.example.scratchgame.engine.BatchEvaluator;
+import com.example.scratchgame.engine.GameEngine;
+import com.example.scratchgame.engine.GameModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluating and paying pre-generated grids one spin at a time ({@code single}, {@link GameEngine#resolve})
+ * against {@link BatchEvaluator} in plain loops ({@code scalar}) and on the Vector API ({@code vector}).
+ * Batches include copying each grid into its lane, so the score is per spin with nothing left out. Every mode
+ * runs in a fork of its own: with both kernels loaded in one JVM the kernel call is no longer monomorphic and
+ * the vector code is not compiled to vector instructions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class BatchEvaluatorBenchmark {
+
+    /** A multiple of every lane count. */
+    private static final int SPINS = 1024;
+
+    @Param({BenchmarkGames.SHIPPED, "5x5", "8x8"})
+    public String game;
+
+    @Param({"single", "scalar", "vector"})
+    public String mode;
+
+    private final GameEngine engine = new GameEngine();
+    private GameModel model;
+    private BatchEvaluator batch;
+    private int[][] grids;
+
+    @Setup
+    public void setUp() {
+        model = BenchmarkGames.load(game);
+        SplittableRandom random = new SplittableRandom(42);
+        grids = new int[SPINS][];
+        for (int i = 0; i < SPINS; i++) {
+            grids[i] = engine.generateGrid(model, random);
+        }
+        if (!"single".equals(mode)) {
+            batch = BatchEvaluator.create(model, "vector".equals(mode));
+            if ("vector".equals(mode) && !batch.isVectorized()) {
+                throw new IllegalStateException("the Vector API is not available on this JVM or CPU");
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SPINS)
+    public long evaluate() {
+        long total = 0;
+        if (batch == null) {
+            for (int[] grid : grids) {
+                total += engine.resolve(model, 10, grid).getRewardMinorUnits();
+            }
+            return total;
+        }
+        int lanes = batch.getLanes();
+        for (int i = 0; i < SPINS; i += lanes) {
+            for (int lane = 0; lane < lanes; lane++) {
+                batch.setGrid(lane, grids[i + lane]);
+            }
+            batch.evaluate(lanes, 10);
+            for (int lane = 0; lane < lanes; lane++) {
+                total += batch.getRewardMinorUnits(lane);
+            }
+        }
+        return total;
+    }
+}
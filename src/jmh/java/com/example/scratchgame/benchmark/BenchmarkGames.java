@@ -0,0 +1,141 @@
+package com.example.scratchgame.benchmark;
+
+import com.example.scratchgame.config.*;
+import com.example.scratchgame.engine.GameModel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Game models the benchmarks run against: {@code config.json} is the shipped config, {@code <rows>x<columns>}
+ * is a synthetic grid with twelve standard symbols, every row, column and (when square) both diagonals as
+ * linear rules, and a same_symbols rule for each count from 3 up to the 64-combination limit.
+ */
+final class BenchmarkGames {
+
+    static final String SHIPPED = "config.json";
+
+    private static final String[] BONUS_SYMBOLS = {"10x", "5x", "+1000", "+500", "MISS"};
+    private static final int STANDARD_SYMBOLS = 12;
+
+    private BenchmarkGames() {
+    }
+
+    static GameModel load(String game) {
+        if (SHIPPED.equals(game)) {
+            try {
+                return GameModel.load(Paths.get("src/main/resources/config.json"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        String[] size = game.split("x");
+        return GameModel.compile(synthetic(Integer.parseInt(size[0]), Integer.parseInt(size[1])));
+    }
+
+    static Config synthetic(int rows, int columns) {
+        Config config = new Config();
+        config.setRows(rows);
+        config.setColumns(columns);
+
+        Map<String, Symbol> symbols = new LinkedHashMap<>();
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (int i = 0; i < STANDARD_SYMBOLS; i++) {
+            String name = "S" + i;
+            symbols.put(name, symbol("standard", 1 + i * 0.5, null, null));
+            weights.put(name, 1 + i);
+        }
+        symbols.put("10x", symbol("bonus", 10, null, "multiply_reward"));
+        symbols.put("5x", symbol("bonus", 5, null, "multiply_reward"));
+        symbols.put("+1000", symbol("bonus", 0, 1000.0, "extra_bonus"));
+        symbols.put("+500", symbol("bonus", 0, 500.0, "extra_bonus"));
+        symbols.put("MISS", symbol("bonus", 0, null, "miss"));
+        config.setSymbols(symbols);
+
+        List<Probability> standardSymbols = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                Probability probability = new Probability();
+                probability.setRow(row);
+                probability.setColumn(column);
+                probability.setSymbols(weights);
+                standardSymbols.add(probability);
+            }
+        }
+        Map<String, Integer> bonusWeights = new LinkedHashMap<>();
+        for (int i = 0; i < BONUS_SYMBOLS.length; i++) {
+            bonusWeights.put(BONUS_SYMBOLS[i], i + 1);
+        }
+        BonusSymbols bonusSymbols = new BonusSymbols();
+        bonusSymbols.setSymbols(bonusWeights);
+        Probabilities probabilities = new Probabilities();
+        probabilities.setStandardSymbols(standardSymbols);
+        probabilities.setBonusSymbols(bonusSymbols);
+        config.setProbabilities(probabilities);
+
+        Map<String, WinCombination> winCombinations = new LinkedHashMap<>();
+        List<List<String>> horizontal = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            List<String> area = new ArrayList<>();
+            for (int column = 0; column < columns; column++) {
+                area.add(row + ":" + column);
+            }
+            horizontal.add(area);
+        }
+        winCombinations.put("same_symbols_horizontally", linear(2, "horizontally_linear_symbols", horizontal));
+        List<List<String>> vertical = new ArrayList<>();
+        for (int column = 0; column < columns; column++) {
+            List<String> area = new ArrayList<>();
+            for (int row = 0; row < rows; row++) {
+                area.add(row + ":" + column);
+            }
+            vertical.add(area);
+        }
+        winCombinations.put("same_symbols_vertically", linear(2, "vertically_linear_symbols", vertical));
+        if (rows == columns) {
+            List<String> leftToRight = new ArrayList<>();
+            List<String> rightToLeft = new ArrayList<>();
+            for (int i = 0; i < rows; i++) {
+                leftToRight.add(i + ":" + i);
+                rightToLeft.add(i + ":" + (columns - 1 - i));
+            }
+            winCombinations.put("same_symbols_diagonally_left_to_right",
+                    linear(5, "ltr_diagonally_linear_symbols", List.of(leftToRight)));
+            winCombinations.put("same_symbols_diagonally_right_to_left",
+                    linear(5, "rtl_diagonally_linear_symbols", List.of(rightToLeft)));
+        }
+        for (int count = 3; count <= rows * columns && winCombinations.size() < 64; count++) {
+            WinCombination same = new WinCombination();
+            same.setWhen("same_symbols");
+            same.setGroup("same_symbols");
+            same.setCount(count);
+            same.setRewardMultiplier(1 + (count - 3) * 0.5);
+            winCombinations.put("same_symbol_" + count + "_times", same);
+        }
+        config.setWinCombinations(winCombinations);
+        return config;
+    }
+
+    private static Symbol symbol(String type, double rewardMultiplier, Double extra, String impact) {
+        Symbol symbol = new Symbol();
+        symbol.setType(type);
+        symbol.setRewardMultiplier(rewardMultiplier);
+        symbol.setExtra(extra);
+        symbol.setImpact(impact);
+        return symbol;
+    }
+
+    private static WinCombination linear(double rewardMultiplier, String group, List<List<String>> areas) {
+        WinCombination combination = new WinCombination();
+        combination.setWhen("linear_symbols");
+        combination.setGroup(group);
+        combination.setRewardMultiplier(rewardMultiplier);
+        combination.setCoveredAreas(areas);
+        return combination;
+    }
+}
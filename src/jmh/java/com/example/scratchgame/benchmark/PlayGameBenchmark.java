@@ -0,0 +1,85 @@
+package com.example.scratchgame.benchmark;
+
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.game.GameRequest;
+import com.example.scratchgame.game.GameResponse;
+import com.example.scratchgame.journal.MappedSpinJournal;
+import com.example.scratchgame.journal.SpinJournal;
+import com.example.scratchgame.journal.SpinJournalReader;
+import com.example.scratchgame.random.RandomProvider;
+import com.example.scratchgame.service.GameServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GameServiceImpl#playGame} as a request thread sees it, shared by all benchmark threads the way the
+ * singleton service is. The thread-count variants show how it scales; {@code journal=true} adds the
+ * mapped spin journal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayGameBenchmark {
+
+    @Param({BenchmarkGames.SHIPPED, "8x8"})
+    public String game;
+
+    @Param({"false", "true"})
+    public boolean journal;
+
+    private GameModel model;
+    private GameServiceImpl service;
+    private MappedSpinJournal spinJournal;
+    private Path journalDirectory;
+    private final GameRequest request = new GameRequest();
+
+    @Setup
+    public void setUp() throws IOException {
+        model = BenchmarkGames.load(game);
+        request.setBetAmount(10);
+        SpinJournal sink = SpinJournal.DISABLED;
+        if (journal) {
+            journalDirectory = Files.createTempDirectory("spin-journal-bench");
+            spinJournal = new MappedSpinJournal(journalDirectory, 256 << 20, 10,
+                    RandomProvider.DEFAULT_ALGORITHM);
+            sink = spinJournal;
+        }
+        service = new GameServiceImpl(RandomProvider.create(RandomProvider.DEFAULT_ALGORITHM, null), sink);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (spinJournal != null) {
+            spinJournal.close();
+            for (Path segment : SpinJournalReader.segments(journalDirectory)) {
+                Files.delete(segment);
+            }
+            Files.delete(journalDirectory);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public GameResponse playGame() {
+        return service.playGame(request, model);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public GameResponse playGame4Threads() {
+        return service.playGame(request, model);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public GameResponse playGameMaxThreads() {
+        return service.playGame(request, model);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.scratchgame.benchmark;
+
+import com.example.scratchgame.engine.GameEngine;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+import com.example.scratchgame.random.RandomProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spin throughput with one shared {@link Random} (every draw CASes the same seed) against per-thread streams
+ * from a {@link RandomProvider}, at one, four and all available threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RandomProviderBenchmark {
+
+    @Param({RandomProvider.DEFAULT_ALGORITHM, RandomProvider.SPLITTABLE_RANDOM})
+    public String algorithm;
+
+    private final GameEngine engine = new GameEngine();
+    private final Random shared = new Random();
+    private GameModel model;
+    private RandomProvider provider;
+
+    @Setup
+    public void setUp() {
+        model = BenchmarkGames.load(BenchmarkGames.SHIPPED);
+        provider = RandomProvider.create(algorithm, null);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public SpinResult sharedRandom() {
+        return engine.spin(model, 10, shared);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public SpinResult sharedRandom4Threads() {
+        return engine.spin(model, 10, shared);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public SpinResult sharedRandomMaxThreads() {
+        return engine.spin(model, 10, shared);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public SpinResult perThreadStream() {
+        return engine.spin(model, 10, provider.current());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public SpinResult perThreadStream4Threads() {
+        return engine.spin(model, 10, provider.current());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public SpinResult perThreadStreamMaxThreads() {
+        return engine.spin(model, 10, provider.current());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.scratchgame.benchmark;
+
+import com.example.scratchgame.engine.GameEngine;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+import com.example.scratchgame.game.GameResponse;
+import com.example.scratchgame.game.GameResponseWriter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of {@link GameResponse} against the pre-encoded {@link GameResponseWriter}. Responses
+ * are rebuilt from pre-generated spins on every call because they cache their rendered matrix and
+ * combination names.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int POOL_SIZE = 1024;
+
+    @Param({BenchmarkGames.SHIPPED, "8x8"})
+    public String game;
+
+    private GameModel model;
+    private SpinResult[] spins;
+    private ObjectWriter writer;
+    private GameResponseWriter responseWriter;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        model = BenchmarkGames.load(game);
+        GameEngine engine = new GameEngine();
+        SplittableRandom random = new SplittableRandom(42);
+        spins = new SpinResult[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            spins[i] = engine.spin(model, 10, random);
+        }
+        writer = new ObjectMapper().writerFor(GameResponse.class);
+        responseWriter = new GameResponseWriter();
+    }
+
+    @Benchmark
+    public byte[] serializeGameResponse() throws JsonProcessingException {
+        next = (next + 1) & (POOL_SIZE - 1);
+        return writer.writeValueAsBytes(GameResponse.of(spins[next], model));
+    }
+
+    @Benchmark
+    public byte[] writePreEncoded() {
+        next = (next + 1) & (POOL_SIZE - 1);
+        return responseWriter.toBytes(spins[next], model);
+    }
+}
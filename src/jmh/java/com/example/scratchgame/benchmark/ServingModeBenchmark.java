@@ -0,0 +1,140 @@
+package com.example.scratchgame.benchmark;
+
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.game.GameResponseWriter;
+import com.example.scratchgame.journal.MappedSpinJournal;
+import com.example.scratchgame.journal.SpinJournal;
+import com.example.scratchgame.journal.SpinJournalReader;
+import com.example.scratchgame.metrics.PlayMetrics;
+import com.example.scratchgame.monitor.RtpMonitor;
+import com.example.scratchgame.random.RandomProvider;
+import com.example.scratchgame.service.GameServiceImpl;
+import com.example.scratchgame.wallet.LedgerLog;
+import com.example.scratchgame.wallet.StripedWallet;
+import com.example.scratchgame.wallet.Wallet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Request handling under the two serving modes: {@code platform} runs requests on a fixed pool the size of
+ * Tomcat's default (200 threads), {@code virtual} on a virtual thread each, as
+ * {@code spring.threads.virtual.enabled=true} does. Every invocation releases {@link #REQUESTS} requests at
+ * once, each for a player of its own, and waits for all to answer, so the score is requests per second at that
+ * concurrency. Each request draws its seed from {@link RandomProvider#current} and renders its response with a
+ * {@link GameResponseWriter}, as /play does, so the virtual mode covers the per-call splits and pooled scratch
+ * buffers virtual threads use in place of thread-locals. With {@code wallet=true} each request settles
+ * through the synced wallet ledger and so blocks on a group commit, the case a bounded pool cannot overlap
+ * beyond its size. With {@code journal=true} each spin is also appended to a {@link MappedSpinJournal}, as it
+ * is by default.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServingModeBenchmark {
+
+    private static final int REQUESTS = 10_000;
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"false", "true"})
+    public boolean wallet;
+
+    @Param({"false", "true"})
+    public boolean journal;
+
+    private GameModel model;
+    private GameServiceImpl service;
+    private StripedWallet stripedWallet;
+    private Path ledgerDirectory;
+    private MappedSpinJournal spinJournal;
+    private Path journalDirectory;
+    private ExecutorService executor;
+    private String[] players;
+    private final GameResponseWriter writer = new GameResponseWriter();
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        model = BenchmarkGames.load(BenchmarkGames.SHIPPED);
+        executor = "virtual".equals(mode)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+        Wallet sink = Wallet.DISABLED;
+        players = new String[REQUESTS];
+        if (wallet) {
+            ledgerDirectory = Files.createTempDirectory("wallet-ledger-bench");
+            stripedWallet = new StripedWallet(ledgerDirectory, 64, 256 << 20, 2, true);
+            for (int i = 0; i < REQUESTS; i++) {
+                players[i] = "player-" + i;
+            }
+            // Funds for far more spins than the run can play.
+            runAll(i -> stripedWallet.deposit(players[i], 1L << 40));
+            sink = stripedWallet;
+        }
+        SpinJournal journalSink = SpinJournal.DISABLED;
+        if (journal) {
+            journalDirectory = Files.createTempDirectory("spin-journal-bench");
+            spinJournal = new MappedSpinJournal(journalDirectory, 256 << 20, 10,
+                    RandomProvider.DEFAULT_ALGORITHM);
+            journalSink = spinJournal;
+        }
+        service = new GameServiceImpl(RandomProvider.create(RandomProvider.DEFAULT_ALGORITHM, null),
+                journalSink, PlayMetrics.DISABLED, RtpMonitor.DISABLED, sink);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        if (stripedWallet != null) {
+            stripedWallet.close();
+            for (Path segment : LedgerLog.segments(ledgerDirectory)) {
+                Files.delete(segment);
+            }
+            Files.delete(ledgerDirectory);
+        }
+        if (spinJournal != null) {
+            spinJournal.close();
+            for (Path segment : SpinJournalReader.segments(journalDirectory)) {
+                Files.delete(segment);
+            }
+            Files.delete(journalDirectory);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void play(Blackhole blackhole) throws InterruptedException {
+        runAll(i -> blackhole.consume(writer.toBytes(service.spin(players[i], 10, model), model)));
+    }
+
+    /**
+     * Submits {@code request} for every index at once and waits until all have run.
+     */
+    private void runAll(IntConsumer request) throws InterruptedException {
+        CountDownLatch answered = new CountDownLatch(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            int index = i;
+            executor.execute(() -> {
+                try {
+                    request.accept(index);
+                } finally {
+                    answered.countDown();
+                }
+            });
+        }
+        answered.await();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.scratchgame.benchmark;
+
+import com.example.scratchgame.engine.GameEngine;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The spin pipeline one stage at a time. Evaluation and reward stages cycle through pre-generated grids
+ * so they measure only their own work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpinPipelineBenchmark {
+
+    private static final int POOL_SIZE = 1024;
+
+    @Param({BenchmarkGames.SHIPPED, "5x5", "8x8"})
+    public String game;
+
+    private final GameEngine engine = new GameEngine();
+    private GameModel model;
+    private SplittableRandom random;
+    private int[][] grids;
+    private long[][] combinations;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        model = BenchmarkGames.load(game);
+        random = new SplittableRandom(42);
+        grids = new int[POOL_SIZE][];
+        combinations = new long[POOL_SIZE][];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            grids[i] = engine.generateGrid(model, random);
+            combinations[i] = engine.evaluate(model, grids[i]);
+        }
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (POOL_SIZE - 1);
+        return next;
+    }
+
+    @Benchmark
+    public int[] generateMatrix() {
+        return engine.generateGrid(model, random);
+    }
+
+    @Benchmark
+    public long[] evaluateWinCombinations() {
+        return engine.evaluate(model, grids[nextIndex()]);
+    }
+
+    @Benchmark
+    public long calculateReward() {
+        return engine.calculateReward(10, model, combinations[nextIndex()]);
+    }
+
+    @Benchmark
+    public SpinResult spin() {
+        return engine.spin(model, 10, random);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.scratchgame.controller;
+
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.monitor.RtpMonitor;
+import com.example.scratchgame.pool.TicketPool;
+import com.example.scratchgame.monitor.RtpWindowSnapshot;
+import com.example.scratchgame.service.GameModelHolder;
+import com.example.scratchgame.service.GameRegistry;
+import com.example.scratchgame.session.TicketSessionStore;
+import com.example.scratchgame.wallet.Wallet;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    private final GameModelHolder modelHolder;
+    private final RtpMonitor rtpMonitor;
+    private final GameRegistry gameRegistry;
+    private final ObjectProvider<TicketPool> ticketPool;
+    private final Wallet wallet;
+    private final ObjectProvider<TicketSessionStore> sessions;
+
+    @Autowired
+    public AdminController(GameModelHolder modelHolder, RtpMonitor rtpMonitor, GameRegistry gameRegistry,
+                           ObjectProvider<TicketPool> ticketPool, Wallet wallet,
+                           ObjectProvider<TicketSessionStore> sessions) {
+        this.modelHolder = modelHolder;
+        this.rtpMonitor = rtpMonitor;
+        this.gameRegistry = gameRegistry;
+        this.ticketPool = ticketPool;
+        this.wallet = wallet;
+        this.sessions = sessions;
+    }
+
+    @PostMapping("/config/reload")
+    public Map<String, String> reloadConfig() throws IOException {
+        GameModel model = modelHolder.reload();
+        return Map.of("version", Long.toHexString(model.getVersion()));
+    }
+
+    @GetMapping("/games")
+    public Map<String, List<String>> games() {
+        return gameRegistry.loadedVersions();
+    }
+
+    /**
+     * Makes the next spin of {@code gameId} read its file again; versions already loaded stay pinnable.
+     */
+    @PostMapping("/games/{gameId}/reload")
+    public ResponseEntity<Void> reloadGame(@PathVariable String gameId) {
+        gameRegistry.invalidate(gameId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Exact prize accounting of the ticket pool; scans every claimed ticket.
+     */
+    @GetMapping("/pool")
+    public ResponseEntity<Map<String, Object>> pool() {
+        TicketPool pool = ticketPool.getIfAvailable();
+        if (pool == null) {
+            return ResponseEntity.notFound().build();
+        }
+        double scale = pool.getModel().getPaytable().getScale();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("version", Long.toHexString(pool.getModel().getVersion()));
+        stats.put("betAmount", pool.getBetAmount());
+        stats.put("tickets", pool.getTicketCount());
+        stats.put("winningTickets", pool.getWinningTicketCount());
+        stats.put("totalReward", pool.getTotalRewardMinorUnits() / scale);
+        stats.put("claimed", pool.getClaimedCount());
+        stats.put("claimedReward", pool.getClaimedRewardMinorUnits() / scale);
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/sessions")
+    public ResponseEntity<Map<String, Object>> sessions() {
+        TicketSessionStore store = sessions.getIfAvailable();
+        if (store == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("capacity", store.getCapacity());
+        stats.put("slotBytes", store.getSlotBytes());
+        stats.put("opened", store.getOpenedCount());
+        stats.put("evicted", store.getEvictedCount());
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * Balances are in minor units.
+     */
+    @GetMapping("/wallets/{playerId}")
+    public ResponseEntity<Map<String, Object>> balance(@PathVariable String playerId) {
+        if (!wallet.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(Map.of("playerId", playerId, "balance", wallet.balance(playerId)));
+    }
+
+    @PostMapping("/wallets/{playerId}/deposit")
+    public ResponseEntity<Map<String, Object>> deposit(@PathVariable String playerId, @RequestParam long amount) {
+        if (!wallet.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(Map.of("playerId", playerId, "balance", wallet.deposit(playerId, amount)));
+    }
+
+    @GetMapping("/rtp")
+    public List<RtpWindowSnapshot> rtp() {
+        return rtpMonitor.snapshot();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidConfig(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -1,30 +1,436 @@
 package com.example.scratchgame.controller;
 
-import com.example.scratchgame.config.Config;
-import com.example.scratchgame.config.ConfigLoader;
+import com.example.scratchgame.concurrent.ScratchPool;
+import com.example.scratchgame.engine.GameEngine;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+import com.example.scratchgame.game.BatchRequest;
+import com.example.scratchgame.game.BatchSummary;
 import com.example.scratchgame.game.GameRequest;
 import com.example.scratchgame.game.GameResponse;
+import com.example.scratchgame.game.GameResponseWriter;
+import com.example.scratchgame.metrics.PlayMetrics;
+import com.example.scratchgame.pool.TicketPool;
+import com.example.scratchgame.protocol.BinaryProtocol;
+import com.example.scratchgame.protocol.SpinDictionary;
+import com.example.scratchgame.service.GameModelHolder;
+import com.example.scratchgame.service.GameRegistry;
 import com.example.scratchgame.service.GameService;
+import com.example.scratchgame.service.UnknownGameException;
+import com.example.scratchgame.session.RevealResponse;
+import com.example.scratchgame.session.TicketResponse;
+import com.example.scratchgame.session.TicketSessionStore;
+import com.example.scratchgame.wallet.InsufficientFundsException;
+import com.example.scratchgame.wallet.Wallet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.random.RandomGenerator;
 
 @RestController
 public class GameController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType BINARY = MediaType.parseMediaType(BinaryProtocol.CONTENT_TYPE);
+    private static final int FLUSH_INTERVAL = 256;
+
     private final GameService gameService;
+    private final GameModelHolder modelHolder;
+    private final GameRegistry gameRegistry;
+    /** Null unless the server runs in pool mode. */
+    private final TicketPool ticketPool;
+    /** Null unless the server runs in session mode. */
+    private final TicketSessionStore sessions;
+    private final GameEngine engine = new GameEngine();
+    private final ObjectMapper objectMapper;
+    private final GameResponseWriter responseWriter = new GameResponseWriter();
+    private final ScratchPool<ByteBuffer> binaryBuffers = new ScratchPool<>(() -> ByteBuffer.allocate(256));
+    private final int maxBatchSpins;
+    private final PlayMetrics metrics;
+    private final Wallet wallet;
+    /** Spring MVC's executor for asynchronous requests; plays variants whose config had to be loaded first. */
+    private final Executor requestExecutor;
 
     @Autowired
-    public GameController(GameService gameService) {
+    public GameController(GameService gameService, GameModelHolder modelHolder, GameRegistry gameRegistry,
+                          ObjectMapper objectMapper, @Value("${scratchgame.batch.max-spins:1000000}") int maxBatchSpins,
+                          PlayMetrics metrics, Wallet wallet, ObjectProvider<TicketPool> ticketPool,
+                          ObjectProvider<TicketSessionStore> sessions,
+                          @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                          Executor requestExecutor) {
         this.gameService = gameService;
+        this.modelHolder = modelHolder;
+        this.gameRegistry = gameRegistry;
+        this.ticketPool = ticketPool.getIfAvailable();
+        this.sessions = sessions.getIfAvailable();
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.wallet = wallet;
+        this.maxBatchSpins = maxBatchSpins;
+        this.requestExecutor = requestExecutor;
     }
 
+    /**
+     * Writes the spin straight into the servlet output buffer with {@link GameResponseWriter} rather than
+     * handing a {@link GameResponse} to the message converter; the bytes are the same. In pool mode the
+     * spin is the next ticket of the {@link TicketPool}. A request with a {@code playerId} is paid from
+     * that player's wallet. In session mode the spin is played and paid all the same, but only its
+     * {@link TicketResponse} is returned and the grid is uncovered through {@link #reveal}.
+     */
     @PostMapping("/play")
-    public GameResponse play(@RequestBody GameRequest request) throws IOException {
-        Config config = ConfigLoader.loadConfig("src/main/resources/config.json");
-        return gameService.playGame(request, config);
+    public void play(@RequestBody GameRequest request, HttpServletResponse response) throws IOException {
+        boolean timed = metrics.isEnabled();
+        long start = timed ? System.nanoTime() : 0;
+        GameModel model = servingModel();
+        if (timed) {
+            metrics.recordModelLookup(System.nanoTime() - start);
+        }
+        checkSessionModel(model);
+
+        SpinResult result = play(request.getPlayerId(), request.getBetAmount(), model);
+
+        long serializeStart = timed ? System.nanoTime() : 0;
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (sessions != null) {
+            objectMapper.writeValue(response.getOutputStream(), openTicket(model, request.getBetAmount(), result));
+        } else {
+            responseWriter.write(result, model, response.getOutputStream());
+        }
+        if (timed) {
+            metrics.recordSerialization(System.nanoTime() - serializeStart);
+        }
+    }
+
+    /**
+     * Plays one spin of the current version of the variant {@code gameId} from the {@link GameRegistry}. A
+     * cached game is played on the request thread; otherwise the request completes asynchronously on the
+     * request executor once the config has loaded, never on the registry's loader threads. The model lookup
+     * time includes the load.
+     */
+    @PostMapping("/play/{gameId}")
+    public CompletableFuture<ResponseEntity<byte[]>> playVariant(@PathVariable String gameId,
+                                                                 @RequestBody GameRequest request) {
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+        return playVariant(gameRegistry.get(gameId), request, start);
+    }
+
+    /**
+     * Plays one spin of the variant {@code gameId} pinned at {@code version}, the hex config version listed
+     * by /admin/games, for as long as the registry still has it cached.
+     */
+    @PostMapping("/play/{gameId}/{version}")
+    public CompletableFuture<ResponseEntity<byte[]>> playVariantVersion(@PathVariable String gameId,
+                                                                        @PathVariable String version,
+                                                                        @RequestBody GameRequest request) {
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+        return playVariant(gameRegistry.get(gameId, Long.parseUnsignedLong(version, 16)), request, start);
+    }
+
+    private CompletableFuture<ResponseEntity<byte[]>> playVariant(CompletableFuture<GameModel> model,
+                                                                  GameRequest request, long start) {
+        if (model.isDone()) {
+            return model.thenApply(cached -> spinVariant(cached, request, start));
+        }
+        return model.thenApplyAsync(loaded -> spinVariant(loaded, request, start), requestExecutor);
+    }
+
+    private ResponseEntity<byte[]> spinVariant(GameModel model, GameRequest request, long start) {
+        boolean timed = metrics.isEnabled();
+        if (timed) {
+            metrics.recordModelLookup(System.nanoTime() - start);
+        }
+        checkSessionModel(model);
+        SpinResult result = gameService.spin(request.getPlayerId(), request.getBetAmount(), model);
+
+        long serializeStart = timed ? System.nanoTime() : 0;
+        byte[] body;
+        try {
+            body = sessions != null
+                    ? objectMapper.writeValueAsBytes(openTicket(model, request.getBetAmount(), result))
+                    : responseWriter.toBytes(result, model);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (timed) {
+            metrics.recordSerialization(System.nanoTime() - serializeStart);
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Uncovers one cell of a ticket opened in session mode. The answer carries the symbol under the cell, and
+     * once every cell is uncovered the outcome of the ticket, recomputed from its grid.
+     */
+    @PostMapping("/reveal/{ticketId}/{row}/{column}")
+    public RevealResponse reveal(@PathVariable String ticketId, @PathVariable int row, @PathVariable int column) {
+        if (sessions == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "sessions are not enabled");
+        }
+        TicketSessionStore.Reveal reveal = sessions.reveal(ticketId, row, column);
+        if (reveal == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "no open ticket " + ticketId);
+        }
+        GameModel model = reveal.getModel();
+        GameResponse result = reveal.isFinished()
+                ? GameResponse.of(engine.resolve(model, reveal.getBetAmount(), reveal.getGrid()), model)
+                : null;
+        return new RevealResponse(model.getSymbolName(reveal.getSymbol()), reveal.getRevealedCells(),
+                model.getCellCount() - reveal.getRevealedCells(), result);
+    }
+
+    @ExceptionHandler(UnknownGameException.class)
+    public ResponseEntity<String> handleUnknownGame(UnknownGameException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    @ExceptionHandler(InsufficientFundsException.class)
+    public ResponseEntity<String> handleInsufficientFunds(InsufficientFundsException e) {
+        return ResponseEntity.status(HttpStatus.PAYMENT_REQUIRED).body(e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    /**
+     * Runs {@code count} spins against one config snapshot and one random stream split off for the
+     * request. Results are streamed as newline-delimited JSON while they are produced, or folded into a
+     * single {@link BatchSummary} when {@code summaryOnly} is set. Not available in pool mode, where every
+     * ticket is claimed from the {@link TicketPool} through {@link #play}, nor while spins are paid from
+     * wallets.
+     */
+    @PostMapping("/play/batch")
+    public ResponseEntity<StreamingResponseBody> playBatch(@RequestBody BatchRequest request) {
+        checkNoPool();
+        checkNoSessions();
+        checkNoWallet();
+        checkBatchCount(request.getCount());
+        GameModel model = modelHolder.current();
+        int betAmount = request.getBetAmount();
+        RandomGenerator random = gameService.newRandomStream();
+
+        if (request.isSummaryOnly()) {
+            StreamingResponseBody summaryBody = outputStream -> {
+                BatchSummary summary = new BatchSummary(model.getPaytable().getScale());
+                for (int i = 0; i < request.getCount(); i++) {
+                    SpinResult result = gameService.spin(betAmount, model, random);
+                    summary.add(betAmount, result.getRewardMinorUnits(), result.hasWinningCombination());
+                }
+                objectMapper.writeValue(outputStream, summary);
+            };
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(summaryBody);
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            for (int i = 0; i < request.getCount(); i++) {
+                responseWriter.write(gameService.spin(betAmount, model, random), model, out);
+                out.write('\n');
+                if ((i + 1) % FLUSH_INTERVAL == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    /**
+     * {@link BinaryProtocol} variant of {@link #play}.
+     */
+    @PostMapping(value = "/play", consumes = BinaryProtocol.CONTENT_TYPE)
+    public void playBinary(@RequestBody byte[] body, HttpServletResponse response) throws IOException {
+        checkNoSessions();
+        int betAmount = decodeRequest(body, false)[0];
+        boolean timed = metrics.isEnabled();
+        long start = timed ? System.nanoTime() : 0;
+        GameModel model = binaryModel(servingModel());
+        if (timed) {
+            metrics.recordModelLookup(System.nanoTime() - start);
+        }
+
+        SpinResult result = play(null, betAmount, model);
+
+        long serializeStart = timed ? System.nanoTime() : 0;
+        ByteBuffer buffer = binaryBuffer(BinaryProtocol.HEADER_BYTES + BinaryProtocol.maxRecordBytes(model));
+        try {
+            BinaryProtocol.encodeHeader(buffer, model);
+            BinaryProtocol.encodeRecord(buffer, result);
+            response.setContentType(BinaryProtocol.CONTENT_TYPE);
+            response.setContentLength(buffer.position());
+            response.getOutputStream().write(buffer.array(), 0, buffer.position());
+        } finally {
+            binaryBuffers.release(buffer);
+        }
+        if (timed) {
+            metrics.recordSerialization(System.nanoTime() - serializeStart);
+        }
+    }
+
+    /**
+     * {@link BinaryProtocol} variant of {@link #playBatch}: one header, then a record per spin as it is
+     * produced.
+     */
+    @PostMapping(value = "/play/batch", consumes = BinaryProtocol.CONTENT_TYPE)
+    public ResponseEntity<StreamingResponseBody> playBatchBinary(@RequestBody byte[] request) {
+        checkNoPool();
+        checkNoSessions();
+        checkNoWallet();
+        int[] decoded = decodeRequest(request, true);
+        int betAmount = decoded[0];
+        int count = decoded[1];
+        checkBatchCount(count);
+        GameModel model = binaryModel(modelHolder.current());
+        RandomGenerator random = gameService.newRandomStream();
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            ByteBuffer buffer = ByteBuffer.allocate(
+                    Math.max(BinaryProtocol.HEADER_BYTES, BinaryProtocol.maxRecordBytes(model)));
+            BinaryProtocol.encodeHeader(buffer, model);
+            out.write(buffer.array(), 0, buffer.position());
+            for (int i = 0; i < count; i++) {
+                buffer.clear();
+                BinaryProtocol.encodeRecord(buffer, gameService.spin(betAmount, model, random));
+                out.write(buffer.array(), 0, buffer.position());
+                if ((i + 1) % FLUSH_INTERVAL == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(BINARY).body(body);
+    }
+
+    /**
+     * Names behind the ids of binary responses for the current config; cacheable per version.
+     */
+    @GetMapping("/play/dictionary")
+    public ResponseEntity<SpinDictionary> dictionary() {
+        SpinDictionary dictionary = SpinDictionary.of(servingModel());
+        return ResponseEntity.ok().eTag(dictionary.getVersion()).body(dictionary);
+    }
+
+    private void checkBatchCount(int count) {
+        if (count <= 0 || count > maxBatchSpins) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "count must be between 1 and " + maxBatchSpins);
+        }
+    }
+
+    /**
+     * A pool has a fixed set of tickets, so batches may not draw fresh spins beside it.
+     */
+    private void checkNoPool() {
+        if (ticketPool != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "pool tickets are played one at a time");
+        }
+    }
+
+    /**
+     * Batch spins are not paid by any player, so they would be free spins while /play is paid from wallets.
+     */
+    private void checkNoWallet() {
+        if (wallet.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "batches are not paid from wallets");
+        }
+    }
+
+    /**
+     * Outcomes are only given out through /reveal in session mode, so nothing else may show a grid.
+     */
+    private void checkNoSessions() {
+        if (sessions != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "tickets are played through /reveal");
+        }
+    }
+
+    /**
+     * Rejects a config whose tickets cannot be stored before the spin is paid for.
+     */
+    private void checkSessionModel(GameModel model) {
+        if (sessions != null && !sessions.supports(model)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "the config's grid is too large to be played as a session");
+        }
+    }
+
+    private TicketResponse openTicket(GameModel model, int betAmount, SpinResult result) {
+        return new TicketResponse(sessions.open(model, betAmount, result.getGrid()), model.getRows(),
+                model.getColumns());
+    }
+
+    private static int[] decodeRequest(byte[] body, boolean batch) {
+        try {
+            return BinaryProtocol.decodeRequest(body, batch);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private GameModel servingModel() {
+        return ticketPool != null ? ticketPool.getModel() : modelHolder.current();
+    }
+
+    private SpinResult play(String playerId, int betAmount, GameModel model) {
+        if (ticketPool == null) {
+            return gameService.spin(playerId, betAmount, model);
+        }
+        if (playerId != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "pool tickets are not paid from wallets");
+        }
+        if (betAmount != ticketPool.getBetAmount()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "tickets in this pool cost " + ticketPool.getBetAmount());
+        }
+        SpinResult ticket = gameService.claim(ticketPool);
+        if (ticket == null) {
+            throw new ResponseStatusException(HttpStatus.GONE, "the ticket pool is sold out");
+        }
+        return ticket;
+    }
+
+    private static GameModel binaryModel(GameModel model) {
+        if (!BinaryProtocol.supports(model)) {
+            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
+                    "the current config has too many symbols for " + BinaryProtocol.CONTENT_TYPE);
+        }
+        return model;
+    }
+
+    /**
+     * Acquires a cleared buffer of at least {@code size} bytes; give it back to {@link #binaryBuffers}.
+     */
+    private ByteBuffer binaryBuffer(int size) {
+        ByteBuffer buffer = binaryBuffers.acquire();
+        if (buffer.capacity() < size) {
+            buffer = ByteBuffer.allocate(Integer.highestOneBit(size) << 1);
+        }
+        buffer.clear();
+        return buffer;
     }
-}
\ No newline at end of file
+}
@@ -1,13 +0,0 @@
-package com.example.scratchgame.game;
-
-public class GameRequest {
-    private int betAmount;
-
-    public int getBetAmount() {
-        return betAmount;
-    }
-
-    public void setBetAmount(int betAmount) {
-        this.betAmount = betAmount;
-    }
-}
@@ -1,43 +0,0 @@
-package com.example.scratchgame.game;
-
-import java.util.List;
-import java.util.Map;
-
-public class GameResponse {
-    private List<List<String>> matrix;
-    private double reward;
-    private Map<String, List<String>> appliedWinningCombinations;
-    private String appliedBonusSymbol;
-
-    public List<List<String>> getMatrix() {
-        return matrix;
-    }
-
-    public void setMatrix(List<List<String>> matrix) {
-        this.matrix = matrix;
-    }
-
-    public double getReward() {
-        return reward;
-    }
-
-    public void setReward(double reward) {
-        this.reward = reward;
-    }
-
-    public Map<String, List<String>> getAppliedWinningCombinations() {
-        return appliedWinningCombinations;
-    }
-
-    public void setAppliedWinningCombinations(Map<String, List<String>> appliedWinningCombinations) {
-        this.appliedWinningCombinations = appliedWinningCombinations;
-    }
-
-    public String getAppliedBonusSymbol() {
-        return appliedBonusSymbol;
-    }
-
-    public void setAppliedBonusSymbol(String appliedBonusSymbol) {
-        this.appliedBonusSymbol = appliedBonusSymbol;
-    }
-}
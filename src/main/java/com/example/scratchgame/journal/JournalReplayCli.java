@@ -0,0 +1,143 @@
+package com.example.scratchgame.journal;
+
+import com.example.scratchgame.engine.GameEngine;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+import com.example.scratchgame.game.GameResponse;
+import com.example.scratchgame.pool.TicketPool;
+import com.example.scratchgame.random.RandomProvider;
+import com.example.scratchgame.util.JsonUtil;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Replays journaled spins from their seeds, on the random algorithm recorded in each segment, and checks
+ * them against what was recorded:
+ * {@code --journal <dir> --config <path> [--config <path> ...] [--pool <file>] [--sequence <n>]}. Every
+ * config version that appears in the journal needs its file passed with {@code --config}; without any, the
+ * bundled config is used. Pool tickets are checked against the ticket at their index in the {@code --pool}
+ * file, and counted as unverified without one. With {@code --sequence} only that spin is replayed and
+ * printed. Exits with status 1 if any spin does not match.
+ */
+public class JournalReplayCli {
+
+    public static void main(String[] args) throws IOException {
+        String journalPath = "journal";
+        Map<Long, GameModel> models = new HashMap<>();
+        Long sequence = null;
+        String poolPath = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--journal":
+                    journalPath = args[++i];
+                    break;
+                case "--config":
+                    GameModel model = GameModel.load(Paths.get(args[++i]));
+                    models.put(model.getVersion(), model);
+                    break;
+                case "--pool":
+                    poolPath = args[++i];
+                    break;
+                case "--sequence":
+                    sequence = Long.parseLong(args[++i]);
+                    break;
+                default:
+                    System.err.println("Unknown argument " + args[i]);
+                    System.err.println("Usage: --journal <dir> --config <path> [--config <path> ...] [--pool <file>]"
+                            + " [--sequence <n>]");
+                    System.exit(2);
+            }
+        }
+        if (models.isEmpty()) {
+            GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+            models.put(model.getVersion(), model);
+        }
+
+        GameEngine engine = new GameEngine();
+        Map<String, LongFunction<RandomGenerator>> spinGenerators = new HashMap<>();
+        long verified = 0;
+        long mismatched = 0;
+        long unknownVersion = 0;
+        long unverifiedTickets = 0;
+        TicketPool pool = null;
+        try (SpinJournalReader reader = new SpinJournalReader(Paths.get(journalPath))) {
+            for (SpinRecord record : reader) {
+                if (sequence != null && record.getSequence() != sequence) {
+                    continue;
+                }
+                GameModel model = models.get(record.getConfigVersion());
+                if (model == null) {
+                    unknownVersion++;
+                    continue;
+                }
+                SpinResult replayed;
+                if (record.isPoolTicket()) {
+                    if (poolPath == null) {
+                        unverifiedTickets++;
+                        continue;
+                    }
+                    if (pool == null) {
+                        pool = TicketPool.open(Paths.get(poolPath), model);
+                    }
+                    replayed = pool.getTicket(record.getSeed());
+                } else {
+                    replayed = engine.spin(model, record.getBetAmount(), spinGenerators
+                            .computeIfAbsent(record.getAlgorithm(), RandomProvider::spinGenerators)
+                            .apply(record.getSeed()));
+                }
+                if (matches(record, replayed)) {
+                    verified++;
+                } else {
+                    mismatched++;
+                    System.out.printf("MISMATCH sequence %d (config %s, %s)%n", record.getSequence(),
+                            Long.toHexString(record.getConfigVersion()), source(record));
+                }
+                if (sequence != null) {
+                    System.out.printf("sequence %d at %d, config %s, bet %d, %s%n", record.getSequence(),
+                            record.getTimestamp(), Long.toHexString(record.getConfigVersion()),
+                            record.getBetAmount(), source(record));
+                    System.out.println(JsonUtil.convertObjectToJson(GameResponse.of(replayed, model)));
+                }
+            }
+        } finally {
+            if (pool != null) {
+                pool.close();
+            }
+        }
+
+        System.out.printf("verified %d, mismatched %d, unknown config version %d, unverified pool tickets %d%n",
+                verified, mismatched, unknownVersion, unverifiedTickets);
+        if (mismatched > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static String source(SpinRecord record) {
+        return record.isPoolTicket() ? "pool ticket " + record.getSeed()
+                : record.getAlgorithm() + " seed " + record.getSeed();
+    }
+
+    public static boolean matches(SpinRecord record, SpinResult replayed) {
+        if (!Arrays.equals(record.getGrid(), replayed.getGrid())
+                || record.getRewardMinorUnits(replayed.getScale()) != replayed.getRewardMinorUnits()
+                || record.getAppliedBonusSymbol() != replayed.getAppliedBonusSymbol()) {
+            return false;
+        }
+        long[] recorded = record.getAppliedCombinations();
+        long[] applied = replayed.getAppliedCombinations();
+        for (int symbol = 0; symbol < Math.max(recorded.length, applied.length); symbol++) {
+            long expected = symbol < recorded.length ? recorded[symbol] : 0;
+            long actual = symbol < applied.length ? applied[symbol] : 0;
+            if (expected != actual) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
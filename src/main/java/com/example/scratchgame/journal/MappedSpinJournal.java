@@ -0,0 +1,351 @@
+package com.example.scratchgame.journal;
+
+import com.example.scratchgame.concurrent.ScratchPool;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+import com.example.scratchgame.random.RandomProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only spin journal over memory-mapped segment files. An append encodes the record into a
+ * pooled scratch buffer and copies it into the mapped segment under a short lock, so the request path
+ * only pays for memory writes. Sequences are taken before the lock, so concurrent appends can land in
+ * the file slightly out of sequence order. A background thread forces everything appended since its
+ * last pass to disk every {@code flushInterval} (group commit): a process crash loses nothing that was
+ * appended, a power failure loses at most one interval.
+ *
+ * <p>Segments are named {@code spins-<index>.journal}, preallocated to {@code segmentSize} and rotated
+ * when the next record does not fit. The flusher maps the next segment ahead of time, so a rotation only
+ * swaps it in under the append lock. Restarting always opens a fresh segment and continues after the
+ * highest sequence in the newest segment that holds any records. Each segment starts with
+ * {@code int magic, short length} and the name of the random algorithm its spins were generated with, so
+ * a journal replays correctly across a change of {@code scratchgame.random.algorithm}. Segments under
+ * {@link #DOUBLE_REWARD_SEGMENT_MAGIC}, and those written before the header existed, hold records in the
+ * legacy layout: a double reward instead of minor units and no source byte. They are still read.
+ */
+public final class MappedSpinJournal implements SpinJournal, Closeable {
+
+    static final String SEGMENT_PREFIX = "spins-";
+    static final String SEGMENT_SUFFIX = ".journal";
+    static final int SEGMENT_MAGIC = 0x534A5232;
+    static final int DOUBLE_REWARD_SEGMENT_MAGIC = 0x534A524E;
+
+    private static final Logger log = LoggerFactory.getLogger(MappedSpinJournal.class);
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long flushIntervalNanos;
+    private final byte[] algorithm;
+    private final AtomicLong sequence;
+    private final ScratchPool<ByteBuffer> encodeBuffers = new ScratchPool<>(() -> ByteBuffer.allocate(1024));
+
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Segments rotated out but not yet forced by the flusher; guarded by {@link #lock}. */
+    private final ArrayDeque<Segment> retired = new ArrayDeque<>();
+    private Segment segment;
+
+    private final ReentrantLock spareLock = new ReentrantLock();
+    /** The next segment to rotate to, mapped ahead by the flusher; guarded by {@link #spareLock}. */
+    private Segment spare;
+    /** Guarded by {@link #spareLock}, so segments are always rotated to in index order. */
+    private long nextSegmentIndex;
+
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    /**
+     * @param algorithm the random algorithm the journaled spins are generated with
+     */
+    public MappedSpinJournal(Path directory, int segmentSize, long flushIntervalMillis, String algorithm)
+            throws IOException {
+        if (segmentSize < 4096) {
+            throw new IllegalArgumentException("segment size must be at least 4096 bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.algorithm = algorithm.getBytes(StandardCharsets.US_ASCII);
+        if (this.algorithm.length > 256) {
+            throw new IllegalArgumentException("random algorithm name is too long: " + algorithm);
+        }
+        Files.createDirectories(directory);
+
+        List<Path> existing = SpinJournalReader.segments(directory);
+        long lastSequence = 0;
+        if (!existing.isEmpty()) {
+            nextSegmentIndex = segmentIndex(existing.get(existing.size() - 1)) + 1;
+        }
+        // Restarts without spins, and a spare that was mapped but never rotated to, leave empty segments.
+        for (int i = existing.size() - 1; i >= 0 && lastSequence == 0; i--) {
+            try (SpinJournalReader reader = new SpinJournalReader(List.of(existing.get(i)))) {
+                for (SpinRecord record : reader) {
+                    lastSequence = Math.max(lastSequence, record.getSequence());
+                }
+            }
+        }
+        this.sequence = new AtomicLong(lastSequence);
+        this.segment = nextSegment();
+
+        this.flusher = new Thread(this::flushLoop, "spin-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Spin journal at {} continuing after sequence {}", directory, lastSequence);
+    }
+
+    @Override
+    public void append(long seed, GameModel model, int betAmount, SpinResult result) {
+        append(seed, false, model, betAmount, result);
+    }
+
+    @Override
+    public void appendTicket(long ticket, GameModel model, int betAmount, SpinResult result) {
+        append(ticket, true, model, betAmount, result);
+    }
+
+    private void append(long seed, boolean poolTicket, GameModel model, int betAmount, SpinResult result) {
+        int size = SpinRecord.encodedSize(result, model.getSymbolCount());
+        if (size > MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("spin record of " + size + " bytes exceeds " + MAX_RECORD_BYTES);
+        }
+        ByteBuffer buffer = encodeBuffers.acquire();
+        if (buffer.capacity() < size) {
+            buffer = ByteBuffer.allocate(Integer.highestOneBit(size) << 1);
+        }
+        try {
+            buffer.clear();
+            SpinRecord.encode(buffer, sequence.incrementAndGet(), System.currentTimeMillis(), model.getVersion(),
+                    seed, poolTicket, betAmount, result, model.getSymbolCount());
+            buffer.flip();
+
+            lock.lock();
+            try {
+                if (closed) {
+                    throw new IllegalStateException("spin journal is closed");
+                }
+                if (segment.position + size > segmentSize) {
+                    rotate();
+                }
+                segment.buffer.put(segment.position, buffer, 0, size);
+                segment.position += size;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            encodeBuffers.release(buffer);
+        }
+    }
+
+    public long getLastSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * Forces everything appended so far to disk.
+     */
+    public void flush() {
+        Segment current;
+        int position;
+        Segment[] pending;
+        lock.lock();
+        try {
+            current = segment;
+            position = current.position;
+            pending = retired.toArray(new Segment[0]);
+            retired.clear();
+        } finally {
+            lock.unlock();
+        }
+        for (Segment old : pending) {
+            old.force(old.position);
+            old.close();
+        }
+        current.force(position);
+    }
+
+    private void flushLoop() {
+        while (!closed) {
+            LockSupport.parkNanos(flushIntervalNanos);
+            try {
+                flush();
+                prepareSpare();
+            } catch (UncheckedIOException | IllegalStateException e) {
+                if (!closed) {
+                    log.error("Spin journal flush failed", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Maps the segment the next rotation will use, unless one is already waiting.
+     */
+    private void prepareSpare() {
+        spareLock.lock();
+        try {
+            if (spare == null && !closed) {
+                spare = openSegment();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not preallocate spin journal segment", e);
+        } finally {
+            spareLock.unlock();
+        }
+    }
+
+    private void rotate() {
+        retired.add(segment);
+        try {
+            segment = nextSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not rotate spin journal segment", e);
+        }
+    }
+
+    /**
+     * Takes the spare segment, or maps one here if the flusher has not caught up since the last rotation.
+     */
+    private Segment nextSegment() throws IOException {
+        spareLock.lock();
+        try {
+            Segment next = spare;
+            spare = null;
+            return next != null ? next : openSegment();
+        } finally {
+            spareLock.unlock();
+        }
+    }
+
+    private Segment openSegment() throws IOException {
+        Path path = directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, nextSegmentIndex++, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        buffer.putInt(0, SEGMENT_MAGIC);
+        buffer.putShort(4, (short) algorithm.length);
+        buffer.put(6, algorithm);
+        Segment segment = new Segment(path, channel, buffer);
+        segment.position = 6 + algorithm.length;
+        return segment;
+    }
+
+    /**
+     * Reads the segment header at the buffer's position and advances past it. Segments written before the
+     * header existed only ever held {@link RandomProvider#SPLITTABLE_RANDOM} spins with double rewards, and
+     * have no header to skip.
+     */
+    static SegmentHeader readSegmentHeader(ByteBuffer buffer) {
+        int start = buffer.position();
+        int magic = buffer.remaining() < 6 ? 0 : buffer.getInt(start);
+        if (magic != SEGMENT_MAGIC && magic != DOUBLE_REWARD_SEGMENT_MAGIC) {
+            return new SegmentHeader(RandomProvider.SPLITTABLE_RANDOM, true);
+        }
+        int length = buffer.getShort(start + 4) & 0xFFFF;
+        byte[] name = new byte[Math.min(length, buffer.remaining() - 6)];
+        buffer.get(start + 6, name);
+        buffer.position(start + 6 + name.length);
+        return new SegmentHeader(new String(name, StandardCharsets.US_ASCII), magic != SEGMENT_MAGIC);
+    }
+
+    /**
+     * @param algorithm the random algorithm the segment's spins were generated with
+     * @param legacy whether the segment's records are in the legacy layout, see {@link SpinRecord}
+     */
+    record SegmentHeader(String algorithm, boolean legacy) {
+    }
+
+    static long segmentIndex(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        segment.close();
+        spareLock.lock();
+        try {
+            if (spare != null) {
+                spare.close();
+                Files.delete(spare.path);
+                spare = null;
+            }
+        } finally {
+            spareLock.unlock();
+        }
+    }
+
+    private static final class Segment {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final ReentrantLock forceLock = new ReentrantLock();
+        /** Next write offset; guarded by the journal lock. */
+        private int position;
+        /** Guarded by {@link #forceLock}. */
+        private int forced;
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Forces {@code [forced, upTo)} to disk.
+         */
+        private void force(int upTo) {
+            forceLock.lock();
+            try {
+                if (upTo > forced) {
+                    buffer.force(forced, upTo - forced);
+                    forced = upTo;
+                }
+            } finally {
+                forceLock.unlock();
+            }
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.scratchgame.journal;
+
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+
+/**
+ * Audit sink for spins. Appends must be cheap enough to sit on the request path.
+ */
+public interface SpinJournal {
+
+    SpinJournal DISABLED = new SpinJournal() {
+        @Override
+        public void append(long seed, GameModel model, int betAmount, SpinResult result) {
+        }
+
+        @Override
+        public void appendTicket(long ticket, GameModel model, int betAmount, SpinResult result) {
+        }
+    };
+
+    /**
+     * Records a spin that was produced from the running provider's {@code spinGenerator(seed)}. The
+     * provider's algorithm is recorded once per journal segment rather than per spin.
+     */
+    void append(long seed, GameModel model, int betAmount, SpinResult result);
+
+    /**
+     * Records the pre-generated ticket at index {@code ticket} of the running ticket pool.
+     */
+    void appendTicket(long ticket, GameModel model, int betAmount, SpinResult result);
+}
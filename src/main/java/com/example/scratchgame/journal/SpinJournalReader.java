@@ -0,0 +1,110 @@
+package com.example.scratchgame.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reads journal segments in order. Each segment is read up to its first empty or corrupt record, which
+ * is where the writer stopped (or was cut off by a crash). Records carry the random algorithm from their
+ * segment's header.
+ */
+public final class SpinJournalReader implements Iterable<SpinRecord>, Closeable {
+
+    private final List<Path> segments;
+    private final List<FileChannel> channels = new ArrayList<>();
+
+    public SpinJournalReader(Path directory) throws IOException {
+        this(segments(directory));
+    }
+
+    public SpinJournalReader(List<Path> segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * @return the journal segments in {@code directory}, oldest first
+     */
+    public static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(MappedSpinJournal.SEGMENT_PREFIX)
+                                && name.endsWith(MappedSpinJournal.SEGMENT_SUFFIX);
+                    })
+                    .sorted((a, b) -> Long.compare(MappedSpinJournal.segmentIndex(a), MappedSpinJournal.segmentIndex(b)))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public Iterator<SpinRecord> iterator() {
+        return new Iterator<>() {
+            private int nextSegment;
+            private MappedByteBuffer buffer;
+            private MappedSpinJournal.SegmentHeader header;
+            private SpinRecord next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null) {
+                    if (buffer != null) {
+                        next = SpinRecord.decode(buffer, header);
+                        if (next != null) {
+                            break;
+                        }
+                        buffer = null;
+                    }
+                    if (nextSegment >= segments.size()) {
+                        return false;
+                    }
+                    buffer = map(segments.get(nextSegment++));
+                    header = MappedSpinJournal.readSegmentHeader(buffer);
+                }
+                return true;
+            }
+
+            @Override
+            public SpinRecord next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                SpinRecord record = next;
+                next = null;
+                return record;
+            }
+        };
+    }
+
+    private MappedByteBuffer map(Path segment) {
+        try {
+            FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ);
+            channels.add(channel);
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read journal segment " + segment, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (FileChannel channel : channels) {
+            channel.close();
+        }
+        channels.clear();
+    }
+}
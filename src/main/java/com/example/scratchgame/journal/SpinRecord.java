@@ -0,0 +1,259 @@
+package com.example.scratchgame.journal;
+
+import com.example.scratchgame.engine.SpinResult;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * One journaled spin. On disk a record is {@code int length, int crc32c} followed by {@code length} body
+ * bytes:
+ * <pre>
+ * long   sequence
+ * long   timestamp (epoch millis)
+ * long   config version
+ * long   seed, or the ticket index for a pool ticket
+ * byte   source: 0 for a spin generated from the seed, 1 for a pool ticket
+ * int    bet amount
+ * long   reward in minor units at the config's reward scale
+ * short  applied bonus symbol id, -1 for none
+ * short  cell count
+ * byte   symbol width in bytes (1 or 2)
+ * cells  symbol ids, row-major
+ * short  winning symbol count
+ * per winning symbol: short symbol id, long combination id mask
+ * </pre>
+ * A zero length marks the end of a segment's written data. The random algorithm is not part of the
+ * record; it comes from the header of the segment the record was read from,  as does whether the record
+ * is in the legacy layout of older segments: a {@code double} reward and no source byte.
+ */
+public final class SpinRecord {
+
+    static final int HEADER_BYTES = 8;
+    private static final int FIXED_BODY_BYTES = 8 + 8 + 8 + 8 + 1 + 4 + 8 + 2 + 2 + 1 + 2;
+    private static final byte SEEDED = 0;
+    private static final byte POOL_TICKET = 1;
+    private static final int WINNER_BYTES = 2 + 8;
+
+    private final long sequence;
+    private final long timestamp;
+    private final long configVersion;
+    private final long seed;
+    private final boolean poolTicket;
+    private final int betAmount;
+    private final long rewardMinorUnits;
+    private final double doubleReward;
+    private final int appliedBonusSymbol;
+    private final int[] grid;
+    private final long[] appliedCombinations;
+    private final String algorithm;
+
+    public SpinRecord(long sequence, long timestamp, long configVersion, long seed, boolean poolTicket,
+                      int betAmount, long rewardMinorUnits, int appliedBonusSymbol, int[] grid,
+                      long[] appliedCombinations, String algorithm) {
+        this(sequence, timestamp, configVersion, seed, poolTicket, betAmount, rewardMinorUnits, Double.NaN,
+                appliedBonusSymbol, grid, appliedCombinations, algorithm);
+    }
+
+    private SpinRecord(long sequence, long timestamp, long configVersion, long seed, boolean poolTicket,
+                       int betAmount, long rewardMinorUnits, double doubleReward, int appliedBonusSymbol,
+                       int[] grid, long[] appliedCombinations, String algorithm) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.configVersion = configVersion;
+        this.seed = seed;
+        this.poolTicket = poolTicket;
+        this.betAmount = betAmount;
+        this.rewardMinorUnits = rewardMinorUnits;
+        this.doubleReward = doubleReward;
+        this.appliedBonusSymbol = appliedBonusSymbol;
+        this.grid = grid;
+        this.appliedCombinations = appliedCombinations;
+        this.algorithm = algorithm;
+    }
+
+    static int encodedSize(SpinResult result, int symbolCount) {
+        int winners = 0;
+        for (long combinations : result.getAppliedCombinations()) {
+            if (combinations != 0) {
+                winners++;
+            }
+        }
+        return HEADER_BYTES + FIXED_BODY_BYTES + result.getGrid().length * symbolWidth(symbolCount)
+                + winners * WINNER_BYTES;
+    }
+
+    /**
+     * Writes header and body at the buffer's position, which must have {@link #encodedSize} bytes left.
+     */
+    static void encode(ByteBuffer buffer, long sequence, long timestamp, long configVersion, long seed,
+                       boolean poolTicket, int betAmount, SpinResult result, int symbolCount) {
+        int start = buffer.position();
+        buffer.position(start + HEADER_BYTES);
+        buffer.putLong(sequence);
+        buffer.putLong(timestamp);
+        buffer.putLong(configVersion);
+        buffer.putLong(seed);
+        buffer.put(poolTicket ? POOL_TICKET : SEEDED);
+        buffer.putInt(betAmount);
+        buffer.putLong(result.getRewardMinorUnits());
+        buffer.putShort((short) result.getAppliedBonusSymbol());
+        int[] grid = result.getGrid();
+        buffer.putShort((short) grid.length);
+        int width = symbolWidth(symbolCount);
+        buffer.put((byte) width);
+        for (int symbol : grid) {
+            if (width == 1) {
+                buffer.put((byte) symbol);
+            } else {
+                buffer.putShort((short) symbol);
+            }
+        }
+        int winnersPosition = buffer.position();
+        buffer.putShort((short) 0);
+        short winners = 0;
+        long[] applied = result.getAppliedCombinations();
+        for (int symbol = 0; symbol < applied.length; symbol++) {
+            if (applied[symbol] != 0) {
+                buffer.putShort((short) symbol);
+                buffer.putLong(applied[symbol]);
+                winners++;
+            }
+        }
+        buffer.putShort(winnersPosition, winners);
+
+        int end = buffer.position();
+        int length = end - start - HEADER_BYTES;
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start + HEADER_BYTES, length));
+        buffer.putInt(start, length);
+        buffer.putInt(start + 4, (int) crc.getValue());
+    }
+
+    /**
+     * Reads the record at the buffer's position and advances past it.
+     *
+     * @param header the header of the segment the record is in
+     * @return the record, or {@code null} at the end of written data or on a torn or corrupt tail
+     */
+    static SpinRecord decode(ByteBuffer buffer, MappedSpinJournal.SegmentHeader header) {
+        if (buffer.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        int start = buffer.position();
+        int length = buffer.getInt(start);
+        int minLength = header.legacy() ? FIXED_BODY_BYTES - 1 : FIXED_BODY_BYTES;
+        if (length < minLength || length > buffer.remaining() - HEADER_BYTES) {
+            return null;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start + HEADER_BYTES, length));
+        if ((int) crc.getValue() != buffer.getInt(start + 4)) {
+            return null;
+        }
+        buffer.position(start + HEADER_BYTES);
+        long sequence = buffer.getLong();
+        long timestamp = buffer.getLong();
+        long configVersion = buffer.getLong();
+        long seed = buffer.getLong();
+        boolean poolTicket = !header.legacy() && buffer.get() == POOL_TICKET;
+        int betAmount = buffer.getInt();
+        long rewardMinorUnits = 0;
+        double doubleReward = Double.NaN;
+        if (header.legacy()) {
+            doubleReward = buffer.getDouble();
+        } else {
+            rewardMinorUnits = buffer.getLong();
+        }
+        int bonus = buffer.getShort();
+        int cells = buffer.getShort() & 0xFFFF;
+        int width = buffer.get();
+        int[] grid = new int[cells];
+        int maxSymbol = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            grid[cell] = width == 1 ? buffer.get() & 0xFF : buffer.getShort() & 0xFFFF;
+            maxSymbol = Math.max(maxSymbol, grid[cell]);
+        }
+        int winners = buffer.getShort() & 0xFFFF;
+        int[] winnerSymbols = new int[winners];
+        long[] winnerMasks = new long[winners];
+        for (int i = 0; i < winners; i++) {
+            winnerSymbols[i] = buffer.getShort() & 0xFFFF;
+            winnerMasks[i] = buffer.getLong();
+            maxSymbol = Math.max(maxSymbol, winnerSymbols[i]);
+        }
+        long[] applied = new long[maxSymbol + 1];
+        for (int i = 0; i < winners; i++) {
+            applied[winnerSymbols[i]] = winnerMasks[i];
+        }
+        buffer.position(start + HEADER_BYTES + length);
+        return new SpinRecord(sequence, timestamp, configVersion, seed, poolTicket, betAmount, rewardMinorUnits,
+                doubleReward, bonus, grid, applied, header.algorithm());
+    }
+
+    private static int symbolWidth(int symbolCount) {
+        return symbolCount <= 256 ? 1 : 2;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getConfigVersion() {
+        return configVersion;
+    }
+
+    /**
+     * @return the seed the spin's generator was created from, see {@code RandomProvider.spinGenerator}; for a
+     * pool ticket, its index in the pool
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return whether the spin was a pre-generated ticket claimed from a ticket pool rather than generated
+     */
+    public boolean isPoolTicket() {
+        return poolTicket;
+    }
+
+    /**
+     * @return the random algorithm the spin's generator was created with
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public int getBetAmount() {
+        return betAmount;
+    }
+
+    /**
+     * @param scale the reward scale of the record's config version; only used for records from segments
+     *              that stored the reward as a {@code double}, which is rounded to the nearest minor unit
+     * @return the reward in minor units
+     */
+    public long getRewardMinorUnits(int scale) {
+        return Double.isNaN(doubleReward) ? rewardMinorUnits : Math.round(doubleReward * scale);
+    }
+
+    public int getAppliedBonusSymbol() {
+        return appliedBonusSymbol;
+    }
+
+    public int[] getGrid() {
+        return grid;
+    }
+
+    /**
+     * @return per symbol id, the combination id mask it won; trailing symbols that won nothing may be absent
+     */
+    public long[] getAppliedCombinations() {
+        return appliedCombinations;
+    }
+}
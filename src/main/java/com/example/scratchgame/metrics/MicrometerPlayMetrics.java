@@ -0,0 +1,110 @@
+package com.example.scratchgame.metrics;
+
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinPhase;
+import com.example.scratchgame.engine.SpinResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PlayMetrics} backed by Micrometer. Every meter is registered up front (bonus counters on first
+ * sight of a symbol name), so the hot path is a map lookup and a lock-free histogram or counter update.
+ */
+public final class MicrometerPlayMetrics implements PlayMetrics {
+
+    static final String PHASE_TIMER = "scratchgame.play.phase";
+    static final String SPINS = "scratchgame.spins";
+    static final String WINS = "scratchgame.wins";
+    static final String BONUS_OUTCOMES = "scratchgame.bonus.outcomes";
+
+    private final MeterRegistry registry;
+    private final Map<SpinPhase, Timer> spinPhaseTimers = new EnumMap<>(SpinPhase.class);
+    private final Timer modelLookupTimer;
+    private final Timer journalTimer;
+    private final Timer serializationTimer;
+    private final Counter spins;
+    private final Counter wins;
+    private final Counter noBonus;
+    private final ConcurrentHashMap<String, Counter> bonusCounters = new ConcurrentHashMap<>();
+
+    public MicrometerPlayMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (SpinPhase phase : SpinPhase.values()) {
+            spinPhaseTimers.put(phase, phaseTimer(phase.getMetricName()));
+        }
+        this.modelLookupTimer = phaseTimer("model_lookup");
+        this.journalTimer = phaseTimer("journal");
+        this.serializationTimer = phaseTimer("serialize");
+        this.spins = Counter.builder(SPINS).description("Spins played").register(registry);
+        this.wins = Counter.builder(WINS).description("Spins with at least one winning combination")
+                .register(registry);
+        this.noBonus = bonusCounter("none");
+    }
+
+    private Timer phaseTimer(String phase) {
+        return Timer.builder(PHASE_TIMER)
+                .description("Time spent in one phase of a play request")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(registry);
+    }
+
+    private Counter bonusCounter(String symbol) {
+        return Counter.builder(BONUS_OUTCOMES)
+                .description("Bonus symbols applied to winning spins")
+                .tag("symbol", symbol)
+                .register(registry);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void record(SpinPhase phase, long nanos) {
+        spinPhaseTimers.get(phase).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordModelLookup(long nanos) {
+        modelLookupTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordJournal(long nanos) {
+        journalTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordSerialization(long nanos) {
+        serializationTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordSpin(GameModel model, SpinResult result) {
+        spins.increment();
+        if (!result.hasWinningCombination()) {
+            return;
+        }
+        wins.increment();
+        int bonusSymbol = result.getAppliedBonusSymbol();
+        if (bonusSymbol < 0) {
+            noBonus.increment();
+            return;
+        }
+        String name = model.getSymbolName(bonusSymbol);
+        Counter counter = bonusCounters.get(name);
+        if (counter == null) {
+            counter = bonusCounters.computeIfAbsent(name, this::bonusCounter);
+        }
+        counter.increment();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.scratchgame.metrics;
+
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinPhase;
+import com.example.scratchgame.engine.SpinPhaseRecorder;
+import com.example.scratchgame.engine.SpinResult;
+
+/**
+ * Latency and outcome metrics for the play path. Every method is called on the request thread, so
+ * implementations must not lock or allocate per call.
+ */
+public interface PlayMetrics extends SpinPhaseRecorder {
+
+    PlayMetrics DISABLED = new PlayMetrics() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void record(SpinPhase phase, long nanos) {
+        }
+
+        @Override
+        public void recordModelLookup(long nanos) {
+        }
+
+        @Override
+        public void recordJournal(long nanos) {
+        }
+
+        @Override
+        public void recordSerialization(long nanos) {
+        }
+
+        @Override
+        public void recordSpin(GameModel model, SpinResult result) {
+        }
+    };
+
+    /**
+     * @return false when every call is a no-op, so callers can skip reading the clock altogether
+     */
+    boolean isEnabled();
+
+    void recordModelLookup(long nanos);
+
+    void recordJournal(long nanos);
+
+    void recordSerialization(long nanos);
+
+    /**
+     * Counts one spin, and whether it won and which bonus symbol it applied.
+     */
+    void recordSpin(GameModel model, SpinResult result);
+}
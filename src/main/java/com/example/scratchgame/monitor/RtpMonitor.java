@@ -0,0 +1,31 @@
+package com.example.scratchgame.monitor;
+
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+
+import java.util.List;
+
+/**
+ * Watches live spins for payouts that drift away from the expected RTP. {@link #record} sits on the spin
+ * path, so it must not lock or block.
+ */
+public interface RtpMonitor {
+
+    RtpMonitor DISABLED = new RtpMonitor() {
+        @Override
+        public void record(GameModel model, int betAmount, SpinResult result) {
+        }
+
+        @Override
+        public List<RtpWindowSnapshot> snapshot() {
+            return List.of();
+        }
+    };
+
+    void record(GameModel model, int betAmount, SpinResult result);
+
+    /**
+     * @return the current window of every config version that has spins in it, re-evaluating drift flags
+     */
+    List<RtpWindowSnapshot> snapshot();
+}
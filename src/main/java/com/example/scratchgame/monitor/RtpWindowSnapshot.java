@@ -0,0 +1,90 @@
+package com.example.scratchgame.monitor;
+
+import java.util.Map;
+
+/**
+ * Aggregates of one config version over the monitor's sliding window. The expected RTP and its band are
+ * {@code null} while no target is known for the version.
+ */
+public final class RtpWindowSnapshot {
+
+    private final String version;
+    private final long spins;
+    private final long winningSpins;
+    private final double totalBet;
+    private final double totalReward;
+    private final Double expectedRtp;
+    private final Double lowerBound;
+    private final Double upperBound;
+    private final boolean drifting;
+    private final Map<String, Long> payoutHistogram;
+
+    RtpWindowSnapshot(String version, long spins, long winningSpins, double totalBet, double totalReward,
+                      Double expectedRtp, Double lowerBound, Double upperBound, boolean drifting,
+                      Map<String, Long> payoutHistogram) {
+        this.version = version;
+        this.spins = spins;
+        this.winningSpins = winningSpins;
+        this.totalBet = totalBet;
+        this.totalReward = totalReward;
+        this.expectedRtp = expectedRtp;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.drifting = drifting;
+        this.payoutHistogram = payoutHistogram;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public long getSpins() {
+        return spins;
+    }
+
+    public long getWinningSpins() {
+        return winningSpins;
+    }
+
+    public double getTotalBet() {
+        return totalBet;
+    }
+
+    public double getTotalReward() {
+        return totalReward;
+    }
+
+    public double getRtp() {
+        return totalBet == 0 ? 0 : totalReward / totalBet;
+    }
+
+    public double getHitRate() {
+        return spins == 0 ? 0 : (double) winningSpins / spins;
+    }
+
+    public Double getExpectedRtp() {
+        return expectedRtp;
+    }
+
+    public Double getLowerBound() {
+        return lowerBound;
+    }
+
+    public Double getUpperBound() {
+        return upperBound;
+    }
+
+    /**
+     * @return true when the window holds enough spins and its RTP lies outside {@code [lowerBound, upperBound]}
+     */
+    public boolean isDrifting() {
+        return drifting;
+    }
+
+    /**
+     * @return spin counts keyed by payout-to-bet ratio bucket: {@code "0"} for losses, then power-of-two ranges
+     */
+    public Map<String, Long> getPayoutHistogram() {
+        return payoutHistogram;
+    }
+}
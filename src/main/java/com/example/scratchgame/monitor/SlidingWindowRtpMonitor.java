@@ -0,0 +1,311 @@
+package com.example.scratchgame.monitor;
+
+import com.example.scratchgame.analysis.ExactRtpCalculator;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link RtpMonitor} over a sliding window of time buckets per config version. Each bucket holds striped
+ * adders (bet and reward in minor units, their second moments, hits, and a histogram of payout-to-bet ratios in
+ * power-of-two buckets), so concurrent spins never contend on one cache line. Buckets are replaced, not reset,
+ * when the window slides past them: a spin racing with the replacement may be counted in the retired bucket and lost,
+ * which is negligible next to a window of thousands of spins.
+ *
+ * <p>A background thread re-evaluates every window once per bucket interval. A version drifts when its
+ * window holds at least {@code minSpins} spins and the observed RTP lies more than {@code zScore}
+ * standard errors away from the expected RTP. The observed RTP is total reward over total bet, so its
+ * standard error comes from the delta method for a ratio estimator: the spread of
+ * {@code reward - rtp * bet} per spin over the mean bet, which weights each spin by its bet. The expected RTP is the configured target, or else the
+ * exact RTP of the config at {@code referenceBet}, computed off the spin path when the version is
+ * first seen. Additive bonuses make the exact RTP depend on the bet, so the reference bet should be a
+ * typical one.
+ */
+public final class SlidingWindowRtpMonitor implements RtpMonitor, Closeable {
+
+    static final int MIN_EXPONENT = -4;
+    static final int MAX_EXPONENT = 20;
+    static final int HISTOGRAM_BUCKETS = MAX_EXPONENT - MIN_EXPONENT + 2;
+
+    private static final Logger log = LoggerFactory.getLogger(SlidingWindowRtpMonitor.class);
+    private static final String[] HISTOGRAM_LABELS = histogramLabels();
+
+    private final int bucketCount;
+    private final long bucketNanos;
+    private final double zScore;
+    private final long minSpins;
+    private final double targetRtp;
+    private final int referenceBet;
+    private final ExactRtpCalculator calculator = new ExactRtpCalculator();
+    private final ConcurrentHashMap<Long, VersionWindow> windows = new ConcurrentHashMap<>();
+    private volatile VersionWindow latest;
+    private final ScheduledExecutorService evaluator;
+
+    /**
+     * @param targetRtp the certified RTP, or {@code NaN} to compute it exactly from each config version
+     */
+    public SlidingWindowRtpMonitor(Duration window, int bucketCount, double zScore, long minSpins, double targetRtp,
+                                   int referenceBet) {
+        if (bucketCount < 1 || window.toNanos() < bucketCount) {
+            throw new IllegalArgumentException("window must be split into at least one bucket");
+        }
+        this.bucketCount = bucketCount;
+        this.bucketNanos = window.toNanos() / bucketCount;
+        this.zScore = zScore;
+        this.minSpins = minSpins;
+        this.targetRtp = targetRtp;
+        this.referenceBet = referenceBet;
+        this.evaluator = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rtp-drift-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evaluator.scheduleWithFixedDelay(this::evaluateQuietly, bucketNanos, bucketNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void record(GameModel model, int betAmount, SpinResult result) {
+        VersionWindow window = latest;
+        if (window == null || window.version != model.getVersion()) {
+            window = windows.computeIfAbsent(model.getVersion(), version -> newWindow(model));
+            latest = window;
+        }
+        long bet = (long) betAmount * result.getScale();
+        long reward = result.getRewardMinorUnits();
+        window.bucket(System.nanoTime() / bucketNanos).add(bet, reward, result.hasWinningCombination());
+    }
+
+    private VersionWindow newWindow(GameModel model) {
+        VersionWindow window = new VersionWindow(model.getVersion(), model.getPaytable().getScale(), bucketCount);
+        if (!Double.isNaN(targetRtp)) {
+            window.expectedRtp = targetRtp;
+        } else if (model.getCellCount() <= ExactRtpCalculator.MAX_CELLS) {
+            evaluator.execute(() -> {
+                try {
+                    window.expectedRtp = calculator.compute(model, referenceBet).getRtp();
+                } catch (RuntimeException e) {
+                    log.warn("Could not compute the expected RTP of config {}: {}", hex(model.getVersion()),
+                            e.getMessage());
+                }
+            });
+        } else {
+            log.info("No RTP target for config {}: set scratchgame.monitor.target-rtp to monitor drift",
+                    hex(model.getVersion()));
+        }
+        return window;
+    }
+
+    @Override
+    public List<RtpWindowSnapshot> snapshot() {
+        return evaluate();
+    }
+
+    /**
+     * Aggregates every window, updates drift flags and forgets versions that have no spins left in
+     * their window.
+     */
+    public synchronized List<RtpWindowSnapshot> evaluate() {
+        long epoch = System.nanoTime() / bucketNanos;
+        List<RtpWindowSnapshot> snapshots = new ArrayList<>(windows.size());
+        for (VersionWindow window : windows.values()) {
+            RtpWindowSnapshot snapshot = summarize(window, epoch);
+            if (snapshot.getSpins() == 0 && window != latest) {
+                windows.remove(window.version, window);
+                continue;
+            }
+            if (snapshot.isDrifting() != window.drifting) {
+                window.drifting = snapshot.isDrifting();
+                if (window.drifting) {
+                    log.warn("Config {} RTP {} over {} spins is outside [{}, {}]", snapshot.getVersion(),
+                            snapshot.getRtp(), snapshot.getSpins(), snapshot.getLowerBound(),
+                            snapshot.getUpperBound());
+                } else {
+                    log.info("Config {} RTP {} is back within [{}, {}]", snapshot.getVersion(), snapshot.getRtp(),
+                            snapshot.getLowerBound(), snapshot.getUpperBound());
+                }
+            }
+            snapshots.add(snapshot);
+        }
+        return snapshots;
+    }
+
+    private RtpWindowSnapshot summarize(VersionWindow window, long epoch) {
+        long spins = 0;
+        long winningSpins = 0;
+        long totalBet = 0;
+        long totalReward = 0;
+        double sumSquaredBets = 0;
+        double sumBetRewards = 0;
+        double sumSquaredRewards = 0;
+        long[] histogram = new long[HISTOGRAM_BUCKETS];
+        for (int slot = 0; slot < bucketCount; slot++) {
+            Bucket bucket = window.buckets.get(slot);
+            if (bucket == null || bucket.epoch <= epoch - bucketCount) {
+                continue;
+            }
+            spins += bucket.spins.sum();
+            winningSpins += bucket.winningSpins.sum();
+            totalBet += bucket.bet.sum();
+            totalReward += bucket.reward.sum();
+            sumSquaredBets += bucket.squaredBets.sum();
+            sumBetRewards += bucket.betRewards.sum();
+            sumSquaredRewards += bucket.squaredRewards.sum();
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                histogram[i] += bucket.histogram[i].sum();
+            }
+        }
+
+        Map<String, Long> payoutHistogram = new LinkedHashMap<>();
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            if (histogram[i] != 0) {
+                payoutHistogram.put(HISTOGRAM_LABELS[i], histogram[i]);
+            }
+        }
+
+        double expected = window.expectedRtp;
+        Double expectedRtp = null;
+        Double lowerBound = null;
+        Double upperBound = null;
+        boolean drifting = false;
+        if (!Double.isNaN(expected)) {
+            expectedRtp = expected;
+            if (spins > 1 && totalBet > 0) {
+                double rtp = (double) totalReward / totalBet;
+                // Residuals reward - rtp * bet sum to zero, so their variance is their mean square.
+                double squaredResiduals = sumSquaredRewards - 2 * rtp * sumBetRewards + rtp * rtp * sumSquaredBets;
+                double variance = Math.max(0, squaredResiduals / (spins - 1));
+                double meanBet = (double) totalBet / spins;
+                double margin = zScore * Math.sqrt(variance / spins) / meanBet;
+                lowerBound = expected - margin;
+                upperBound = expected + margin;
+                drifting = spins >= minSpins && (rtp < lowerBound || rtp > upperBound);
+            }
+        }
+        return new RtpWindowSnapshot(hex(window.version), spins, winningSpins, totalBet / (double) window.scale,
+                totalReward / (double) window.scale, expectedRtp, lowerBound, upperBound, drifting, payoutHistogram);
+    }
+
+    private void evaluateQuietly() {
+        try {
+            evaluate();
+        } catch (RuntimeException e) {
+            log.warn("RTP drift evaluation failed", e);
+        }
+    }
+
+    /**
+     * @return 0 for a loss, otherwise 1 + the power-of-two exponent of {@code ratio} clamped to
+     * {@code [MIN_EXPONENT, MAX_EXPONENT]}
+     */
+    static int histogramBucket(double ratio) {
+        if (ratio <= 0) {
+            return 0;
+        }
+        int exponent = Math.min(Math.max(Math.getExponent(ratio), MIN_EXPONENT), MAX_EXPONENT);
+        return 1 + exponent - MIN_EXPONENT;
+    }
+
+    private static String[] histogramLabels() {
+        String[] labels = new String[HISTOGRAM_BUCKETS];
+        labels[0] = "0";
+        for (int i = 1; i < HISTOGRAM_BUCKETS; i++) {
+            int exponent = i - 1 + MIN_EXPONENT;
+            String lower = i == 1 ? "0" : powerOfTwo(exponent);
+            String upper = i == HISTOGRAM_BUCKETS - 1 ? "inf" : powerOfTwo(exponent + 1);
+            labels[i] = (i == 1 ? "(" : "[") + lower + "," + upper + ")";
+        }
+        return labels;
+    }
+
+    private static String powerOfTwo(int exponent) {
+        return BigDecimal.valueOf(Math.scalb(1.0, exponent)).stripTrailingZeros().toPlainString();
+    }
+
+    private static String hex(long version) {
+        return Long.toHexString(version);
+    }
+
+    @Override
+    public void close() {
+        evaluator.shutdownNow();
+    }
+
+    private static final class VersionWindow {
+
+        final long version;
+        final int scale;
+        final AtomicReferenceArray<Bucket> buckets;
+        volatile double expectedRtp = Double.NaN;
+        /** Last evaluated drift state; only touched by {@link #evaluate()}. */
+        boolean drifting;
+
+        VersionWindow(long version, int scale, int bucketCount) {
+            this.version = version;
+            this.scale = scale;
+            this.buckets = new AtomicReferenceArray<>(bucketCount);
+        }
+
+        Bucket bucket(long epoch) {
+            int slot = (int) Math.floorMod(epoch, (long) buckets.length());
+            while (true) {
+                Bucket bucket = buckets.get(slot);
+                if (bucket != null && bucket.epoch >= epoch) {
+                    return bucket;
+                }
+                Bucket fresh = new Bucket(epoch);
+                if (buckets.compareAndSet(slot, bucket, fresh)) {
+                    return fresh;
+                }
+            }
+        }
+    }
+
+    private static final class Bucket {
+
+        final long epoch;
+        final LongAdder spins = new LongAdder();
+        final LongAdder winningSpins = new LongAdder();
+        final LongAdder bet = new LongAdder();
+        final LongAdder reward = new LongAdder();
+        final DoubleAdder squaredBets = new DoubleAdder();
+        final DoubleAdder betRewards = new DoubleAdder();
+        final DoubleAdder squaredRewards = new DoubleAdder();
+        final LongAdder[] histogram = new LongAdder[HISTOGRAM_BUCKETS];
+
+        Bucket(long epoch) {
+            this.epoch = epoch;
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        void add(long bet, long reward, boolean win) {
+            spins.increment();
+            if (win) {
+                winningSpins.increment();
+            }
+            this.bet.add(bet);
+            this.reward.add(reward);
+            squaredBets.add((double) bet * bet);
+            betRewards.add((double) bet * reward);
+            squaredRewards.add((double) reward * reward);
+            histogram[histogramBucket(bet > 0 ? (double) reward / bet : 0)].increment();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.scratchgame.pool;
+
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A finite pool of pre-generated tickets in a memory-mapped file, written by {@link TicketPoolGenerator}.
+ * Serving a ticket is an atomic increment of a cursor stored in the file itself, then a read of a
+ * fixed-size record, so it costs the same for any pool size, involves no randomness or evaluation, and
+ * a restarted server continues after the last claimed ticket.
+ *
+ * <p>The cursor is not forced to disk on each claim: a process crash loses no claim, since the mapped page
+ * outlives the process, but a power failure rolls the cursor back to the last time the page was written
+ * back, so tickets claimed since then are served again. The spin journal records the index of every
+ * ticket served, which identifies any ticket served twice; {@link #close()} forces the cursor. The file is:
+ * <pre>
+ * header ({@value #HEADER_BYTES} bytes)
+ *   int    magic
+ *   int    format version
+ *   long   cursor: tickets claimed so far (may run past the ticket count once exhausted)
+ *   long   config version
+ *   long   ticket count
+ *   long   winning ticket count
+ *   long   total reward of all tickets, in minor units
+ *   int    bet amount (ticket price)
+ *   int    record size
+ *   short  cell count
+ *   short  winner slots
+ * records, each {@code record size} bytes
+ *   long   reward in minor units at the config's reward scale
+ *   byte   applied bonus symbol id, 0xFF for none
+ *   cells  byte symbol ids, row-major
+ *   byte   winning symbol count
+ *   per winner slot: byte symbol id, long combination id mask
+ * </pre>
+ */
+public final class TicketPool implements Closeable {
+
+    static final int MAGIC = 0x53435450;
+    static final int FORMAT_VERSION = 2;
+    static final int HEADER_BYTES = 64;
+    static final int NO_SYMBOL = 0xFF;
+
+    static final int CURSOR_OFFSET = 8;
+    static final int CONFIG_VERSION_OFFSET = 16;
+    static final int TICKET_COUNT_OFFSET = 24;
+    static final int WINNING_TICKETS_OFFSET = 32;
+    static final int TOTAL_REWARD_OFFSET = 40;
+    static final int BET_AMOUNT_OFFSET = 48;
+    static final int RECORD_SIZE_OFFSET = 52;
+    static final int CELL_COUNT_OFFSET = 56;
+    static final int WINNER_SLOTS_OFFSET = 58;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final GameModel model;
+    private final long ticketCount;
+    private final int betAmount;
+    private final int recordSize;
+    private final int cellCount;
+
+    private TicketPool(FileChannel channel, MappedByteBuffer buffer, GameModel model) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.model = model;
+        this.ticketCount = buffer.getLong(TICKET_COUNT_OFFSET);
+        this.betAmount = buffer.getInt(BET_AMOUNT_OFFSET);
+        this.recordSize = buffer.getInt(RECORD_SIZE_OFFSET);
+        this.cellCount = buffer.getShort(CELL_COUNT_OFFSET);
+    }
+
+    /**
+     * Maps a pool file generated for {@code model}.
+     *
+     * @throws IllegalArgumentException if the file is not a pool or was generated from another config version
+     */
+    public static TicketPool open(Path path, GameModel model) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(path + " is not a ticket pool");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IllegalArgumentException(path + " is not a ticket pool");
+            }
+            if (buffer.getLong(CONFIG_VERSION_OFFSET) != model.getVersion()) {
+                throw new IllegalArgumentException(path + " was generated from config version "
+                        + Long.toHexString(buffer.getLong(CONFIG_VERSION_OFFSET)) + ", not "
+                        + Long.toHexString(model.getVersion()));
+            }
+            long expectedSize = HEADER_BYTES + buffer.getLong(TICKET_COUNT_OFFSET) * buffer.getInt(RECORD_SIZE_OFFSET);
+            if (size != expectedSize) {
+                throw new IllegalArgumentException(path + " is truncated");
+            }
+            return new TicketPool(channel, buffer, model);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Claims the next unsold ticket.
+     *
+     * @return the ticket, or {@code null} once every ticket has been claimed
+     */
+    public SpinResult claim() {
+        long index = claimIndex();
+        return index < 0 ? null : getTicket(index);
+    }
+
+    /**
+     * Claims the next unsold ticket without reading it.
+     *
+     * @return the ticket's index, or -1 once every ticket has been claimed
+     */
+    public long claimIndex() {
+        long index = (long) LONGS.getAndAdd(buffer, CURSOR_OFFSET, 1L);
+        return index < ticketCount ? index : -1;
+    }
+
+    /**
+     * Reads the ticket at {@code index}, claimed or not.
+     */
+    public SpinResult getTicket(long index) {
+        if (index < 0 || index >= ticketCount) {
+            throw new IndexOutOfBoundsException("ticket " + index + " of " + ticketCount);
+        }
+        int position = HEADER_BYTES + (int) (index * recordSize);
+        long reward = buffer.getLong(position);
+        int bonus = buffer.get(position + 8) & 0xFF;
+        int[] grid = new int[cellCount];
+        position += 9;
+        for (int cell = 0; cell < cellCount; cell++) {
+            grid[cell] = buffer.get(position++) & 0xFF;
+        }
+        int winners = buffer.get(position++) & 0xFF;
+        long[] applied = new long[model.getSymbolCount()];
+        for (int i = 0; i < winners; i++) {
+            applied[buffer.get(position) & 0xFF] = buffer.getLong(position + 1);
+            position += 9;
+        }
+        return new SpinResult(grid, reward, model.getPaytable().getScale(), applied,
+                bonus == NO_SYMBOL ? -1 : bonus);
+    }
+
+    public GameModel getModel() {
+        return model;
+    }
+
+    /**
+     * @return the price of every ticket in the pool
+     */
+    public int getBetAmount() {
+        return betAmount;
+    }
+
+    public long getTicketCount() {
+        return ticketCount;
+    }
+
+    public long getClaimedCount() {
+        return Math.min((long) LONGS.getVolatile(buffer, CURSOR_OFFSET), ticketCount);
+    }
+
+    public long getWinningTicketCount() {
+        return buffer.getLong(WINNING_TICKETS_OFFSET);
+    }
+
+    /**
+     * @return the reward of every ticket in the pool, in minor units
+     */
+    public long getTotalRewardMinorUnits() {
+        return buffer.getLong(TOTAL_REWARD_OFFSET);
+    }
+
+    /**
+     * @return the exact reward of the tickets claimed so far, in minor units; reads every claimed record
+     */
+    public long getClaimedRewardMinorUnits() {
+        long total = 0;
+        long claimed = getClaimedCount();
+        for (long index = 0; index < claimed; index++) {
+            total += buffer.getLong(HEADER_BYTES + (int) (index * recordSize));
+        }
+        return total;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    static int recordSize(int cellCount, int winnerSlots) {
+        return 8 + 1 + cellCount + 1 + winnerSlots * 9;
+    }
+
+    /**
+     * Writes {@code result} as a record at {@code position}; unused winner slots are left as they are.
+     */
+    static void encode(ByteBuffer buffer, int position, SpinResult result) {
+        buffer.putLong(position, result.getRewardMinorUnits());
+        int bonus = result.getAppliedBonusSymbol();
+        buffer.put(position + 8, (byte) (bonus < 0 ? NO_SYMBOL : bonus));
+        position += 9;
+        for (int symbol : result.getGrid()) {
+            buffer.put(position++, (byte) symbol);
+        }
+        int winnersPosition = position++;
+        int winners = 0;
+        long[] applied = result.getAppliedCombinations();
+        for (int symbol = 0; symbol < applied.length; symbol++) {
+            if (applied[symbol] != 0) {
+                buffer.put(position, (byte) symbol);
+                buffer.putLong(position + 1, applied[symbol]);
+                position += 9;
+                winners++;
+            }
+        }
+        buffer.put(winnersPosition, (byte) winners);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.scratchgame.pool;
+
+import com.example.scratchgame.engine.GameModel;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Command-line entry point for {@link TicketPoolGenerator}:
+ * {@code --config <path> --bet <amount> --tickets <n> [--seed <long>] --out <path>}. Prints the prize
+ * structure of the generated pool.
+ */
+public class TicketPoolCli {
+
+    public static void main(String[] args) throws IOException {
+        String configPath = "src/main/resources/config.json";
+        int betAmount = 1;
+        long tickets = 1_000_000L;
+        long seed = 0L;
+        String out = "tickets.pool";
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--config":
+                    configPath = args[++i];
+                    break;
+                case "--bet":
+                    betAmount = Integer.parseInt(args[++i]);
+                    break;
+                case "--tickets":
+                    tickets = Long.parseLong(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                case "--out":
+                    out = args[++i];
+                    break;
+                default:
+                    System.err.println("Unknown argument " + args[i]);
+                    System.err.println("Usage: --config <path> --bet <amount> --tickets <n> [--seed <long>] --out <path>");
+                    System.exit(2);
+            }
+        }
+
+        GameModel model = GameModel.load(Paths.get(configPath));
+        long start = System.nanoTime();
+        new TicketPoolGenerator().generate(model, betAmount, tickets, seed, Paths.get(out));
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        try (TicketPool pool = TicketPool.open(Paths.get(out), model)) {
+            System.out.printf("tickets        %d at %d%n", pool.getTicketCount(), pool.getBetAmount());
+            System.out.printf("winning        %d%n", pool.getWinningTicketCount());
+            int scale = model.getPaytable().getScale();
+            System.out.printf("total reward   %.2f%n", pool.getTotalRewardMinorUnits() / (double) scale);
+            System.out.printf("pool RTP       %.6f%n", pool.getTotalRewardMinorUnits()
+                    / ((double) pool.getTicketCount() * pool.getBetAmount() * scale));
+        }
+        System.out.printf("%ngenerated in %.2f s%n", seconds);
+    }
+}
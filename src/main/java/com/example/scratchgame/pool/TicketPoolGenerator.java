@@ -0,0 +1,113 @@
+package com.example.scratchgame.pool;
+
+import com.example.scratchgame.engine.GameEngine;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Writes a {@link TicketPool} file: every ticket is a spin of the engine, generated in parallel chunks
+ * that each own a stream split off the root seed, so a seed always yields the same pool. The records are
+ * then shuffled in place, and the header records the pool's total reward and winning ticket count.
+ */
+public final class TicketPoolGenerator {
+
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private final GameEngine engine = new GameEngine();
+
+    public void generate(GameModel model, int betAmount, long tickets, long seed, Path path) throws IOException {
+        if (model.getSymbolCount() > TicketPool.NO_SYMBOL) {
+            throw new IllegalArgumentException("ticket pools support at most " + TicketPool.NO_SYMBOL + " symbols");
+        }
+        if (tickets <= 0) {
+            throw new IllegalArgumentException("a pool needs at least one ticket");
+        }
+        int standardSymbols = 0;
+        for (int symbol = 0; symbol < model.getSymbolCount(); symbol++) {
+            if (model.isStandardSymbol(symbol)) {
+                standardSymbols++;
+            }
+        }
+        int cells = model.getCellCount();
+        int winnerSlots = Math.min(standardSymbols, cells);
+        int recordSize = TicketPool.recordSize(cells, winnerSlots);
+        long size = TicketPool.HEADER_BYTES + tickets * recordSize;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(tickets + " tickets of " + recordSize + " bytes exceed a 2 GiB pool file");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+            int chunks = (int) ((tickets + CHUNK_SIZE - 1) / CHUNK_SIZE);
+            SplittableRandom root = new SplittableRandom(seed);
+            SplittableRandom[] streams = new SplittableRandom[chunks];
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                streams[chunk] = root.split();
+            }
+            long[] chunkRewards = new long[chunks];
+            long[] chunkWinners = new long[chunks];
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                long first = (long) chunk * CHUNK_SIZE;
+                long end = Math.min(first + CHUNK_SIZE, tickets);
+                for (long index = first; index < end; index++) {
+                    SpinResult result = engine.spin(model, betAmount, streams[chunk]);
+                    TicketPool.encode(buffer, TicketPool.HEADER_BYTES + (int) (index * recordSize), result);
+                    chunkRewards[chunk] += result.getRewardMinorUnits();
+                    if (result.hasWinningCombination()) {
+                        chunkWinners[chunk]++;
+                    }
+                }
+            });
+            shuffle(buffer, tickets, recordSize, root);
+
+            long totalReward = 0;
+            long winners = 0;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                totalReward = Math.addExact(totalReward, chunkRewards[chunk]);
+                winners += chunkWinners[chunk];
+            }
+            buffer.putInt(0, TicketPool.MAGIC);
+            buffer.putInt(4, TicketPool.FORMAT_VERSION);
+            buffer.putLong(TicketPool.CURSOR_OFFSET, 0);
+            buffer.putLong(TicketPool.CONFIG_VERSION_OFFSET, model.getVersion());
+            buffer.putLong(TicketPool.TICKET_COUNT_OFFSET, tickets);
+            buffer.putLong(TicketPool.WINNING_TICKETS_OFFSET, winners);
+            buffer.putLong(TicketPool.TOTAL_REWARD_OFFSET, totalReward);
+            buffer.putInt(TicketPool.BET_AMOUNT_OFFSET, betAmount);
+            buffer.putInt(TicketPool.RECORD_SIZE_OFFSET, recordSize);
+            buffer.putShort(TicketPool.CELL_COUNT_OFFSET, (short) cells);
+            buffer.putShort(TicketPool.WINNER_SLOTS_OFFSET, (short) winnerSlots);
+            buffer.force();
+        }
+    }
+
+    /**
+     * Fisher-Yates over the fixed-size records.
+     */
+    private static void shuffle(MappedByteBuffer buffer, long tickets, int recordSize, SplittableRandom random) {
+        byte[] current = new byte[recordSize];
+        byte[] other = new byte[recordSize];
+        for (long index = tickets - 1; index > 0; index--) {
+            long swap = random.nextLong(index + 1);
+            if (swap == index) {
+                continue;
+            }
+            int position = TicketPool.HEADER_BYTES + (int) (index * recordSize);
+            int swapPosition = TicketPool.HEADER_BYTES + (int) (swap * recordSize);
+            buffer.get(position, current);
+            buffer.get(swapPosition, other);
+            buffer.put(position, other);
+            buffer.put(swapPosition, current);
+        }
+    }
+}
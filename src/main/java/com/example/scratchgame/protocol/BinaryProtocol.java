@@ -0,0 +1,129 @@
+package com.example.scratchgame.protocol;
+
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Compact binary alternative to the JSON bodies of {@code /play} and {@code /play/batch}, selected with
+ * the {@link #CONTENT_TYPE} content type. All values are big-endian. A request is
+ * <pre>
+ * byte  protocol version
+ * int   bet amount
+ * int   spin count (only on /play/batch)
+ * </pre>
+ * and a response is a header followed by one record per spin, up to the end of the body:
+ * <pre>
+ * byte  protocol version
+ * long  config version
+ * short cell count
+ * per spin:
+ *   long  reward in units of 1/{@link #REWARD_SCALE}
+ *   byte  applied bonus symbol id, {@link #NO_SYMBOL} for none
+ *   cells byte symbol ids, row-major
+ *   byte  winning symbol count
+ *   per winning symbol: byte symbol id, long combination id mask
+ * </pre>
+ * Ids index the {@link SpinDictionary} of the same config version, which clients download once from
+ * {@code /play/dictionary}.
+ */
+public final class BinaryProtocol {
+
+    public static final String CONTENT_TYPE = "application/vnd.scratchgame.spin";
+    public static final byte VERSION = 1;
+    public static final long REWARD_SCALE = 1_000_000;
+    public static final int NO_SYMBOL = 0xFF;
+
+    public static final int REQUEST_BYTES = 1 + 4;
+    public static final int BATCH_REQUEST_BYTES = REQUEST_BYTES + 4;
+    public static final int HEADER_BYTES = 1 + 8 + 2;
+    private static final int FIXED_RECORD_BYTES = 8 + 1 + 1;
+    private static final int WINNER_BYTES = 1 + 8;
+
+    private BinaryProtocol() {
+    }
+
+    /**
+     * @return true if every symbol id of {@code model} fits in a byte next to {@link #NO_SYMBOL}
+     */
+    public static boolean supports(GameModel model) {
+        return model.getSymbolCount() <= NO_SYMBOL && model.getCellCount() <= 0xFFFF;
+    }
+
+    public static byte[] encodeRequest(int betAmount) {
+        return ByteBuffer.allocate(REQUEST_BYTES).put(VERSION).putInt(betAmount).array();
+    }
+
+    public static byte[] encodeBatchRequest(int betAmount, int count) {
+        return ByteBuffer.allocate(BATCH_REQUEST_BYTES).put(VERSION).putInt(betAmount).putInt(count).array();
+    }
+
+    /**
+     * @return {@code {betAmount}} for a single spin, {@code {betAmount, count}} for a batch
+     * @throws IllegalArgumentException if the body is truncated or has an unknown version
+     */
+    public static int[] decodeRequest(byte[] body, boolean batch) {
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        try {
+            checkVersion(buffer.get());
+            int betAmount = buffer.getInt();
+            return batch ? new int[]{betAmount, buffer.getInt()} : new int[]{betAmount};
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("truncated " + CONTENT_TYPE + " request");
+        }
+    }
+
+    static void checkVersion(byte version) {
+        if (version != VERSION) {
+            throw new IllegalArgumentException("unsupported protocol version " + version);
+        }
+    }
+
+    public static void encodeHeader(ByteBuffer buffer, GameModel model) {
+        buffer.put(VERSION);
+        buffer.putLong(model.getVersion());
+        buffer.putShort((short) model.getCellCount());
+    }
+
+    /**
+     * @return the largest record a spin of {@code model} can encode to
+     */
+    public static int maxRecordBytes(GameModel model) {
+        return FIXED_RECORD_BYTES + model.getCellCount() + model.getSymbolCount() * WINNER_BYTES;
+    }
+
+    /**
+     * @return the reward in units of 1/{@link #REWARD_SCALE}, converted from minor units without going
+     * through a {@code double}; exact whenever the config's reward scale divides {@link #REWARD_SCALE}
+     */
+    static long wireReward(SpinResult result) {
+        long scale = result.getScale();
+        return Math.floorDiv(Math.multiplyExact(result.getRewardMinorUnits(), REWARD_SCALE) + scale / 2, scale);
+    }
+
+    /**
+     * Writes one spin at the buffer's position, which must have {@link #maxRecordBytes} bytes left.
+     */
+    public static void encodeRecord(ByteBuffer buffer, SpinResult result) {
+        buffer.putLong(wireReward(result));
+        int bonus = result.getAppliedBonusSymbol();
+        buffer.put((byte) (bonus < 0 ? NO_SYMBOL : bonus));
+        for (int symbol : result.getGrid()) {
+            buffer.put((byte) symbol);
+        }
+        int winnersPosition = buffer.position();
+        buffer.put((byte) 0);
+        int winners = 0;
+        long[] applied = result.getAppliedCombinations();
+        for (int symbol = 0; symbol < applied.length; symbol++) {
+            if (applied[symbol] != 0) {
+                buffer.put((byte) symbol);
+                buffer.putLong(applied[symbol]);
+                winners++;
+            }
+        }
+        buffer.put(winnersPosition, (byte) winners);
+    }
+}
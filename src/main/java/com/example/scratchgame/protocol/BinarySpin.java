@@ -0,0 +1,57 @@
+package com.example.scratchgame.protocol;
+
+/**
+ * One spin decoded from a {@link BinaryProtocol} response. Ids resolve through the {@link SpinDictionary}
+ * of {@link #getConfigVersion()}.
+ */
+public final class BinarySpin {
+
+    private final long configVersion;
+    private final long rewardUnits;
+    private final int appliedBonusSymbol;
+    private final int[] grid;
+    private final long[] appliedCombinations;
+
+    BinarySpin(long configVersion, long rewardUnits, int appliedBonusSymbol, int[] grid,
+               long[] appliedCombinations) {
+        this.configVersion = configVersion;
+        this.rewardUnits = rewardUnits;
+        this.appliedBonusSymbol = appliedBonusSymbol;
+        this.grid = grid;
+        this.appliedCombinations = appliedCombinations;
+    }
+
+    public long getConfigVersion() {
+        return configVersion;
+    }
+
+    /**
+     * @return the reward in units of 1/{@link BinaryProtocol#REWARD_SCALE}
+     */
+    public long getRewardUnits() {
+        return rewardUnits;
+    }
+
+    public double getReward() {
+        return (double) rewardUnits / BinaryProtocol.REWARD_SCALE;
+    }
+
+    /**
+     * @return the bonus symbol id, or -1 when none was applied
+     */
+    public int getAppliedBonusSymbol() {
+        return appliedBonusSymbol;
+    }
+
+    public int[] getGrid() {
+        return grid;
+    }
+
+    /**
+     * @return per symbol id, the bitmask of combination ids it won; shorter than the symbol count when the
+     * highest symbol ids won nothing
+     */
+    public long[] getAppliedCombinations() {
+        return appliedCombinations;
+    }
+}
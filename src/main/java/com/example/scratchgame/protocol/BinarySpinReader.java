@@ -0,0 +1,68 @@
+package com.example.scratchgame.protocol;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Client-side decoder for a {@link BinaryProtocol} response body, read one spin at a time so batches can
+ * be consumed while they stream.
+ */
+public final class BinarySpinReader {
+
+    private final DataInputStream in;
+    private final long configVersion;
+    private final int cellCount;
+
+    /**
+     * Reads the response header.
+     *
+     * @throws IllegalArgumentException if the body has an unknown protocol version
+     */
+    public BinarySpinReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(in);
+        BinaryProtocol.checkVersion(this.in.readByte());
+        this.configVersion = this.in.readLong();
+        this.cellCount = this.in.readUnsignedShort();
+    }
+
+    public long getConfigVersion() {
+        return configVersion;
+    }
+
+    /**
+     * @return the next spin, or {@code null} at the end of the body
+     * @throws EOFException if the body ends inside a record
+     */
+    public BinarySpin next() throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return null;
+        }
+        long rewardUnits = first;
+        for (int i = 1; i < Long.BYTES; i++) {
+            rewardUnits = rewardUnits << 8 | in.readUnsignedByte();
+        }
+        int bonus = in.readUnsignedByte();
+        int[] grid = new int[cellCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            grid[cell] = in.readUnsignedByte();
+        }
+        int winners = in.readUnsignedByte();
+        int[] winnerSymbols = new int[winners];
+        long[] winnerMasks = new long[winners];
+        int maxSymbol = -1;
+        for (int i = 0; i < winners; i++) {
+            winnerSymbols[i] = in.readUnsignedByte();
+            winnerMasks[i] = in.readLong();
+            maxSymbol = Math.max(maxSymbol, winnerSymbols[i]);
+        }
+        long[] applied = new long[maxSymbol + 1];
+        for (int i = 0; i < winners; i++) {
+            applied[winnerSymbols[i]] = winnerMasks[i];
+        }
+        return new BinarySpin(configVersion, rewardUnits, bonus == BinaryProtocol.NO_SYMBOL ? -1 : bonus, grid,
+                applied);
+    }
+}
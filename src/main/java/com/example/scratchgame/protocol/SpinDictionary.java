@@ -0,0 +1,91 @@
+package com.example.scratchgame.protocol;
+
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.WinEvaluator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Names behind the ids of a {@link BinaryProtocol} response, for one config version. Served as JSON by
+ * {@code /play/dictionary}; clients cache it per version and refetch when a response header carries a
+ * version they have not seen.
+ */
+public class SpinDictionary {
+
+    private String version;
+    private int rows;
+    private int columns;
+    private List<String> symbols;
+    private List<String> combinations;
+
+    public static SpinDictionary of(GameModel model) {
+        SpinDictionary dictionary = new SpinDictionary();
+        dictionary.version = Long.toHexString(model.getVersion());
+        dictionary.rows = model.getRows();
+        dictionary.columns = model.getColumns();
+        dictionary.symbols = List.of(model.getSymbolNames());
+        WinEvaluator winEvaluator = model.getWinEvaluator();
+        List<String> combinations = new ArrayList<>(winEvaluator.getCombinationCount());
+        for (int id = 0; id < winEvaluator.getCombinationCount(); id++) {
+            combinations.add(winEvaluator.getCombination(id).getName());
+        }
+        dictionary.combinations = List.copyOf(combinations);
+        return dictionary;
+    }
+
+    /**
+     * @return whether this dictionary describes the config version a spin was played on
+     */
+    public boolean describes(BinarySpin spin) {
+        return Long.parseUnsignedLong(version, 16) == spin.getConfigVersion();
+    }
+
+    public String getSymbolName(int symbolId) {
+        return symbols.get(symbolId);
+    }
+
+    public String getCombinationName(int combinationId) {
+        return combinations.get(combinationId);
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public void setRows(int rows) {
+        this.rows = rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public void setColumns(int columns) {
+        this.columns = columns;
+    }
+
+    public List<String> getSymbols() {
+        return symbols;
+    }
+
+    public void setSymbols(List<String> symbols) {
+        this.symbols = symbols;
+    }
+
+    public List<String> getCombinations() {
+        return combinations;
+    }
+
+    public void setCombinations(List<String> combinations) {
+        this.combinations = combinations;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.scratchgame.service;
+
+import com.example.scratchgame.engine.GameModel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Publishes the current {@link GameModel}. Spins read it with a single volatile load; reloads compile and
+ * validate a replacement off to the side and swap it in, so in-flight spins keep the model they started with.
+ */
+@Component
+public class GameModelHolder {
+
+    private static final Logger log = LoggerFactory.getLogger(GameModelHolder.class);
+
+    private final AtomicReference<GameModel> current = new AtomicReference<>();
+    private final Path configPath;
+    private final boolean watch;
+    private volatile WatchService watchService;
+
+    public GameModelHolder(@Value("${scratchgame.config.path:src/main/resources/config.json}") String configPath,
+                           @Value("${scratchgame.config.watch:false}") boolean watch) {
+        this.configPath = Paths.get(configPath).toAbsolutePath();
+        this.watch = watch;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        reload();
+        if (watch) {
+            startWatcher();
+        }
+    }
+
+    public GameModel current() {
+        return current.get();
+    }
+
+    /**
+     * Reads, compiles and publishes the config file. The previous model stays active if anything fails.
+     */
+    public synchronized GameModel reload() throws IOException {
+        GameModel model = GameModel.load(configPath);
+        current.set(model);
+        log.info("Loaded game config {} (version {})", configPath, Long.toHexString(model.getVersion()));
+        return model;
+    }
+
+    private void startWatcher() throws IOException {
+        Path directory = configPath.getParent();
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        Thread watcher = new Thread(this::watchLoop, "game-config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void watchLoop() {
+        WatchService service = watchService;
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (configPath.getFileName().equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+                if (changed) {
+                    try {
+                        reload();
+                    } catch (IOException | RuntimeException e) {
+                        log.warn("Rejected config change in {}: {}", configPath, e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+}
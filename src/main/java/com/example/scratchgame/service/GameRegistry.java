@@ -0,0 +1,190 @@
+package com.example.scratchgame.service;
+
+import com.example.scratchgame.engine.GameModel;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled {@link GameModel}s of the game variants under one directory, one {@code <gameId>.json} file
+ * each, loaded on first use. A hit is a map lookup returning an already completed future. A miss starts
+ * the load on a small loader pool and every concurrent miss for the same game shares that one future.
+ * Loaded models are cached by game id and config version: {@link #get(String)} plays the version last read
+ * from the file, and {@link #get(String, long)} pins an earlier one that is still cached, so a reload adds a
+ * version instead of replacing the variant in place. Once more than {@code maxEntries} versions are cached,
+ * the least recently played ones are evicted; a failed load is evicted straight away so the next request
+ * retries it.
+ */
+@Component
+public class GameRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(GameRegistry.class);
+    private static final Pattern GAME_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    /** Access times closer together than this are not rewritten, to keep hits from bouncing cache lines. */
+    private static final long ACCESS_GRANULARITY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Path directory;
+    private final int maxEntries;
+    private final ExecutorService loader;
+    /** The version each game's file last loaded as, by game id, including loads still in flight. */
+    private final ConcurrentHashMap<String, Entry> current = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<GameVersion, Entry> versions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GameRegistry(@Value("${scratchgame.games.dir:games}") String directory,
+                        @Value("${scratchgame.games.max-entries:32}") int maxEntries,
+                        @Value("${scratchgame.games.loader-threads:2}") int loaderThreads) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("max entries must be positive");
+        }
+        this.directory = Paths.get(directory).toAbsolutePath();
+        this.maxEntries = maxEntries;
+        AtomicInteger threads = new AtomicInteger();
+        this.loader = Executors.newFixedThreadPool(loaderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "game-registry-loader-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return the current compiled model of {@code gameId}, completed at once when it is cached, or
+     * exceptionally with {@link UnknownGameException} or the load failure
+     */
+    public CompletableFuture<GameModel> get(String gameId) {
+        Entry entry = current.get(gameId);
+        if (entry == null) {
+            if (!GAME_ID.matcher(gameId).matches()) {
+                return CompletableFuture.failedFuture(new UnknownGameException(gameId));
+            }
+            entry = current.computeIfAbsent(gameId, this::load);
+        }
+        return touch(entry);
+    }
+
+    /**
+     * @return the compiled model of {@code gameId} at {@code version}, which is either still cached or what
+     * the file loads as now; any other version fails with {@link UnknownGameException}
+     */
+    public CompletableFuture<GameModel> get(String gameId, long version) {
+        Entry entry = versions.get(new GameVersion(gameId, version));
+        if (entry != null) {
+            return touch(entry);
+        }
+        return get(gameId).thenApply(model -> {
+            if (model.getVersion() != version) {
+                throw new UnknownGameException(gameId, version);
+            }
+            return model;
+        });
+    }
+
+    /**
+     * Makes the next request for {@code gameId} read its file again. Versions already loaded stay cached
+     * for callers that pin them until they are evicted.
+     */
+    public void invalidate(String gameId) {
+        current.remove(gameId);
+    }
+
+    /**
+     * @return every cached version of each successfully loaded game, by game id, the current one first
+     */
+    public Map<String, List<String>> loadedVersions() {
+        Map<String, List<String>> loaded = new LinkedHashMap<>();
+        versions.forEach((key, entry) -> {
+            List<String> gameVersions = loaded.computeIfAbsent(key.gameId(), gameId -> new ArrayList<>());
+            String version = Long.toHexString(key.version());
+            if (current.get(key.gameId()) == entry) {
+                gameVersions.add(0, version);
+            } else {
+                gameVersions.add(version);
+            }
+        });
+        return loaded;
+    }
+
+    private static CompletableFuture<GameModel> touch(Entry entry) {
+        long now = System.nanoTime();
+        if (now - entry.lastAccess > ACCESS_GRANULARITY_NANOS) {
+            entry.lastAccess = now;
+        }
+        return entry.model;
+    }
+
+    private Entry load(String gameId) {
+        Path path = directory.resolve(gameId + ".json");
+        Entry entry = new Entry();
+        entry.model = CompletableFuture.supplyAsync(() -> {
+            try {
+                GameModel model = GameModel.load(path);
+                log.info("Loaded game {} from {} (version {})", gameId, path, Long.toHexString(model.getVersion()));
+                return model;
+            } catch (NoSuchFileException e) {
+                throw new UnknownGameException(gameId);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, loader).whenCompleteAsync((model, failure) -> {
+            if (failure != null) {
+                current.remove(gameId, entry);
+            } else {
+                versions.put(new GameVersion(gameId, model.getVersion()), entry);
+                evictIfFull();
+            }
+        }, loader);
+        return entry;
+    }
+
+    private void evictIfFull() {
+        while (versions.size() > maxEntries) {
+            Map.Entry<GameVersion, Entry> oldest = null;
+            for (Map.Entry<GameVersion, Entry> candidate : versions.entrySet()) {
+                if (oldest == null || candidate.getValue().lastAccess - oldest.getValue().lastAccess < 0) {
+                    oldest = candidate;
+                }
+            }
+            if (oldest == null || !versions.remove(oldest.getKey(), oldest.getValue())) {
+                return;
+            }
+            current.remove(oldest.getKey().gameId(), oldest.getValue());
+            log.info("Evicted game {} version {} from the registry", oldest.getKey().gameId(),
+                    Long.toHexString(oldest.getKey().version()));
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        loader.shutdownNow();
+    }
+
+    private record GameVersion(String gameId, long version) {
+    }
+
+    private static final class Entry {
+
+        /** Set before the entry is published through the map. */
+        CompletableFuture<GameModel> model;
+        volatile long lastAccess = System.nanoTime();
+    }
+}
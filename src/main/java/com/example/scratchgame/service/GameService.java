@@ -1,10 +1,53 @@
 package com.example.scratchgame.service;
 
 import com.example.scratchgame.config.Config;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
 import com.example.scratchgame.game.GameRequest;
 import com.example.scratchgame.game.GameResponse;
+import com.example.scratchgame.pool.TicketPool;
+
+import java.util.random.RandomGenerator;
 
 public interface GameService {
 
-    GameResponse playGame(GameRequest request, Config config);
+    GameResponse playGame(GameRequest request, GameModel model);
+
+    default GameResponse playGame(GameRequest request, Config config) {
+        return playGame(request, GameModel.compile(config));
+    }
+
+    /**
+     * Runs one spin and returns the engine result without building a response, for callers that only
+     * aggregate outcomes.
+     */
+    SpinResult spin(int betAmount, GameModel model);
+
+    /**
+     * Runs one spin paid from {@code playerId}'s wallet: the bet is reserved before the spin and settled
+     * with the reward after it. Without a player, or with wallets disabled, this is
+     * {@link #spin(int, GameModel)}.
+     *
+     * @throws com.example.scratchgame.wallet.InsufficientFundsException if the player cannot cover the bet
+     */
+    SpinResult spin(String playerId, int betAmount, GameModel model);
+
+    /**
+     * Runs one spin drawing from {@code random}, typically a stream obtained from {@link #newRandomStream()}.
+     */
+    SpinResult spin(int betAmount, GameModel model, RandomGenerator random);
+
+    /**
+     * Claims the next ticket of {@code pool} at the pool's price. The ticket is journaled by its index and
+     * monitored like a spin.
+     *
+     * @return the ticket, or {@code null} once the pool is sold out
+     */
+    SpinResult claim(TicketPool pool);
+
+    /**
+     * Returns a random stream owned by the caller, independent of the per-thread streams used by
+     * {@link #spin(int, GameModel)}.
+     */
+    RandomGenerator newRandomStream();
 }
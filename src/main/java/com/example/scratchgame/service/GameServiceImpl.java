@@ -1,208 +1,134 @@
 package com.example.scratchgame.service;
 
-import com.example.scratchgame.config.*;
+import com.example.scratchgame.engine.GameEngine;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinPhaseRecorder;
+import com.example.scratchgame.engine.SpinResult;
 import com.example.scratchgame.game.GameRequest;
 import com.example.scratchgame.game.GameResponse;
+import com.example.scratchgame.journal.SpinJournal;
+import com.example.scratchgame.metrics.PlayMetrics;
+import com.example.scratchgame.monitor.RtpMonitor;
+import com.example.scratchgame.pool.TicketPool;
+import com.example.scratchgame.random.RandomProvider;
+import com.example.scratchgame.wallet.Wallet;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.*;
+import java.util.random.RandomGenerator;
 
 @Service
 public class GameServiceImpl implements GameService {
 
-    private final Random random = new Random();
+    private final RandomProvider randomProvider;
+    private final SpinJournal journal;
+    private final PlayMetrics metrics;
+    private final SpinPhaseRecorder phaseRecorder;
+    private final RtpMonitor rtpMonitor;
+    private final Wallet wallet;
+    private final GameEngine engine = new GameEngine();
 
-    @Override
-    public GameResponse playGame(GameRequest request, Config config) {
-        int betAmount = request.getBetAmount();
-        List<List<String>> matrix = generateMatrix(config);
-
-
-        Map<String, List<String>> appliedWinningCombinations = calculateAppliedWinningCombinations(matrix, config);
-
-
-        double reward = calculateReward(matrix, betAmount, config, appliedWinningCombinations);
-
-
-        String appliedBonusSymbol = null;
-        if (!appliedWinningCombinations.isEmpty()) {
-            appliedBonusSymbol = calculateAppliedBonusSymbol(config);
-            reward = applyBonusSymbol(appliedBonusSymbol, reward);
-        } else {
-            reward = 0;
-        }
-
-        GameResponse response = new GameResponse();
-        response.setMatrix(matrix);
-        response.setReward(reward);
-        response.setAppliedWinningCombinations(appliedWinningCombinations);
-        response.setAppliedBonusSymbol(appliedBonusSymbol);
-
-        return response;
+    public GameServiceImpl(RandomProvider randomProvider) {
+        this(randomProvider, SpinJournal.DISABLED);
     }
 
-    private List<List<String>> generateMatrix(Config config) {
-        int columns = config.getColumns();
-        int rows = config.getRows();
-        List<List<String>> matrix = new ArrayList<>();
-
-        for (int i = 0; i < rows; i++) {
-            List<String> row = new ArrayList<>();
-            for (int j = 0; j < columns; j++) {
-                String symbol = generateRandomSymbol(config.getProbabilities().getStandardSymbols(), j, i);
-                row.add(symbol);
-            }
-            matrix.add(row);
-        }
-
-
-        int numberOfBonusSymbols = random.nextInt(columns * rows / 4); // Random number of bonus symbols to add
-        for (int i = 0; i < numberOfBonusSymbols; i++) {
-            int randomRow = random.nextInt(rows);
-            int randomCol = random.nextInt(columns);
-            String bonusSymbol = generateRandomBonusSymbol(config.getProbabilities().getBonusSymbols());
-            matrix.get(randomRow).set(randomCol, bonusSymbol);
-        }
-
-        return matrix;
+    public GameServiceImpl(RandomProvider randomProvider, SpinJournal journal) {
+        this(randomProvider, journal, PlayMetrics.DISABLED);
     }
 
-    private String generateRandomSymbol(List<Probability> probabilities, int column, int row) {
-        Map<String, Integer> symbolProbabilities = probabilities.stream()
-                .filter(p -> p.getColumn() == column && p.getRow() == row)
-                .findFirst()
-                .orElse(probabilities.get(0))
-                .getSymbols();
-
-        double totalProbability = symbolProbabilities.values().stream().mapToDouble(Integer::doubleValue).sum();
-        double randomValue = random.nextDouble() * totalProbability;
-
-        double cumulativeProbability = 0;
-        for (Map.Entry<String, Integer> entry : symbolProbabilities.entrySet()) {
-            cumulativeProbability += entry.getValue();
-            if (randomValue < cumulativeProbability) {
-                return entry.getKey();
-            }
-        }
-        throw new RuntimeException("Failed to generate symbol based on probabilities.");
+    public GameServiceImpl(RandomProvider randomProvider, SpinJournal journal, PlayMetrics metrics) {
+        this(randomProvider, journal, metrics, RtpMonitor.DISABLED);
     }
 
-    private String generateRandomBonusSymbol(BonusSymbols bonusSymbols) {
-        double totalProbability = calculateTotalProbability(bonusSymbols);
-        double randomValue = random.nextDouble() * totalProbability;
-
-        double cumulativeProbability = 0;
-        for (Map.Entry<String, Integer> entry : bonusSymbols.getSymbols().entrySet()) {
-            cumulativeProbability += entry.getValue();
-            if (randomValue < cumulativeProbability) {
-                return entry.getKey();
-            }
-        }
-        throw new RuntimeException("Failed to generate bonus symbol based on probabilities.");
+    public GameServiceImpl(RandomProvider randomProvider, SpinJournal journal, PlayMetrics metrics,
+                           RtpMonitor rtpMonitor) {
+        this(randomProvider, journal, metrics, rtpMonitor, Wallet.DISABLED);
     }
 
-    private double calculateTotalProbability(BonusSymbols bonusSymbols) {
-        return bonusSymbols.getSymbols().values().stream().mapToDouble(Integer::doubleValue).sum();
+    @Autowired
+    public GameServiceImpl(RandomProvider randomProvider, SpinJournal journal, PlayMetrics metrics,
+                           RtpMonitor rtpMonitor, Wallet wallet) {
+        this.randomProvider = randomProvider;
+        this.journal = journal;
+        this.metrics = metrics;
+        this.phaseRecorder = metrics.isEnabled() ? metrics : null;
+        this.rtpMonitor = rtpMonitor;
+        this.wallet = wallet;
     }
 
-    private double calculateReward(List<List<String>> matrix, int betAmount, Config config, Map<String, List<String>> appliedWinningCombinations) {
-        double totalReward = 0;
-
-        for (Map.Entry<String, List<String>> entry : appliedWinningCombinations.entrySet()) {
-            String symbol = entry.getKey();
-            List<String> combinations = entry.getValue();
-
-            Symbol symbolConfig = config.getSymbols().get(symbol);
-            if (symbolConfig != null && symbolConfig.getType().equals("standard")) {
-                double symbolReward = betAmount * symbolConfig.getRewardMultiplier();
-                for (String combination : combinations) {
-                    WinCombination winCombination = config.getWinCombinations().get(combination);
-                    symbolReward *= winCombination.getRewardMultiplier();
-                }
-                totalReward += symbolReward;
-            }
-        }
-
-        return totalReward;
+    @Override
+    public GameResponse playGame(GameRequest request, GameModel model) {
+        return GameResponse.of(spin(request.getPlayerId(), request.getBetAmount(), model), model);
     }
 
-    private Map<String, List<String>> calculateAppliedWinningCombinations(List<List<String>> matrix, Config config) {
-        Map<String, List<String>> appliedWinningCombinations = new HashMap<>();
-        checkCombinations(matrix, config, appliedWinningCombinations, config.getWinCombinations().get("same_symbols_horizontally").getCoveredAreas(), "same_symbols_horizontally");
-        checkCombinations(matrix, config, appliedWinningCombinations, config.getWinCombinations().get("same_symbols_vertically").getCoveredAreas(), "same_symbols_vertically");
-        checkCombinations(matrix, config, appliedWinningCombinations, config.getWinCombinations().get("same_symbols_diagonally_left_to_right").getCoveredAreas(), "same_symbols_diagonally_left_to_right");
-        checkCombinations(matrix, config, appliedWinningCombinations, config.getWinCombinations().get("same_symbols_diagonally_right_to_left").getCoveredAreas(), "same_symbols_diagonally_right_to_left");
-
-
-        for (String symbol : config.getSymbols().keySet()) {
-            long count = matrix.stream().flatMap(List::stream).filter(s -> s.equals(symbol)).count();
-            for (Map.Entry<String, WinCombination> entry : config.getWinCombinations().entrySet()) {
-                WinCombination winCombination = entry.getValue();
-                if (winCombination.getWhen().equals("same_symbols") && count >= winCombination.getCount()) {
-                    appliedWinningCombinations.putIfAbsent(symbol, new ArrayList<>());
-                    appliedWinningCombinations.get(symbol).add(entry.getKey());
-                }
-            }
-        }
-
-        return appliedWinningCombinations;
+    @Override
+    public SpinResult spin(int betAmount, GameModel model) {
+        return spin(betAmount, model, randomProvider.current());
     }
 
-    private void checkCombinations(List<List<String>> matrix, Config config, Map<String, List<String>> appliedWinningCombinations, List<List<String>> coveredAreas, String combinationName) {
-        for (List<String> area : coveredAreas) {
-            String firstSymbol = null;
-            boolean match = true;
-            for (String position : area) {
-                String[] pos = position.split(":");
-                int row = Integer.parseInt(pos[0]);
-                int col = Integer.parseInt(pos[1]);
-                String symbol = matrix.get(row).get(col);
-
-                if (firstSymbol == null) {
-                    firstSymbol = symbol;
-                } else if (!firstSymbol.equals(symbol)) {
-                    match = false;
-                    break;
-                }
-            }
-            if (match && firstSymbol != null) {
-                appliedWinningCombinations.putIfAbsent(firstSymbol, new ArrayList<>());
-                appliedWinningCombinations.get(firstSymbol).add(combinationName);
-            }
+    /**
+     * Wallet amounts are minor units at the model's {@code reward_scale}.
+     */
+    @Override
+    public SpinResult spin(String playerId, int betAmount, GameModel model) {
+        if (playerId == null || !wallet.isEnabled()) {
+            return spin(betAmount, model);
+        }
+        if (betAmount <= 0) {
+            throw new IllegalArgumentException("betAmount must be positive");
+        }
+        long scale = model.getPaytable().getScale();
+        long bet = betAmount * scale;
+        wallet.reserve(playerId, bet);
+        try {
+            SpinResult result = spin(betAmount, model);
+            wallet.settle(playerId, bet, result.getRewardMinorUnits());
+            return result;
+        } catch (RuntimeException e) {
+            wallet.cancel(playerId, bet);
+            throw e;
         }
     }
 
-    private String calculateAppliedBonusSymbol(Config config) {
-        Probabilities probabilities = config.getProbabilities();
-        BonusSymbols bonusSymbols = probabilities.getBonusSymbols();
-        double totalProbability = calculateTotalProbability(bonusSymbols);
-        double randomValue = random.nextDouble() * totalProbability;
-        double cumulativeProbability = 0;
-
-        for (Map.Entry<String, Integer> entry : bonusSymbols.getSymbols().entrySet()) {
-            cumulativeProbability += entry.getValue();
-            if (randomValue < cumulativeProbability) {
-                return entry.getKey();
-            }
+    @Override
+    public SpinResult spin(int betAmount, GameModel model, RandomGenerator random) {
+        long seed = random.nextLong();
+        SpinResult result = engine.spin(model, betAmount, randomProvider.spinGenerator(seed), phaseRecorder);
+        rtpMonitor.record(model, betAmount, result);
+        if (phaseRecorder == null) {
+            journal.append(seed, model, betAmount, result);
+            return result;
         }
-        return null;
+        long start = System.nanoTime();
+        journal.append(seed, model, betAmount, result);
+        metrics.recordJournal(System.nanoTime() - start);
+        metrics.recordSpin(model, result);
+        return result;
     }
 
-    private double applyBonusSymbol(String bonusSymbol, double reward) {
-        if (bonusSymbol == null || reward == 0) {
-            return reward;
+    @Override
+    public SpinResult claim(TicketPool pool) {
+        long index = pool.claimIndex();
+        if (index < 0) {
+            return null;
         }
-        switch (bonusSymbol) {
-            case "10x":
-                return reward * 10;
-            case "5x":
-                return reward * 5;
-            case "+1000":
-                return reward + 1000;
-            case "+500":
-                return reward + 500;
-            default:
-                return reward;
+        GameModel model = pool.getModel();
+        int betAmount = pool.getBetAmount();
+        SpinResult ticket = pool.getTicket(index);
+        rtpMonitor.record(model, betAmount, ticket);
+        if (phaseRecorder == null) {
+            journal.appendTicket(index, model, betAmount, ticket);
+            return ticket;
         }
+        long start = System.nanoTime();
+        journal.appendTicket(index, model, betAmount, ticket);
+        metrics.recordJournal(System.nanoTime() - start);
+        metrics.recordSpin(model, ticket);
+        return ticket;
+    }
+
+    @Override
+    public RandomGenerator newRandomStream() {
+        return randomProvider.split();
     }
 }
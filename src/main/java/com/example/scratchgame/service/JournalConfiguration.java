@@ -0,0 +1,29 @@
+package com.example.scratchgame.service;
+
+import com.example.scratchgame.journal.MappedSpinJournal;
+import com.example.scratchgame.journal.SpinJournal;
+import com.example.scratchgame.random.RandomProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+@Configuration
+public class JournalConfiguration {
+
+    @Bean
+    public SpinJournal spinJournal(@Value("${scratchgame.journal.enabled:true}") boolean enabled,
+                                   @Value("${scratchgame.journal.dir:journal}") String directory,
+                                   @Value("${scratchgame.journal.segment-size:67108864}") int segmentSize,
+                                   @Value("${scratchgame.journal.flush-interval-ms:10}") long flushIntervalMillis,
+                                   RandomProvider randomProvider)
+            throws IOException {
+        if (!enabled) {
+            return SpinJournal.DISABLED;
+        }
+        return new MappedSpinJournal(Paths.get(directory).toAbsolutePath(), segmentSize, flushIntervalMillis,
+                randomProvider.getAlgorithm());
+    }
+}
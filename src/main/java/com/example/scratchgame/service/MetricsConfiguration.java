@@ -0,0 +1,21 @@
+package com.example.scratchgame.service;
+
+import com.example.scratchgame.metrics.MicrometerPlayMetrics;
+import com.example.scratchgame.metrics.PlayMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public PlayMetrics playMetrics(@Value("${scratchgame.metrics.enabled:true}") boolean enabled,
+                                   MeterRegistry registry) {
+        if (!enabled) {
+            return PlayMetrics.DISABLED;
+        }
+        return new MicrometerPlayMetrics(registry);
+    }
+}
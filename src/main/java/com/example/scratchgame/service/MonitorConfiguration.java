@@ -0,0 +1,32 @@
+package com.example.scratchgame.service;
+
+import com.example.scratchgame.monitor.RtpMonitor;
+import com.example.scratchgame.monitor.SlidingWindowRtpMonitor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class MonitorConfiguration {
+
+    /**
+     * Leave {@code scratchgame.monitor.target-rtp} unset to compare each config version against its own
+     * exact RTP at {@code scratchgame.monitor.reference-bet}.
+     */
+    @Bean
+    public RtpMonitor rtpMonitor(@Value("${scratchgame.monitor.enabled:true}") boolean enabled,
+                                 @Value("${scratchgame.monitor.window-seconds:600}") long windowSeconds,
+                                 @Value("${scratchgame.monitor.buckets:60}") int buckets,
+                                 @Value("${scratchgame.monitor.z-score:3.0}") double zScore,
+                                 @Value("${scratchgame.monitor.min-spins:10000}") long minSpins,
+                                 @Value("${scratchgame.monitor.target-rtp:NaN}") double targetRtp,
+                                 @Value("${scratchgame.monitor.reference-bet:100}") int referenceBet) {
+        if (!enabled) {
+            return RtpMonitor.DISABLED;
+        }
+        return new SlidingWindowRtpMonitor(Duration.ofSeconds(windowSeconds), buckets, zScore, minSpins, targetRtp,
+                referenceBet);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.scratchgame.service;
+
+import com.example.scratchgame.pool.TicketPool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+@Configuration
+public class PoolConfiguration {
+
+    /**
+     * Pool mode is on when {@code scratchgame.pool.file} is set; the pool must have been generated from the
+     * config at {@code scratchgame.config.path}.
+     */
+    @Bean
+    @ConditionalOnProperty("scratchgame.pool.file")
+    public TicketPool ticketPool(@Value("${scratchgame.pool.file}") String file, GameModelHolder modelHolder)
+            throws IOException {
+        return TicketPool.open(Paths.get(file).toAbsolutePath(), modelHolder.current());
+    }
+}
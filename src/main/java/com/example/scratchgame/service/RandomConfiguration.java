@@ -0,0 +1,20 @@
+package com.example.scratchgame.service;
+
+import com.example.scratchgame.random.RandomProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RandomConfiguration {
+
+    /**
+     * {@code scratchgame.random.seed} is meant for reproducible test environments only; production should
+     * leave it unset so the root stream is seeded from entropy.
+     */
+    @Bean
+    public RandomProvider randomProvider(@Value("${scratchgame.random.algorithm:L64X128MixRandom}") String algorithm,
+                                         @Value("${scratchgame.random.seed:#{null}}") Long seed) {
+        return RandomProvider.create(algorithm, seed);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.scratchgame.service;
+
+import com.example.scratchgame.session.TicketSessionStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SessionConfiguration {
+
+    /**
+     * Session mode is on when {@code scratchgame.sessions.enabled} is set: /play answers with a ticket id and
+     * the grid is uncovered through /reveal. Once {@code max-open} tickets are open the oldest are dropped.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "scratchgame.sessions.enabled", havingValue = "true")
+    public TicketSessionStore ticketSessionStore(@Value("${scratchgame.sessions.max-open:1000000}") int maxOpen,
+                                                 @Value("${scratchgame.sessions.shards:64}") int shards,
+                                                 @Value("${scratchgame.sessions.max-cells:16}") int maxCells,
+                                                 @Value("${scratchgame.sessions.ttl-seconds:900}") long ttlSeconds) {
+        return new TicketSessionStore(maxOpen, shards, maxCells, ttlSeconds);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.scratchgame.service;
+
+/**
+ * Thrown by {@link GameRegistry} for a game id that is malformed or has no config file, or for a pinned version
+ * that is neither cached nor the one the file loads as.
+ */
+public class UnknownGameException extends RuntimeException {
+
+    public UnknownGameException(String gameId) {
+        super("unknown game " + gameId);
+    }
+
+    public UnknownGameException(String gameId, long version) {
+        super("unknown game " + gameId + " version " + Long.toHexString(version));
+    }
+}
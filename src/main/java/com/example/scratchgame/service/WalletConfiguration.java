@@ -0,0 +1,31 @@
+package com.example.scratchgame.service;
+
+import com.example.scratchgame.wallet.StripedWallet;
+import com.example.scratchgame.wallet.Wallet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+@Configuration
+public class WalletConfiguration {
+
+    /**
+     * With {@code scratchgame.wallet.sync} set, a paid spin responds only after its settlement is on disk.
+     */
+    @Bean
+    public Wallet wallet(@Value("${scratchgame.wallet.enabled:false}") boolean enabled,
+                         @Value("${scratchgame.wallet.dir:ledger}") String directory,
+                         @Value("${scratchgame.wallet.shards:64}") int shards,
+                         @Value("${scratchgame.wallet.segment-size:67108864}") int segmentSize,
+                         @Value("${scratchgame.wallet.flush-interval-ms:2}") long flushIntervalMillis,
+                         @Value("${scratchgame.wallet.sync:true}") boolean sync) throws IOException {
+        if (!enabled) {
+            return Wallet.DISABLED;
+        }
+        return new StripedWallet(Paths.get(directory).toAbsolutePath(), shards, segmentSize, flushIntervalMillis,
+                sync);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.scratchgame.session;
+
+import com.example.scratchgame.game.GameResponse;
+
+/**
+ * Answer to one reveal: the symbol under the cell and, once the last cell is revealed, the outcome of the
+ * whole ticket. {@code result} is null until then.
+ */
+public final class RevealResponse {
+
+    private final String symbol;
+    private final int revealedCells;
+    private final int remainingCells;
+    private final GameResponse result;
+
+    public RevealResponse(String symbol, int revealedCells, int remainingCells, GameResponse result) {
+        this.symbol = symbol;
+        this.revealedCells = revealedCells;
+        this.remainingCells = remainingCells;
+        this.result = result;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public int getRevealedCells() {
+        return revealedCells;
+    }
+
+    public int getRemainingCells() {
+        return remainingCells;
+    }
+
+    public GameResponse getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.scratchgame.session;
+
+/**
+ * Answer to a spin played in session mode: the ticket to reveal and the size of its grid, but nothing of
+ * what is on it.
+ */
+public final class TicketResponse {
+
+    private final String ticketId;
+    private final int rows;
+    private final int columns;
+
+    public TicketResponse(String ticketId, int rows, int columns) {
+        this.ticketId = ticketId;
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+}
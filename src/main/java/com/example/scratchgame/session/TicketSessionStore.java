@@ -0,0 +1,308 @@
+package com.example.scratchgame.session;
+
+import com.example.scratchgame.engine.GameModel;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Open scratch tickets, revealed one cell at a time. A ticket is a fixed-size slot of longs: its secret key,
+ * expiry, bet and revealed count, a bitmask of revealed cells and the grid packed one symbol id per byte. With
+ * the default 16-cell slots that is 48 bytes plus a model reference per ticket, so a million open tickets
+ * take about 50 MB.
+ * <p>
+ * Slots are striped over shards by key, each a ring of {@code maxOpen / shards} slots allocated in chunks
+ * as the ring first fills. A new ticket takes the next slot of its shard's ring, which always holds the
+ * shard's oldest ticket: an expired or finished one is simply reused, a live one is evicted, so the store
+ * never holds more than {@code maxOpen} tickets and needs no sweeper. Expiry is checked on every access.
+ * <p>
+ * A ticket id is its slot number and its 64-bit key from {@link SecureRandom}, so ids cannot be guessed or
+ * replayed once a slot has moved on to another ticket.
+ */
+public final class TicketSessionStore {
+
+    /** Symbol ids are packed into a byte each. */
+    public static final int MAX_SYMBOLS = 256;
+
+    private static final int CHUNK_SLOTS = 4096;
+    private static final int KEY = 0;
+    private static final int EXPIRES = 1;
+    /** Bet in the high half, revealed cell count in the low half. */
+    private static final int BET_AND_REVEALED = 2;
+    private static final int MASK = 3;
+    private static final int ID_LENGTH = 24;
+
+    /**
+     * State of a ticket after a reveal. The grid is null until every cell has been revealed.
+     */
+    public static final class Reveal {
+
+        private final GameModel model;
+        private final int betAmount;
+        private final int symbol;
+        private final int revealedCells;
+        private final int[] grid;
+
+        Reveal(GameModel model, int betAmount, int symbol, int revealedCells, int[] grid) {
+            this.model = model;
+            this.betAmount = betAmount;
+            this.symbol = symbol;
+            this.revealedCells = revealedCells;
+            this.grid = grid;
+        }
+
+        public GameModel getModel() {
+            return model;
+        }
+
+        public int getBetAmount() {
+            return betAmount;
+        }
+
+        /**
+         * @return id of the symbol under the revealed cell
+         */
+        public int getSymbol() {
+            return symbol;
+        }
+
+        public int getRevealedCells() {
+            return revealedCells;
+        }
+
+        public int[] getGrid() {
+            return grid;
+        }
+
+        public boolean isFinished() {
+            return grid != null;
+        }
+    }
+
+    private final Shard[] shards;
+    private final int shardCapacity;
+    private final int maxCells;
+    private final int maskWords;
+    private final int stride;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final SecureRandom keys = new SecureRandom();
+
+    public TicketSessionStore(int maxOpen, int shards, int maxCells, long ttlSeconds) {
+        this(maxOpen, shards, maxCells, TimeUnit.SECONDS.toMillis(ttlSeconds), System::currentTimeMillis);
+    }
+
+    /**
+     * @param ttlMillis how long a ticket stays open, in milliseconds of {@code clock}
+     * @param clock source of the current time in milliseconds
+     */
+    public TicketSessionStore(int maxOpen, int shards, int maxCells, long ttlMillis, LongSupplier clock) {
+        if (shards <= 0 || Integer.bitCount(shards) != 1) {
+            throw new IllegalArgumentException("shards must be a power of two");
+        }
+        if (maxOpen < shards) {
+            throw new IllegalArgumentException("max open tickets must be at least the shard count");
+        }
+        if (maxCells <= 0 || ttlMillis <= 0) {
+            throw new IllegalArgumentException("max cells and ttl must be positive");
+        }
+        this.shards = new Shard[shards];
+        this.shardCapacity = maxOpen / shards;
+        for (int i = 0; i < shards; i++) {
+            this.shards[i] = new Shard((shardCapacity + CHUNK_SLOTS - 1) / CHUNK_SLOTS);
+        }
+        this.maxCells = maxCells;
+        this.maskWords = (maxCells + 63) / 64;
+        this.stride = MASK + maskWords + (maxCells + 7) / 8;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * @return whether tickets of {@code model} fit a slot
+     */
+    public boolean supports(GameModel model) {
+        return model.getCellCount() <= maxCells && model.getSymbolCount() <= MAX_SYMBOLS;
+    }
+
+    /**
+     * Stores a played ticket with no cell revealed.
+     *
+     * @return the id to reveal it with
+     * @throws IllegalArgumentException when the grid does not fit a slot
+     */
+    public String open(GameModel model, int betAmount, int[] grid) {
+        if (grid.length > maxCells) {
+            throw new IllegalArgumentException("grids over " + maxCells + " cells cannot be played as sessions");
+        }
+        if (model.getSymbolCount() > MAX_SYMBOLS) {
+            throw new IllegalArgumentException("configs over " + MAX_SYMBOLS + " symbols cannot be played as sessions");
+        }
+        long key;
+        do {
+            key = keys.nextLong();
+        } while (key == 0);
+        int shardIndex = (int) key & (shards.length - 1);
+        Shard shard = shards[shardIndex];
+        long now = clock.getAsLong();
+
+        int slot;
+        synchronized (shard) {
+            slot = (int) (shard.opened++ % shardCapacity);
+            long[] words = shard.chunk(slot, CHUNK_SLOTS, stride, shardCapacity);
+            GameModel[] models = shard.models[slot / CHUNK_SLOTS];
+            int base = (slot % CHUNK_SLOTS) * stride;
+            GameModel previous = models[slot % CHUNK_SLOTS];
+            if (words[base + KEY] != 0 && words[base + EXPIRES] > now
+                    && (int) words[base + BET_AND_REVEALED] < previous.getCellCount()) {
+                shard.evicted++;
+            }
+            words[base + KEY] = key;
+            words[base + EXPIRES] = now + ttlMillis;
+            words[base + BET_AND_REVEALED] = (long) betAmount << 32;
+            Arrays.fill(words, base + MASK, base + stride, 0);
+            int gridBase = base + MASK + maskWords;
+            for (int cell = 0; cell < grid.length; cell++) {
+                words[gridBase + (cell >>> 3)] |= (long) grid[cell] << ((cell & 7) << 3);
+            }
+            models[slot % CHUNK_SLOTS] = model;
+        }
+        return formatId(shardIndex * shardCapacity + slot, key);
+    }
+
+    /**
+     * Reveals one cell; revealing a cell again is harmless.
+     *
+     * @return the ticket after the reveal, or null when the id is unknown, expired or evicted
+     * @throws IllegalArgumentException when the cell is off the grid
+     */
+    public Reveal reveal(String ticketId, int row, int column) {
+        if (ticketId.length() != ID_LENGTH) {
+            return null;
+        }
+        int global;
+        long key;
+        try {
+            global = Integer.parseUnsignedInt(ticketId, 0, 8, 16);
+            key = Long.parseUnsignedLong(ticketId, 8, ID_LENGTH, 16);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (global < 0 || global / shardCapacity >= shards.length) {
+            return null;
+        }
+        Shard shard = shards[global / shardCapacity];
+        int slot = global % shardCapacity;
+        long now = clock.getAsLong();
+
+        synchronized (shard) {
+            long[] words = shard.words[slot / CHUNK_SLOTS];
+            int base = (slot % CHUNK_SLOTS) * stride;
+            if (words == null || key == 0 || words[base + KEY] != key || words[base + EXPIRES] <= now) {
+                return null;
+            }
+            GameModel model = shard.models[slot / CHUNK_SLOTS][slot % CHUNK_SLOTS];
+            if (row < 0 || row >= model.getRows() || column < 0 || column >= model.getColumns()) {
+                throw new IllegalArgumentException("cell " + row + ":" + column + " is off the grid");
+            }
+            int cell = row * model.getColumns() + column;
+            int maskIndex = base + MASK + (cell >>> 6);
+            long bit = 1L << (cell & 63);
+            if ((words[maskIndex] & bit) == 0) {
+                words[maskIndex] |= bit;
+                words[base + BET_AND_REVEALED]++;
+            }
+            int betAmount = (int) (words[base + BET_AND_REVEALED] >>> 32);
+            int revealed = (int) words[base + BET_AND_REVEALED];
+            int gridBase = base + MASK + maskWords;
+            int[] grid = null;
+            if (revealed == model.getCellCount()) {
+                grid = new int[revealed];
+                for (int i = 0; i < grid.length; i++) {
+                    grid[i] = symbolAt(words, gridBase, i);
+                }
+            }
+            return new Reveal(model, betAmount, symbolAt(words, gridBase, cell), revealed, grid);
+        }
+    }
+
+    /**
+     * @return tickets opened since start
+     */
+    public long getOpenedCount() {
+        long opened = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                opened += shard.opened;
+            }
+        }
+        return opened;
+    }
+
+    /**
+     * @return unexpired, unfinished tickets dropped to make room for new ones
+     */
+    public long getEvictedCount() {
+        long evicted = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                evicted += shard.evicted;
+            }
+        }
+        return evicted;
+    }
+
+    public int getCapacity() {
+        return shardCapacity * shards.length;
+    }
+
+    /**
+     * @return bytes held per ticket slot, not counting its model reference
+     */
+    public int getSlotBytes() {
+        return stride * Long.BYTES;
+    }
+
+    private static String formatId(int slot, long key) {
+        char[] id = new char[ID_LENGTH];
+        for (int i = 7; i >= 0; i--, slot >>>= 4) {
+            id[i] = Character.forDigit(slot & 0xf, 16);
+        }
+        for (int i = ID_LENGTH - 1; i >= 8; i--, key >>>= 4) {
+            id[i] = Character.forDigit((int) key & 0xf, 16);
+        }
+        return new String(id);
+    }
+
+    private static int symbolAt(long[] words, int gridBase, int cell) {
+        return (int) (words[gridBase + (cell >>> 3)] >>> ((cell & 7) << 3)) & 0xff;
+    }
+
+    private static final class Shard {
+
+        private final long[][] words;
+        private final GameModel[][] models;
+        private long opened;
+        private long evicted;
+
+        private Shard(int chunks) {
+            this.words = new long[chunks][];
+            this.models = new GameModel[chunks][];
+        }
+
+        /**
+         * @return the chunk holding {@code slot}, allocated on first use
+         */
+        private long[] chunk(int slot, int chunkSlots, int stride, int capacity) {
+            int index = slot / chunkSlots;
+            if (words[index] == null) {
+                int slots = Math.min(chunkSlots, capacity - index * chunkSlots);
+                words[index] = new long[slots * stride];
+                models[index] = new GameModel[slots];
+            }
+            return words[index];
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.scratchgame.wallet;
+
+/**
+ * Thrown by {@link Wallet#reserve} when a player cannot cover a bet.
+ */
+public class InsufficientFundsException extends RuntimeException {
+
+    public InsufficientFundsException(String playerId, long balance, long amount) {
+        super("player " + playerId + " has " + balance + " and cannot cover " + amount);
+    }
+}
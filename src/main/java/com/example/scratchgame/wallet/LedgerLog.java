@@ -0,0 +1,398 @@
+package com.example.scratchgame.wallet;
+
+import com.example.scratchgame.concurrent.ScratchPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-ahead log of wallet balance changes over memory-mapped segment files, in the layout of the spin
+ * journal: preallocated {@code ledger-<index>.wal} segments, rotated when full, with a fresh segment per
+ * process. Sequences are assigned under the append lock, so the file order is the sequence order.
+ * <p>
+ * A background thread forces everything appended since its last pass every {@code flushInterval}, and
+ * immediately when someone is waiting in {@link #awaitDurable}: one force covers every settlement that
+ * arrived while the previous one ran (group commit).
+ * <p>
+ * Record layout: {@code int length, long sequence, long timeMillis, long debit, long credit,
+ * long balance, short playerLength, byte[] player (UTF-8), int crc32c}; the CRC covers everything from
+ * the sequence to the player id. A zero length ends a segment, a bad CRC marks a torn tail.
+ */
+public final class LedgerLog implements Closeable {
+
+    static final String SEGMENT_PREFIX = "ledger-";
+    static final String SEGMENT_SUFFIX = ".wal";
+    static final int MAX_PLAYER_BYTES = 256;
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerLog.class);
+    private static final int FIXED_BYTES = Integer.BYTES + 5 * Long.BYTES + Short.BYTES + Integer.BYTES;
+    private static final int MAX_RECORD_BYTES = FIXED_BYTES + MAX_PLAYER_BYTES;
+
+    /**
+     * One balance change: {@code credit - debit} is the change, {@code balance} the balance right after it.
+     */
+    public record Entry(long sequence, long timeMillis, String playerId, long debit, long credit, long balance) {
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long flushIntervalNanos;
+    private final ScratchPool<ByteBuffer> encodeBuffers =
+            new ScratchPool<>(() -> ByteBuffer.allocate(MAX_RECORD_BYTES));
+
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Guarded by {@link #lock}. */
+    private long sequence;
+    /** Guarded by {@link #lock}. */
+    private final CRC32C crc = new CRC32C();
+    /** Segments rotated out but not yet forced by the flusher; guarded by {@link #lock}. */
+    private final ArrayDeque<Segment> retired = new ArrayDeque<>();
+    private Segment segment;
+    private long nextSegmentIndex;
+
+    private final ReentrantLock durableLock = new ReentrantLock();
+    private final Condition flushed = durableLock.newCondition();
+    private volatile long durableSequence;
+
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    /**
+     * Opens the log in {@code directory}, first passing every intact entry already there to
+     * {@code recovery} in sequence order.
+     */
+    public LedgerLog(Path directory, int segmentSize, long flushIntervalMillis, Consumer<Entry> recovery)
+            throws IOException {
+        if (segmentSize < 4096) {
+            throw new IllegalArgumentException("segment size must be at least 4096 bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        Files.createDirectories(directory);
+
+        List<Path> existing = segments(directory);
+        long lastSequence = 0;
+        for (Path path : existing) {
+            lastSequence = Math.max(lastSequence, replay(path, recovery));
+        }
+        if (!existing.isEmpty()) {
+            nextSegmentIndex = segmentIndex(existing.get(existing.size() - 1)) + 1;
+        }
+        this.sequence = lastSequence;
+        this.durableSequence = lastSequence;
+        this.segment = openSegment();
+
+        this.flusher = new Thread(this::flushLoop, "ledger-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Wallet ledger at {} continuing after sequence {}", directory, lastSequence);
+    }
+
+    /**
+     * Appends a balance change; it is durable once {@link #awaitDurable} returns for the returned sequence.
+     *
+     * @return the sequence of the entry
+     */
+    public long append(String playerId, long debit, long credit, long balance) {
+        byte[] player = playerId.getBytes(StandardCharsets.UTF_8);
+        if (player.length > MAX_PLAYER_BYTES) {
+            throw new IllegalArgumentException("player id exceeds " + MAX_PLAYER_BYTES + " bytes");
+        }
+        int size = FIXED_BYTES + player.length;
+        ByteBuffer buffer = encodeBuffers.acquire();
+        try {
+            buffer.clear();
+            buffer.putInt(size)
+                    .putLong(0)
+                    .putLong(System.currentTimeMillis())
+                    .putLong(debit)
+                    .putLong(credit)
+                    .putLong(balance)
+                    .putShort((short) player.length)
+                    .put(player);
+
+            lock.lock();
+            try {
+                if (closed) {
+                    throw new IllegalStateException("wallet ledger is closed");
+                }
+                long assigned = ++sequence;
+                buffer.putLong(Integer.BYTES, assigned);
+                crc.reset();
+                crc.update(buffer.array(), Integer.BYTES, size - 2 * Integer.BYTES);
+                buffer.putInt(size - Integer.BYTES, (int) crc.getValue());
+                if (segment.position + size > segmentSize) {
+                    rotate();
+                }
+                segment.buffer.put(segment.position, buffer, 0, size);
+                segment.position += size;
+                return assigned;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            encodeBuffers.release(buffer);
+        }
+    }
+
+    /**
+     * Blocks until the entry with {@code sequence} has been forced to disk, waking the flusher so the
+     * wait is one force rather than a full flush interval. The wait is not interruptible: an appended
+     * entry becomes durable either way, so giving up early would only hide that; the interrupt status is
+     * kept for the caller.
+     */
+    public void awaitDurable(long sequence) {
+        if (durableSequence >= sequence) {
+            return;
+        }
+        LockSupport.unpark(flusher);
+        boolean interrupted = false;
+        durableLock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (closed) {
+                    // The flusher may already be gone; force the tail here instead.
+                    durableLock.unlock();
+                    try {
+                        flush();
+                    } finally {
+                        durableLock.lock();
+                    }
+                    continue;
+                }
+                try {
+                    flushed.awaitNanos(flushIntervalNanos);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            durableLock.unlock();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public long getLastSequence() {
+        lock.lock();
+        try {
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces everything appended so far to disk.
+     */
+    public void flush() {
+        Segment current;
+        int position;
+        long upTo;
+        Segment[] pending;
+        lock.lock();
+        try {
+            current = segment;
+            position = current.position;
+            upTo = sequence;
+            pending = retired.toArray(new Segment[0]);
+            retired.clear();
+        } finally {
+            lock.unlock();
+        }
+        for (Segment old : pending) {
+            old.force(old.position);
+            old.close();
+        }
+        current.force(position);
+
+        if (upTo > durableSequence) {
+            durableLock.lock();
+            try {
+                if (upTo > durableSequence) {
+                    durableSequence = upTo;
+                }
+                flushed.signalAll();
+            } finally {
+                durableLock.unlock();
+            }
+        }
+    }
+
+    private void flushLoop() {
+        while (!closed) {
+            LockSupport.parkNanos(flushIntervalNanos);
+            try {
+                flush();
+            } catch (UncheckedIOException | IllegalStateException e) {
+                if (!closed) {
+                    log.error("Wallet ledger flush failed", e);
+                }
+            }
+        }
+    }
+
+    private void rotate() {
+        retired.add(segment);
+        try {
+            segment = openSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not rotate wallet ledger segment", e);
+        }
+    }
+
+    private Segment openSegment() throws IOException {
+        Path path = directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, nextSegmentIndex++, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        return new Segment(channel, buffer);
+    }
+
+    /**
+     * Passes the intact entries of one segment to {@code consumer}, stopping at its end or torn tail.
+     *
+     * @return the highest sequence seen, or 0
+     */
+    private static long replay(Path path, Consumer<Entry> consumer) throws IOException {
+        long lastSequence = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CRC32C crc = new CRC32C();
+            int position = 0;
+            while (position + FIXED_BYTES <= buffer.limit()) {
+                int size = buffer.getInt(position);
+                if (size == 0) {
+                    break;
+                }
+                if (size < FIXED_BYTES || size > MAX_RECORD_BYTES || position + size > buffer.limit()) {
+                    log.warn("Wallet ledger {} has a corrupt record at offset {}", path, position);
+                    break;
+                }
+                crc.reset();
+                crc.update(buffer.slice(position + Integer.BYTES, size - 2 * Integer.BYTES));
+                if ((int) crc.getValue() != buffer.getInt(position + size - Integer.BYTES)) {
+                    log.warn("Wallet ledger {} has a torn record at offset {}", path, position);
+                    break;
+                }
+                ByteBuffer record = buffer.slice(position + Integer.BYTES, size - 2 * Integer.BYTES);
+                long sequence = record.getLong();
+                long timeMillis = record.getLong();
+                long debit = record.getLong();
+                long credit = record.getLong();
+                long balance = record.getLong();
+                byte[] player = new byte[record.getShort()];
+                record.get(player);
+                consumer.accept(new Entry(sequence, timeMillis, new String(player, StandardCharsets.UTF_8), debit,
+                        credit, balance));
+                lastSequence = Math.max(lastSequence, sequence);
+                position += size;
+            }
+        }
+        return lastSequence;
+    }
+
+    /**
+     * @return the ledger segments in {@code directory}, oldest first
+     */
+    public static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted((a, b) -> Long.compare(segmentIndex(a), segmentIndex(b)))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    static long segmentIndex(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        segment.close();
+    }
+
+    private static final class Segment {
+
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final ReentrantLock forceLock = new ReentrantLock();
+        /** Next write offset; guarded by the ledger lock. */
+        private int position;
+        /** Guarded by {@link #forceLock}. */
+        private int forced;
+
+        private Segment(FileChannel channel, MappedByteBuffer buffer) {
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Forces {@code [forced, upTo)} to disk.
+         */
+        private void force(int upTo) {
+            forceLock.lock();
+            try {
+                if (upTo > forced) {
+                    buffer.force(forced, upTo - forced);
+                    forced = upTo;
+                }
+            } finally {
+                forceLock.unlock();
+            }
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
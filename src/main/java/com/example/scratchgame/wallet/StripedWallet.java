@@ -0,0 +1,179 @@
+package com.example.scratchgame.wallet;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process {@link Wallet} backed by a {@link LedgerLog}. Accounts are striped over a power-of-two
+ * number of shards by player id hash, each its own map, so account creation and lookups for different
+ * players rarely meet; a balance is then changed with compare-and-set on the account alone, without a
+ * lock. The log is replayed into the shards on start, so balances survive restarts.
+ * <p>
+ * In sync mode {@link #settle} and {@link #deposit} return only once their entry is on disk; the
+ * ledger's group commit makes that one force per batch of concurrent settlements rather than one each.
+ */
+public final class StripedWallet implements Wallet, Closeable {
+
+    private static final VarHandle BALANCE;
+
+    static {
+        try {
+            BALANCE = MethodHandles.lookup().findVarHandle(Account.class, "balance", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Shard[] shards;
+    private final int shardMask;
+    private final LedgerLog ledger;
+    private final boolean sync;
+
+    public StripedWallet(Path directory, int shards, int segmentSize, long flushIntervalMillis, boolean sync)
+            throws IOException {
+        if (shards <= 0 || Integer.bitCount(shards) != 1) {
+            throw new IllegalArgumentException("shards must be a power of two");
+        }
+        this.shards = new Shard[shards];
+        for (int i = 0; i < shards; i++) {
+            this.shards[i] = new Shard();
+        }
+        this.shardMask = shards - 1;
+        this.sync = sync;
+        this.ledger = new LedgerLog(directory, segmentSize, flushIntervalMillis,
+                entry -> add(account(entry.playerId()), entry.credit() - entry.debit()));
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void reserve(String playerId, long amount) {
+        checkPlayerId(playerId);
+        if (amount <= 0) {
+            throw new IllegalArgumentException("bet must be positive");
+        }
+        Account account = shard(playerId).accounts.get(playerId);
+        if (account == null) {
+            throw new InsufficientFundsException(playerId, 0, amount);
+        }
+        long balance = (long) BALANCE.getVolatile(account);
+        while (true) {
+            if (balance < amount) {
+                throw new InsufficientFundsException(playerId, balance, amount);
+            }
+            long witness = (long) BALANCE.compareAndExchange(account, balance, balance - amount);
+            if (witness == balance) {
+                return;
+            }
+            balance = witness;
+        }
+    }
+
+    @Override
+    public void cancel(String playerId, long amount) {
+        checkPlayerId(playerId);
+        if (amount < 0) {
+            throw new IllegalArgumentException("cancelled bet must not be negative");
+        }
+        add(account(playerId), amount);
+    }
+
+    @Override
+    public long settle(String playerId, long bet, long reward) {
+        checkPlayerId(playerId);
+        if (bet < 0 || reward < 0) {
+            throw new IllegalArgumentException("bet and reward must not be negative");
+        }
+        Account account = account(playerId);
+        long balance = add(account, reward);
+        try {
+            long sequence = ledger.append(playerId, bet, reward, balance);
+            if (sync) {
+                ledger.awaitDurable(sequence);
+            }
+        } catch (RuntimeException e) {
+            add(account, -reward);
+            throw e;
+        }
+        return balance;
+    }
+
+    @Override
+    public long deposit(String playerId, long amount) {
+        checkPlayerId(playerId);
+        if (amount <= 0) {
+            throw new IllegalArgumentException("deposit must be positive");
+        }
+        long balance = add(account(playerId), amount);
+        long sequence = ledger.append(playerId, 0, amount, balance);
+        if (sync) {
+            ledger.awaitDurable(sequence);
+        }
+        return balance;
+    }
+
+    @Override
+    public long balance(String playerId) {
+        Account account = shard(playerId).accounts.get(playerId);
+        return account == null ? 0 : (long) BALANCE.getVolatile(account);
+    }
+
+    /**
+     * @return the number of accounts in the wallet
+     */
+    public int getAccountCount() {
+        int count = 0;
+        for (Shard shard : shards) {
+            count += shard.accounts.size();
+        }
+        return count;
+    }
+
+    public LedgerLog getLedger() {
+        return ledger;
+    }
+
+    /**
+     * Rejects ids the ledger could not log before any balance changes.
+     */
+    private static void checkPlayerId(String playerId) {
+        if (playerId.isEmpty() || playerId.getBytes(StandardCharsets.UTF_8).length > LedgerLog.MAX_PLAYER_BYTES) {
+            throw new IllegalArgumentException("player id must be 1 to " + LedgerLog.MAX_PLAYER_BYTES + " bytes");
+        }
+    }
+
+    private Account account(String playerId) {
+        return shard(playerId).accounts.computeIfAbsent(playerId, id -> new Account());
+    }
+
+    private Shard shard(String playerId) {
+        int hash = playerId.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & shardMask];
+    }
+
+    private static long add(Account account, long amount) {
+        return (long) BALANCE.getAndAdd(account, amount) + amount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        ledger.close();
+    }
+
+    private static final class Shard {
+        private final ConcurrentHashMap<String, Account> accounts = new ConcurrentHashMap<>();
+    }
+
+    private static final class Account {
+        @SuppressWarnings("unused")
+        private volatile long balance;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.scratchgame.wallet;
+
+/**
+ * Player balances in minor units. A paid spin {@link #reserve reserves} the bet before the spin and
+ * {@link #settle settles} it with the reward afterwards, or {@link #cancel cancels} the reservation if
+ * the spin fails. Only settlements and deposits are logged, so after a crash a reserved but unsettled
+ * bet is back in the balance, just as if the spin had never run.
+ */
+public interface Wallet {
+
+    Wallet DISABLED = new Wallet() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void reserve(String playerId, long amount) {
+        }
+
+        @Override
+        public void cancel(String playerId, long amount) {
+        }
+
+        @Override
+        public long settle(String playerId, long bet, long reward) {
+            return 0;
+        }
+
+        @Override
+        public long deposit(String playerId, long amount) {
+            throw new IllegalStateException("wallets are disabled");
+        }
+
+        @Override
+        public long balance(String playerId) {
+            return 0;
+        }
+    };
+
+    boolean isEnabled();
+
+    /**
+     * Takes {@code amount} out of the balance for a spin about to run.
+     *
+     * @throws InsufficientFundsException if the balance is lower than {@code amount}
+     */
+    void reserve(String playerId, long amount);
+
+    /**
+     * Returns a reservation whose spin did not happen.
+     */
+    void cancel(String playerId, long amount);
+
+    /**
+     * Credits the reward of a spin whose {@code bet} was reserved and logs the settlement; returns once
+     * the settlement is durable if the wallet is configured to wait for it. If it throws, nothing was
+     * credited and the reservation is still held for the caller to {@link #cancel}.
+     *
+     * @return the balance after the settlement
+     */
+    long settle(String playerId, long bet, long reward);
+
+    /**
+     * @return the balance after the deposit
+     * @throws IllegalArgumentException if {@code amount} is not positive
+     */
+    long deposit(String playerId, long amount);
+
+    /**
+     * @return the current balance, 0 for a player the wallet has never seen
+     */
+    long balance(String playerId);
+}
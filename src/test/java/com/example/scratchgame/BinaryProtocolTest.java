@@ -0,0 +1,70 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.engine.GameEngine;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+import com.example.scratchgame.protocol.BinaryProtocol;
+import com.example.scratchgame.protocol.BinarySpin;
+import com.example.scratchgame.protocol.BinarySpinReader;
+import com.example.scratchgame.protocol.SpinDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryProtocolTest {
+
+    @Test
+    void testSpinsRoundTrip() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        assertTrue(BinaryProtocol.supports(model));
+        GameEngine engine = new GameEngine();
+        SplittableRandom random = new SplittableRandom(17);
+        List<SpinResult> results = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocate(
+                BinaryProtocol.HEADER_BYTES + 1000 * BinaryProtocol.maxRecordBytes(model));
+        BinaryProtocol.encodeHeader(buffer, model);
+        for (int i = 0; i < 1000; i++) {
+            SpinResult result = engine.spin(model, 25, random);
+            results.add(result);
+            BinaryProtocol.encodeRecord(buffer, result);
+        }
+
+        BinarySpinReader reader = new BinarySpinReader(new ByteArrayInputStream(buffer.array(), 0, buffer.position()));
+        assertEquals(model.getVersion(), reader.getConfigVersion());
+        SpinDictionary dictionary = SpinDictionary.of(model);
+        for (SpinResult result : results) {
+            BinarySpin spin = reader.next();
+            assertNotNull(spin);
+            assertTrue(dictionary.describes(spin));
+            assertEquals(result.getReward(), spin.getReward(), 1e-6);
+            assertEquals(result.getAppliedBonusSymbol(), spin.getAppliedBonusSymbol());
+            assertArrayEquals(result.getGrid(), spin.getGrid());
+            long[] applied = Arrays.copyOf(spin.getAppliedCombinations(), result.getAppliedCombinations().length);
+            assertArrayEquals(result.getAppliedCombinations(), applied);
+        }
+        assertNull(reader.next());
+    }
+
+    @Test
+    void testRequestsRoundTrip() throws IOException {
+        assertArrayEquals(new int[]{25}, BinaryProtocol.decodeRequest(BinaryProtocol.encodeRequest(25), false));
+        assertArrayEquals(new int[]{25, 1000},
+                BinaryProtocol.decodeRequest(BinaryProtocol.encodeBatchRequest(25, 1000), true));
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryProtocol.decodeRequest(BinaryProtocol.encodeRequest(25), true));
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryProtocol.decodeRequest(new byte[]{2, 0, 0, 0, 1}, false));
+        assertThrows(EOFException.class,
+                () -> new BinarySpinReader(new ByteArrayInputStream(new byte[]{BinaryProtocol.VERSION, 0, 0})));
+    }
+}
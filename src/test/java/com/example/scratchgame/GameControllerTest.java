@@ -0,0 +1,256 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.controller.GameController;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.game.BatchSummary;
+import com.example.scratchgame.game.GameResponse;
+import com.example.scratchgame.metrics.MicrometerPlayMetrics;
+import com.example.scratchgame.metrics.PlayMetrics;
+import com.example.scratchgame.pool.TicketPool;
+import com.example.scratchgame.pool.TicketPoolGenerator;
+import com.example.scratchgame.protocol.BinaryProtocol;
+import com.example.scratchgame.random.RandomProvider;
+import com.example.scratchgame.service.GameModelHolder;
+import com.example.scratchgame.service.GameRegistry;
+import com.example.scratchgame.service.GameServiceImpl;
+import com.example.scratchgame.session.TicketSessionStore;
+import com.example.scratchgame.wallet.StripedWallet;
+import com.example.scratchgame.wallet.Wallet;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class GameControllerTest {
+
+    private static final String CONFIG = "src/main/resources/config.json";
+    private static final int MAX_BATCH_SPINS = 1000;
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private GameModelHolder modelHolder;
+    private GameRegistry registry;
+    private TicketPool pool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        modelHolder = new GameModelHolder(CONFIG, false);
+        modelHolder.init();
+        registry = new GameRegistry(directory.toString(), 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        registry.close();
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void testBatchStreamsOnePlayResponsePerLine() throws Exception {
+        GameModel model = modelHolder.current();
+        String body = batch(mockMvc(null), "{\"betAmount\":10,\"count\":300}", "application/x-ndjson");
+
+        assertTrue(body.endsWith("\n"));
+        List<String> lines = body.lines().toList();
+        assertEquals(300, lines.size());
+        for (String line : lines) {
+            GameResponse response = objectMapper.readValue(line, GameResponse.class);
+            assertEquals(model.getRows(), response.getMatrix().size());
+            assertEquals(model.getColumns(), response.getMatrix().get(0).size());
+            assertTrue(response.getReward() >= 0);
+            assertNotNull(response.getAppliedWinningCombinations());
+        }
+    }
+
+    @Test
+    void testSummaryTotalsTheSpinsOfTheBatch() throws Exception {
+        String request = "{\"betAmount\":10,\"count\":500%s}";
+        int scale = modelHolder.current().getPaytable().getScale();
+        BatchSummary expected = new BatchSummary(scale);
+        for (String line : batch(mockMvc(null), request.formatted(""), "application/x-ndjson").lines().toList()) {
+            GameResponse response = objectMapper.readValue(line, GameResponse.class);
+            expected.add(10, Math.round(response.getReward() * scale),
+                    !response.getAppliedWinningCombinations().isEmpty());
+        }
+
+        String body = batch(mockMvc(null), request.formatted(",\"summaryOnly\":true"),
+                MediaType.APPLICATION_JSON_VALUE);
+        JsonNode summary = objectMapper.readTree(body);
+        assertEquals(500, summary.get("spins").asLong());
+        assertEquals(5000, summary.get("totalBet").asDouble());
+        assertEquals(expected.getTotalReward(), summary.get("totalReward").asDouble());
+        assertEquals(expected.getWinningSpins(), summary.get("winningSpins").asLong());
+        assertEquals(expected.getMaxReward(), summary.get("maxReward").asDouble());
+        assertEquals(expected.getRtp(), summary.get("rtp").asDouble());
+    }
+
+    @Test
+    void testBatchCountMustBeWithinTheLimit() throws Exception {
+        MockMvc mockMvc = mockMvc(null);
+        for (int count : new int[]{0, -1, MAX_BATCH_SPINS + 1}) {
+            mockMvc.perform(post("/play/batch").contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"betAmount\":10,\"count\":" + count + "}"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(post("/play/batch").contentType(BinaryProtocol.CONTENT_TYPE)
+                            .content(BinaryProtocol.encodeBatchRequest(10, count)))
+                    .andExpect(status().isBadRequest());
+        }
+        String body = batch(mockMvc, "{\"betAmount\":10,\"count\":" + MAX_BATCH_SPINS + ",\"summaryOnly\":true}",
+                MediaType.APPLICATION_JSON_VALUE);
+        assertEquals(MAX_BATCH_SPINS, objectMapper.readTree(body).get("spins").asLong());
+    }
+
+    @Test
+    void testVariantsLoadedOnAMissArePlayedOnTheRequestExecutor() throws Exception {
+        Files.copy(Paths.get(CONFIG), directory.resolve("classic.json"));
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        AtomicInteger handedOff = new AtomicInteger();
+        ExecutorService requests = Executors.newSingleThreadExecutor();
+        Executor requestExecutor = task -> {
+            handedOff.incrementAndGet();
+            requests.execute(task);
+        };
+        MockMvc mockMvc = mockMvc(null, new MicrometerPlayMetrics(meters), Wallet.DISABLED, requestExecutor);
+        try {
+            for (int i = 0; i < 2; i++) {
+                MvcResult started = mockMvc.perform(post("/play/classic").contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"betAmount\":10}"))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+                String body = mockMvc.perform(asyncDispatch(started))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+                assertNotNull(objectMapper.readValue(body, GameResponse.class).getMatrix());
+            }
+        } finally {
+            requests.shutdown();
+        }
+
+        assertEquals(1, handedOff.get());
+        assertEquals(2, meters.get("scratchgame.play.phase").tag("phase", "model_lookup").timer().count());
+        assertEquals(2, meters.get("scratchgame.play.phase").tag("phase", "serialize").timer().count());
+    }
+
+    @Test
+    void testPinnedVersionsArePlayedAfterAReload() throws Exception {
+        Path file = directory.resolve("classic.json");
+        Files.copy(Paths.get(CONFIG), file);
+        String version = Long.toHexString(registry.get("classic").get().getVersion());
+        Files.writeString(file, Files.readString(file).replaceFirst("\"columns\"\\s*:\\s*\\d+", "\"columns\": 4"));
+        registry.invalidate("classic");
+        MockMvc mockMvc = mockMvc(null);
+
+        assertEquals(4, playVariant(mockMvc, "/play/classic").getMatrix().get(0).size());
+        assertEquals(3, playVariant(mockMvc, "/play/classic/" + version).getMatrix().get(0).size());
+        MvcResult started = mockMvc.perform(post("/play/classic/0").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"betAmount\":10}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testBatchesAreRejectedInPoolMode() throws Exception {
+        GameModel model = modelHolder.current();
+        Path file = directory.resolve("tickets.pool");
+        new TicketPoolGenerator().generate(model, 10, 100, 42L, file);
+        pool = TicketPool.open(file, model);
+        MockMvc mockMvc = mockMvc(pool);
+
+        mockMvc.perform(post("/play/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"betAmount\":10,\"count\":5}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/play/batch").contentType(BinaryProtocol.CONTENT_TYPE)
+                        .content(BinaryProtocol.encodeBatchRequest(10, 5)))
+                .andExpect(status().isBadRequest());
+        assertEquals(0, pool.getClaimedCount());
+
+        mockMvc.perform(post("/play").contentType(MediaType.APPLICATION_JSON).content("{\"betAmount\":10}"))
+                .andExpect(status().isOk());
+        assertEquals(1, pool.getClaimedCount());
+    }
+
+    @Test
+    void testBatchesAreRejectedWhileWalletsPay() throws Exception {
+        try (StripedWallet wallet = new StripedWallet(directory.resolve("ledger"), 2, 1 << 16, 5, false)) {
+            MockMvc mockMvc = mockMvc(null, PlayMetrics.DISABLED, wallet, Runnable::run);
+
+            mockMvc.perform(post("/play/batch").contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"betAmount\":10,\"count\":5,\"playerId\":\"grace\"}"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(post("/play/batch").contentType(BinaryProtocol.CONTENT_TYPE)
+                            .content(BinaryProtocol.encodeBatchRequest(10, 5)))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    /**
+     * Posts a JSON batch request and returns the streamed body once it has been written.
+     */
+    private static String batch(MockMvc mockMvc, String json, String contentType) throws Exception {
+        MvcResult started = mockMvc.perform(post("/play/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(contentType))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private GameResponse playVariant(MockMvc mockMvc, String path) throws Exception {
+        MvcResult started = mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"betAmount\":10}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, GameResponse.class);
+    }
+
+    private MockMvc mockMvc(TicketPool ticketPool) {
+        return mockMvc(ticketPool, PlayMetrics.DISABLED, Wallet.DISABLED, Runnable::run);
+    }
+
+    private MockMvc mockMvc(TicketPool ticketPool, PlayMetrics metrics, Wallet wallet, Executor requestExecutor) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        if (ticketPool != null) {
+            beans.addBean("ticketPool", ticketPool);
+        }
+        GameController controller = new GameController(new GameServiceImpl(RandomProvider.seeded(17L)),
+                modelHolder, registry, objectMapper, MAX_BATCH_SPINS, metrics, wallet,
+                beans.getBeanProvider(TicketPool.class), beans.getBeanProvider(TicketSessionStore.class),
+                requestExecutor);
+        return MockMvcBuilders.standaloneSetup(controller).build();
+    }
+}
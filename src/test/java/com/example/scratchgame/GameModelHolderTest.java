@@ -0,0 +1,69 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.service.GameModelHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameModelHolderTest {
+
+    @TempDir
+    Path directory;
+
+    private Path configPath;
+    private String config;
+    private GameModelHolder holder;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        configPath = directory.resolve("config.json");
+        config = Files.readString(Paths.get("src/main/resources/config.json"));
+        Files.writeString(configPath, config);
+        holder = new GameModelHolder(configPath.toString(), false);
+        holder.init();
+    }
+
+    @Test
+    void testMalformedConfigKeepsTheCurrentModel() throws IOException {
+        GameModel before = holder.current();
+        Files.writeString(configPath, config.substring(0, config.length() / 2));
+
+        assertThrows(IOException.class, holder::reload);
+        assertSame(before, holder.current());
+    }
+
+    @Test
+    void testInvalidConfigKeepsTheCurrentModel() throws IOException {
+        GameModel before = holder.current();
+        Files.writeString(configPath, config.replaceFirst("\"rows\"\\s*:\\s*\\d+", "\"rows\": 0"));
+        assertThrows(IllegalArgumentException.class, holder::reload);
+        assertSame(before, holder.current());
+
+        Files.writeString(configPath, config.replaceFirst("\"columns\"\\s*:\\s*\\d+", "\"columns\": 3, \"paylines\": 9"));
+        assertThrows(IOException.class, holder::reload);
+        assertSame(before, holder.current());
+
+        Files.delete(configPath);
+        assertThrows(IOException.class, holder::reload);
+        assertSame(before, holder.current());
+    }
+
+    @Test
+    void testValidConfigReplacesTheCurrentModel() throws IOException {
+        GameModel before = holder.current();
+        Files.writeString(configPath, config.replaceFirst("\"columns\"\\s*:\\s*\\d+", "\"columns\": 4"));
+
+        GameModel after = holder.reload();
+        assertSame(after, holder.current());
+        assertNotEquals(before.getVersion(), after.getVersion());
+        assertEquals(4, after.getColumns());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.service.GameRegistry;
+import com.example.scratchgame.service.UnknownGameException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameRegistryTest {
+
+    @TempDir
+    Path directory;
+
+    private GameRegistry registry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        for (String gameId : new String[]{"classic", "deluxe", "mega"}) {
+            Files.copy(Paths.get("src/main/resources/config.json"), directory.resolve(gameId + ".json"));
+        }
+        registry = new GameRegistry(directory.toString(), 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.close();
+    }
+
+    @Test
+    void testConcurrentMissesShareOneLoad() throws Exception {
+        CompletableFuture<GameModel> first = registry.get("classic");
+        CompletableFuture<GameModel> second = registry.get("classic");
+        assertSame(first, second);
+        assertSame(first.get(), registry.get("classic").getNow(null));
+        assertEquals(List.of(Long.toHexString(first.get().getVersion())), registry.loadedVersions().get("classic"));
+    }
+
+    @Test
+    void testUnknownGamesFail() {
+        for (String gameId : new String[]{"missing", "../config", ""}) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> registry.get(gameId).get());
+            assertInstanceOf(UnknownGameException.class, e.getCause());
+        }
+        assertTrue(registry.loadedVersions().isEmpty());
+    }
+
+    @Test
+    void testReloadKeepsThePinnedVersionPlayable() throws Exception {
+        GameModel before = registry.get("classic").get();
+        Path file = directory.resolve("classic.json");
+        Files.writeString(file, Files.readString(file).replaceFirst("\"columns\"\\s*:\\s*\\d+", "\"columns\": 4"));
+        registry.invalidate("classic");
+
+        GameModel after = registry.get("classic").get();
+        assertNotEquals(before.getVersion(), after.getVersion());
+        assertEquals(4, after.getColumns());
+        assertSame(before, registry.get("classic", before.getVersion()).get());
+        assertSame(after, registry.get("classic", after.getVersion()).get());
+        assertEquals(List.of(Long.toHexString(after.getVersion()), Long.toHexString(before.getVersion())),
+                registry.loadedVersions().get("classic"));
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> registry.get("classic", before.getVersion() + 1).get());
+        assertInstanceOf(UnknownGameException.class, e.getCause());
+    }
+
+    @Test
+    void testLeastRecentlyPlayedGameIsEvicted() throws Exception {
+        registry.get("classic").get();
+        Thread.sleep(5);
+        registry.get("deluxe").get();
+        Thread.sleep(5);
+        registry.get("mega").get();
+
+        assertEquals(2, registry.loadedVersions().size());
+        assertFalse(registry.loadedVersions().containsKey("classic"));
+    }
+}
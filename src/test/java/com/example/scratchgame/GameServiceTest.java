@@ -3,6 +3,7 @@ package com.example.scratchgame;
 import com.example.scratchgame.config.*;
 import com.example.scratchgame.game.GameRequest;
 import com.example.scratchgame.game.GameResponse;
+import com.example.scratchgame.random.RandomProvider;
 import com.example.scratchgame.service.GameServiceImpl;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -12,18 +13,20 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 public class GameServiceTest {
 
+    private static final long SEED = 7L;
 
     private GameServiceImpl gameService;
     private Config config;
 
     @BeforeEach
     void setUp() {
-        gameService = new GameServiceImpl();
+        gameService = new GameServiceImpl(RandomProvider.seeded(SEED));
         config = createTestConfig();
     }
 
@@ -61,7 +64,22 @@ public class GameServiceTest {
         assertNotNull(response.getMatrix());
         assertTrue(response.getReward() >= 0);
         assertNotNull(response.getAppliedWinningCombinations());
-        assertNotNull(response.getAppliedBonusSymbol());
+        if (response.getAppliedBonusSymbol() != null) {
+            assertTrue(response.getMatrix().stream().anyMatch(row -> row.contains(response.getAppliedBonusSymbol())));
+        }
+    }
+
+    @Test
+    void testSeededProviderIsReproducible() {
+        GameRequest request = new GameRequest();
+        request.setBetAmount(100);
+        GameServiceImpl other = new GameServiceImpl(RandomProvider.seeded(SEED));
+        for (int i = 0; i < 100; i++) {
+            GameResponse first = gameService.playGame(request, config);
+            GameResponse second = other.playGame(request, config);
+            assertEquals(first.getMatrix(), second.getMatrix());
+            assertEquals(first.getReward(), second.getReward());
+        }
     }
 
     private Config createTestConfig() {
@@ -86,7 +104,7 @@ public class GameServiceTest {
         List<Probability> standardSymbols = new ArrayList<>();
         for (int i = 0; i < 3; i++) {
             for (int j = 0; j < 3; j++) {
-                standardSymbols.add(createProbability(i, j, Map.of(
+                standardSymbols.add(createProbability(i, j, weights(
                         "A", 1,
                         "B", 2,
                         "C", 3,
@@ -97,7 +115,7 @@ public class GameServiceTest {
             }
         }
         BonusSymbols bonusSymbols = new BonusSymbols();
-        bonusSymbols.setSymbols(Map.of(
+        bonusSymbols.setSymbols(weights(
                 "10x", 1,
                 "5x", 2,
                 "+1000", 3,
@@ -138,6 +156,18 @@ public class GameServiceTest {
         return config;
     }
 
+    /**
+     * Keeps the weights in the order given: Map.of iterates in a different order on every JVM, and the
+     * order decides which symbol each random draw lands on.
+     */
+    private static Map<String, Integer> weights(Object... symbolsAndWeights) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (int i = 0; i < symbolsAndWeights.length; i += 2) {
+            weights.put((String) symbolsAndWeights[i], (Integer) symbolsAndWeights[i + 1]);
+        }
+        return weights;
+    }
+
     private Symbol createSymbol(double rewardMultiplier, String type, Double extra, String impact) {
         Symbol symbol = new Symbol();
         symbol.setRewardMultiplier(rewardMultiplier);
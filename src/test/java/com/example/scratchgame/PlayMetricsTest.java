@@ -0,0 +1,49 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinPhase;
+import com.example.scratchgame.engine.SpinResult;
+import com.example.scratchgame.journal.SpinJournal;
+import com.example.scratchgame.metrics.MicrometerPlayMetrics;
+import com.example.scratchgame.random.RandomProvider;
+import com.example.scratchgame.service.GameServiceImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlayMetricsTest {
+
+    @Test
+    void testSpinsRecordPhasesAndOutcomes() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GameServiceImpl service = new GameServiceImpl(RandomProvider.seeded(11L), SpinJournal.DISABLED,
+                new MicrometerPlayMetrics(registry));
+
+        int spins = 1000;
+        int wins = 0;
+        for (int i = 0; i < spins; i++) {
+            SpinResult result = service.spin(10, model);
+            if (result.hasWinningCombination()) {
+                wins++;
+            }
+        }
+
+        assertEquals(spins, registry.get("scratchgame.spins").counter().count());
+        assertEquals(wins, registry.get("scratchgame.wins").counter().count());
+        double bonusOutcomes = registry.get("scratchgame.bonus.outcomes").counters().stream()
+                .mapToDouble(Counter::count).sum();
+        assertEquals(wins, bonusOutcomes);
+        for (SpinPhase phase : SpinPhase.values()) {
+            assertEquals(spins, registry.get("scratchgame.play.phase").tag("phase", phase.getMetricName())
+                    .timer().count());
+        }
+        assertEquals(spins, registry.get("scratchgame.play.phase").tag("phase", "journal").timer().count());
+        assertEquals(0, registry.get("scratchgame.play.phase").tag("phase", "serialize").timer().count());
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+import com.example.scratchgame.journal.SpinJournal;
+import com.example.scratchgame.metrics.PlayMetrics;
+import com.example.scratchgame.monitor.RtpWindowSnapshot;
+import com.example.scratchgame.monitor.SlidingWindowRtpMonitor;
+import com.example.scratchgame.random.RandomProvider;
+import com.example.scratchgame.service.GameServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RtpMonitorTest {
+
+    private static final int SPINS = 20000;
+
+    @Test
+    void testWindowAggregatesSpins() throws IOException, InterruptedException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        try (SlidingWindowRtpMonitor monitor = new SlidingWindowRtpMonitor(Duration.ofHours(1), 10, 3.0, 1000,
+                Double.NaN, 100)) {
+            long zeroPayouts = playSpins(monitor, model);
+
+            RtpWindowSnapshot snapshot = awaitExpectedRtp(monitor);
+            assertEquals(Long.toHexString(model.getVersion()), snapshot.getVersion());
+            assertEquals(SPINS, snapshot.getSpins());
+            assertEquals(100.0 * SPINS, snapshot.getTotalBet());
+            assertEquals(SPINS, snapshot.getPayoutHistogram().values().stream().mapToLong(Long::longValue).sum());
+            // Symbols with a zero multiplier win without paying, so zero payouts outnumber losing spins.
+            assertEquals(zeroPayouts, snapshot.getPayoutHistogram().getOrDefault("0", 0L));
+            assertTrue(zeroPayouts >= SPINS - snapshot.getWinningSpins());
+            assertTrue(snapshot.getLowerBound() < snapshot.getExpectedRtp());
+            assertFalse(snapshot.isDrifting(), "observed RTP " + snapshot.getRtp() + " should match the exact RTP "
+                    + snapshot.getExpectedRtp());
+        }
+    }
+
+    @Test
+    void testRtpOutsideBandIsFlagged() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        try (SlidingWindowRtpMonitor monitor = new SlidingWindowRtpMonitor(Duration.ofHours(1), 10, 3.0, 1000,
+                1000.0, 100)) {
+            playSpins(monitor, model);
+
+            List<RtpWindowSnapshot> snapshots = monitor.snapshot();
+            assertEquals(1, snapshots.size());
+            assertEquals(1000.0, snapshots.get(0).getExpectedRtp());
+            assertTrue(snapshots.get(0).isDrifting());
+        }
+    }
+
+    @Test
+    void testBandIsTheStandardErrorOfTheRatioOfSums() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        int scale = model.getPaytable().getScale();
+        // Small bets swing between nothing and double while large bets return their stake, so the per-spin
+        // ratios vary a lot but the RTP, carried by the large bets, hardly does.
+        int[] bets = new int[SPINS];
+        long[] rewards = new long[SPINS];
+        for (int i = 0; i < SPINS; i++) {
+            bets[i] = i % 2 == 0 ? 1 : 1000;
+            rewards[i] = i % 2 == 0 ? (i % 4 == 0 ? 0 : 2L * scale) : 1000L * scale;
+        }
+        try (SlidingWindowRtpMonitor monitor = new SlidingWindowRtpMonitor(Duration.ofHours(1), 10, 3.0, 1000,
+                1.0, 100)) {
+            for (int i = 0; i < SPINS; i++) {
+                monitor.record(model, bets[i], new SpinResult(new int[model.getCellCount()], rewards[i], scale,
+                        new long[0], -1));
+            }
+            RtpWindowSnapshot snapshot = monitor.snapshot().get(0);
+
+            double totalBet = 0;
+            double totalReward = 0;
+            for (int i = 0; i < SPINS; i++) {
+                totalBet += bets[i];
+                totalReward += rewards[i] / (double) scale;
+            }
+            double rtp = totalReward / totalBet;
+            double squaredResiduals = 0;
+            for (int i = 0; i < SPINS; i++) {
+                double residual = rewards[i] / (double) scale - rtp * bets[i];
+                squaredResiduals += residual * residual;
+            }
+            double margin = 3.0 * Math.sqrt(squaredResiduals / (SPINS - 1) / SPINS) / (totalBet / SPINS);
+            assertEquals(rtp, snapshot.getRtp(), 1e-12);
+            assertEquals(1.0 - margin, snapshot.getLowerBound(), 1e-9);
+            assertEquals(1.0 + margin, snapshot.getUpperBound(), 1e-9);
+            assertTrue(margin < 0.001, "margin " + margin);
+        }
+    }
+
+    /**
+     * @return how many of the spins paid nothing
+     */
+    private static long playSpins(SlidingWindowRtpMonitor monitor, GameModel model) {
+        GameServiceImpl service = new GameServiceImpl(RandomProvider.seeded(13L), SpinJournal.DISABLED,
+                PlayMetrics.DISABLED, monitor);
+        long zeroPayouts = 0;
+        for (int i = 0; i < SPINS; i++) {
+            if (service.spin(100, model).getReward() == 0) {
+                zeroPayouts++;
+            }
+        }
+        return zeroPayouts;
+    }
+
+    private static RtpWindowSnapshot awaitExpectedRtp(SlidingWindowRtpMonitor monitor) throws InterruptedException {
+        for (int attempt = 0; attempt < 600; attempt++) {
+            RtpWindowSnapshot snapshot = monitor.snapshot().get(0);
+            if (snapshot.getExpectedRtp() != null) {
+                return snapshot;
+            }
+            Thread.sleep(50);
+        }
+        return fail("expected RTP was never computed");
+    }
+}
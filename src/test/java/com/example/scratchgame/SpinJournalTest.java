@@ -0,0 +1,209 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.engine.GameEngine;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+import com.example.scratchgame.journal.JournalReplayCli;
+import com.example.scratchgame.journal.MappedSpinJournal;
+import com.example.scratchgame.journal.SpinJournalReader;
+import com.example.scratchgame.journal.SpinRecord;
+import com.example.scratchgame.random.RandomProvider;
+import com.example.scratchgame.service.GameServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpinJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testJournaledSpinsReplayExactly() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        List<SpinResult> results = new ArrayList<>();
+        RandomProvider random = RandomProvider.seeded(3L);
+        try (MappedSpinJournal journal = new MappedSpinJournal(directory, 4096, 5, random.getAlgorithm())) {
+            GameServiceImpl service = new GameServiceImpl(random, journal);
+            for (int i = 0; i < 500; i++) {
+                results.add(service.spin(10 + i, model));
+            }
+        }
+
+        assertTrue(SpinJournalReader.segments(directory).size() > 1, "expected the journal to rotate");
+        try (SpinJournalReader reader = new SpinJournalReader(directory)) {
+            int index = 0;
+            for (SpinRecord record : reader) {
+                SpinResult result = results.get(index);
+                assertEquals(index + 1, record.getSequence());
+                assertEquals(model.getVersion(), record.getConfigVersion());
+                assertEquals(10 + index, record.getBetAmount());
+                assertEquals(RandomProvider.DEFAULT_ALGORITHM, record.getAlgorithm());
+                assertEquals(result.getRewardMinorUnits(), record.getRewardMinorUnits(result.getScale()));
+                assertArrayEquals(result.getGrid(), record.getGrid());
+                assertTrue(JournalReplayCli.matches(record, result));
+                assertTrue(JournalReplayCli.matches(record, new GameEngine()
+                        .spin(model, record.getBetAmount(), random.spinGenerator(record.getSeed()))));
+                index++;
+            }
+            assertEquals(results.size(), index);
+        }
+    }
+
+    @Test
+    void testSpinsReplayOnTheAlgorithmTheyWereJournaledWith() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        List<SpinResult> results = new ArrayList<>();
+        for (String algorithm : new String[]{"L128X256MixRandom", RandomProvider.SPLITTABLE_RANDOM}) {
+            try (MappedSpinJournal journal = new MappedSpinJournal(directory, 1 << 16, 5, algorithm)) {
+                GameServiceImpl service = new GameServiceImpl(RandomProvider.create(algorithm, 9L), journal);
+                for (int i = 0; i < 50; i++) {
+                    results.add(service.spin(10, model));
+                }
+            }
+        }
+
+        GameEngine engine = new GameEngine();
+        int index = 0;
+        int differ = 0;
+        try (SpinJournalReader reader = new SpinJournalReader(directory)) {
+            for (SpinRecord record : reader) {
+                assertEquals(index < 50 ? "L128X256MixRandom" : RandomProvider.SPLITTABLE_RANDOM,
+                        record.getAlgorithm());
+                SpinResult replayed = engine.spin(model, record.getBetAmount(),
+                        RandomProvider.spinGenerators(record.getAlgorithm()).apply(record.getSeed()));
+                assertTrue(JournalReplayCli.matches(record, replayed), "sequence " + record.getSequence());
+                assertArrayEquals(results.get(index).getGrid(), replayed.getGrid());
+                SpinResult onDefault = engine.spin(model, record.getBetAmount(),
+                        RandomProvider.spinGenerators(RandomProvider.DEFAULT_ALGORITHM).apply(record.getSeed()));
+                if (!JournalReplayCli.matches(record, onDefault)) {
+                    differ++;
+                }
+                index++;
+            }
+        }
+        assertEquals(results.size(), index);
+        assertTrue(differ > 0, "the algorithm should matter to the replay");
+    }
+
+    @Test
+    void testReopenedJournalContinuesSequence() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        try (MappedSpinJournal journal = openJournal()) {
+            GameServiceImpl service = new GameServiceImpl(RandomProvider.seeded(5L), journal);
+            for (int i = 0; i < 10; i++) {
+                service.spin(1, model);
+            }
+        }
+        try (MappedSpinJournal journal = openJournal()) {
+            assertEquals(10, journal.getLastSequence());
+            new GameServiceImpl(RandomProvider.seeded(6L), journal).spin(1, model);
+        }
+
+        long last = 0;
+        int count = 0;
+        try (SpinJournalReader reader = new SpinJournalReader(directory)) {
+            for (SpinRecord record : reader) {
+                last = record.getSequence();
+                count++;
+            }
+        }
+        assertEquals(11, count);
+        assertEquals(11, last);
+    }
+
+    @Test
+    void testReopeningWithoutSpinsKeepsTheSequence() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        try (MappedSpinJournal journal = openJournal()) {
+            GameServiceImpl service = new GameServiceImpl(RandomProvider.seeded(5L), journal);
+            for (int i = 0; i < 10; i++) {
+                service.spin(1, model);
+            }
+        }
+        for (int restart = 0; restart < 2; restart++) {
+            try (MappedSpinJournal journal = openJournal()) {
+                assertEquals(10, journal.getLastSequence());
+            }
+        }
+        try (MappedSpinJournal journal = openJournal()) {
+            assertEquals(10, journal.getLastSequence());
+            new GameServiceImpl(RandomProvider.seeded(6L), journal).spin(1, model);
+        }
+
+        List<Long> sequences = new ArrayList<>();
+        try (SpinJournalReader reader = new SpinJournalReader(directory)) {
+            for (SpinRecord record : reader) {
+                sequences.add(record.getSequence());
+            }
+        }
+        assertEquals(LongStream.rangeClosed(1, 11).boxed().toList(), sequences);
+    }
+
+    @Test
+    void testSegmentsWithDoubleRewardsStillReplay() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        int scale = model.getPaytable().getScale();
+        List<SpinResult> results = new ArrayList<>();
+        try (MappedSpinJournal journal = openJournal()) {
+            GameServiceImpl service = new GameServiceImpl(RandomProvider.seeded(8L), journal);
+            for (int i = 0; i < 200; i++) {
+                results.add(service.spin(10, model));
+            }
+        }
+        for (Path segment : SpinJournalReader.segments(directory)) {
+            rewriteWithDoubleRewards(segment, scale);
+        }
+
+        int index = 0;
+        try (SpinJournalReader reader = new SpinJournalReader(directory)) {
+            for (SpinRecord record : reader) {
+                SpinResult result = results.get(index++);
+                assertEquals(result.getRewardMinorUnits(), record.getRewardMinorUnits(scale));
+                assertTrue(JournalReplayCli.matches(record, result));
+            }
+        }
+        assertEquals(results.size(), index);
+    }
+
+    /**
+     * Rewrites a segment in the layout used before rewards were journaled in minor units: a double reward
+     * and no source byte.
+     */
+    private static void rewriteWithDoubleRewards(Path segment, int scale) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(segment));
+        ByteBuffer out = ByteBuffer.allocate(in.capacity());
+        int position = 6 + in.getShort(4);
+        out.put(in.slice(0, position)).putInt(0, 0x534A524E);
+        for (int length = in.getInt(position); length != 0; length = in.getInt(position)) {
+            int body = position + 8;
+            int start = out.position();
+            out.position(start + 8);
+            out.put(in.slice(body, 32));
+            out.putInt(in.getInt(body + 33));
+            out.putDouble(in.getLong(body + 37) / (double) scale);
+            out.put(in.slice(body + 45, length - 45));
+            CRC32C crc = new CRC32C();
+            crc.update(out.slice(start + 8, length - 1));
+            out.putInt(start, length - 1);
+            out.putInt(start + 4, (int) crc.getValue());
+            position = body + length;
+        }
+        Files.write(segment, out.array());
+    }
+
+    private MappedSpinJournal openJournal() throws IOException {
+        return new MappedSpinJournal(directory, 1 << 16, 5, RandomProvider.DEFAULT_ALGORITHM);
+    }
+}
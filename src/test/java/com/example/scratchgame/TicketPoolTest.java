@@ -0,0 +1,129 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+import com.example.scratchgame.journal.JournalReplayCli;
+import com.example.scratchgame.journal.MappedSpinJournal;
+import com.example.scratchgame.journal.SpinJournalReader;
+import com.example.scratchgame.journal.SpinRecord;
+import com.example.scratchgame.metrics.PlayMetrics;
+import com.example.scratchgame.monitor.RtpWindowSnapshot;
+import com.example.scratchgame.monitor.SlidingWindowRtpMonitor;
+import com.example.scratchgame.pool.TicketPool;
+import com.example.scratchgame.pool.TicketPoolGenerator;
+import com.example.scratchgame.random.RandomProvider;
+import com.example.scratchgame.service.GameServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketPoolTest {
+
+    private static final int TICKETS = 200_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testEveryTicketIsServedOnce() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        Path file = directory.resolve("tickets.pool");
+        new TicketPoolGenerator().generate(model, 10, TICKETS, 42L, file);
+
+        LongAdder paid = new LongAdder();
+        ConcurrentLinkedQueue<Boolean> wins = new ConcurrentLinkedQueue<>();
+        try (TicketPool pool = TicketPool.open(file, model)) {
+            assertEquals(TICKETS, pool.getTicketCount());
+            assertEquals(10, pool.getBetAmount());
+            IntStream.range(0, TICKETS).parallel().forEach(i -> {
+                SpinResult ticket = pool.claim();
+                paid.add(ticket.getRewardMinorUnits());
+                if (ticket.hasWinningCombination()) {
+                    wins.add(Boolean.TRUE);
+                }
+            });
+            assertNull(pool.claim());
+            assertEquals(TICKETS, pool.getClaimedCount());
+            assertEquals(pool.getTotalRewardMinorUnits(), paid.sum());
+            assertEquals(pool.getTotalRewardMinorUnits(), pool.getClaimedRewardMinorUnits());
+            assertEquals(pool.getWinningTicketCount(), wins.size());
+        }
+    }
+
+    @Test
+    void testCursorSurvivesReopening() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        Path file = directory.resolve("tickets.pool");
+        new TicketPoolGenerator().generate(model, 10, 1000, 7L, file);
+
+        try (TicketPool pool = TicketPool.open(file, model)) {
+            for (int i = 0; i < 10; i++) {
+                pool.claim();
+            }
+        }
+        try (TicketPool pool = TicketPool.open(file, model)) {
+            assertEquals(10, pool.getClaimedCount());
+        }
+    }
+
+    @Test
+    void testSameSeedGivesSamePool() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        Path first = directory.resolve("first.pool");
+        Path second = directory.resolve("second.pool");
+        new TicketPoolGenerator().generate(model, 10, 100_000, 3L, first);
+        new TicketPoolGenerator().generate(model, 10, 100_000, 3L, second);
+        assertEquals(-1, Files.mismatch(first, second));
+    }
+
+    @Test
+    void testClaimedTicketsAreJournaledAndMonitored() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        Path file = directory.resolve("tickets.pool");
+        new TicketPoolGenerator().generate(model, 10, 100, 11L, file);
+        Path journalDirectory = directory.resolve("journal");
+
+        try (TicketPool pool = TicketPool.open(file, model);
+             MappedSpinJournal journal = new MappedSpinJournal(journalDirectory, 1 << 16, 5,
+                     RandomProvider.DEFAULT_ALGORITHM);
+             SlidingWindowRtpMonitor monitor = new SlidingWindowRtpMonitor(Duration.ofHours(1), 10, 3.0, 1000,
+                     Double.NaN, 10)) {
+            GameServiceImpl service = new GameServiceImpl(RandomProvider.seeded(1L), journal, PlayMetrics.DISABLED,
+                    monitor);
+            long paid = 0;
+            for (int i = 0; i < 100; i++) {
+                paid += service.claim(pool).getRewardMinorUnits();
+            }
+            assertNull(service.claim(pool));
+            journal.flush();
+
+            RtpWindowSnapshot snapshot = monitor.snapshot().get(0);
+            assertEquals(100, snapshot.getSpins());
+            assertEquals(paid / (double) model.getPaytable().getScale(), snapshot.getTotalReward());
+
+            List<Long> indices = new ArrayList<>();
+            try (SpinJournalReader reader = new SpinJournalReader(journalDirectory)) {
+                for (SpinRecord record : reader) {
+                    assertTrue(record.isPoolTicket());
+                    assertEquals(10, record.getBetAmount());
+                    assertTrue(JournalReplayCli.matches(record, pool.getTicket(record.getSeed())));
+                    indices.add(record.getSeed());
+                }
+            }
+            assertEquals(LongStream.range(0, 100).boxed().toList(), indices.stream().sorted().toList());
+        }
+    }
+}
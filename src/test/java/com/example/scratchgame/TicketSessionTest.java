@@ -0,0 +1,103 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.engine.GameEngine;
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+import com.example.scratchgame.random.RandomProvider;
+import com.example.scratchgame.session.TicketSessionStore;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketSessionTest {
+
+    private final GameEngine engine = new GameEngine();
+    private final RandomProvider random = RandomProvider.seeded(0L);
+
+    @Test
+    void testRevealingEveryCellGivesTheSpinsOutcome() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        TicketSessionStore store = new TicketSessionStore(1024, 4, 16, 60_000, () -> 0L);
+        for (long seed = 0; seed < 200; seed++) {
+            SpinResult spin = engine.spin(model, 10, random.spinGenerator(seed));
+            String ticketId = store.open(model, 10, spin.getGrid());
+
+            TicketSessionStore.Reveal reveal = null;
+            for (int row = 0; row < model.getRows(); row++) {
+                for (int column = 0; column < model.getColumns(); column++) {
+                    assertTrue(reveal == null || !reveal.isFinished());
+                    reveal = store.reveal(ticketId, row, column);
+                    assertEquals(spin.getGrid()[row * model.getColumns() + column], reveal.getSymbol());
+                }
+            }
+            assertTrue(reveal.isFinished());
+            assertArrayEquals(spin.getGrid(), reveal.getGrid());
+            SpinResult outcome = engine.resolve(model, reveal.getBetAmount(), reveal.getGrid());
+            assertEquals(spin.getReward(), outcome.getReward());
+            assertArrayEquals(spin.getAppliedCombinations(), outcome.getAppliedCombinations());
+            assertEquals(spin.getAppliedBonusSymbol(), outcome.getAppliedBonusSymbol());
+        }
+    }
+
+    @Test
+    void testRevealingACellTwiceCountsOnce() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        TicketSessionStore store = new TicketSessionStore(16, 1, 16, 60_000, () -> 0L);
+        String ticketId = store.open(model, 10, engine.spin(model, 10, random.spinGenerator(1L)).getGrid());
+
+        assertEquals(1, store.reveal(ticketId, 0, 0).getRevealedCells());
+        assertEquals(1, store.reveal(ticketId, 0, 0).getRevealedCells());
+        assertEquals(2, store.reveal(ticketId, 1, 1).getRevealedCells());
+        assertThrows(IllegalArgumentException.class, () -> store.reveal(ticketId, model.getRows(), 0));
+        assertThrows(IllegalArgumentException.class, () -> store.reveal(ticketId, 0, -1));
+    }
+
+    @Test
+    void testTicketsExpire() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        AtomicLong now = new AtomicLong();
+        TicketSessionStore store = new TicketSessionStore(16, 1, 16, 1000, now::get);
+        String ticketId = store.open(model, 10, engine.spin(model, 10, random.spinGenerator(2L)).getGrid());
+
+        now.set(999);
+        assertNotNull(store.reveal(ticketId, 0, 0));
+        now.set(1000);
+        assertNull(store.reveal(ticketId, 0, 1));
+    }
+
+    @Test
+    void testOldestTicketsAreEvictedWhenFull() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        TicketSessionStore store = new TicketSessionStore(8, 1, 16, 60_000, () -> 0L);
+        int[] grid = engine.spin(model, 10, random.spinGenerator(3L)).getGrid();
+        String[] ids = new String[12];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = store.open(model, 10, grid);
+        }
+
+        assertEquals(8, store.getCapacity());
+        assertEquals(12, store.getOpenedCount());
+        assertEquals(4, store.getEvictedCount());
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(i >= 4, store.reveal(ids[i], 0, 0) != null);
+        }
+    }
+
+    @Test
+    void testUnknownIdsAreRejected() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        TicketSessionStore store = new TicketSessionStore(16, 2, 16, 60_000, () -> 0L);
+        String ticketId = store.open(model, 10, engine.spin(model, 10, random.spinGenerator(4L)).getGrid());
+        String forged = ticketId.substring(0, 23) + (ticketId.charAt(23) == '0' ? '1' : '0');
+
+        assertNull(store.reveal(forged, 0, 0));
+        assertNull(store.reveal("ffffffff" + ticketId.substring(8), 0, 0));
+        assertNull(store.reveal("not-a-ticket-id-at-all!!", 0, 0));
+        assertNull(store.reveal("", 0, 0));
+        assertNotNull(store.reveal(ticketId, 0, 0));
+    }
+}
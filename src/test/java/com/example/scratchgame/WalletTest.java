@@ -0,0 +1,198 @@
+package com.example.scratchgame;
+
+import com.example.scratchgame.engine.GameModel;
+import com.example.scratchgame.engine.SpinResult;
+import com.example.scratchgame.journal.SpinJournal;
+import com.example.scratchgame.metrics.PlayMetrics;
+import com.example.scratchgame.monitor.RtpMonitor;
+import com.example.scratchgame.random.RandomProvider;
+import com.example.scratchgame.service.GameServiceImpl;
+import com.example.scratchgame.wallet.InsufficientFundsException;
+import com.example.scratchgame.wallet.StripedWallet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WalletTest {
+
+    private static final int PLAYERS = 500;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testConcurrentSettlementsBalanceAndSurviveRestart() throws IOException {
+        long[] expected = new long[PLAYERS];
+        AtomicLong rejected = new AtomicLong();
+        try (StripedWallet wallet = open(true)) {
+            for (int player = 0; player < PLAYERS; player++) {
+                wallet.deposit(player(player), 1000);
+            }
+            IntStream.range(0, 100_000).parallel().forEach(i -> {
+                String player = player(i % PLAYERS);
+                try {
+                    wallet.reserve(player, 10);
+                } catch (InsufficientFundsException e) {
+                    rejected.incrementAndGet();
+                    return;
+                }
+                wallet.settle(player, 10, i % 7 == 0 ? 40 : 0);
+            });
+            assertEquals(PLAYERS, wallet.getAccountCount());
+            for (int player = 0; player < PLAYERS; player++) {
+                long balance = wallet.balance(player(player));
+                assertTrue(balance >= 0);
+                expected[player] = balance;
+            }
+            assertEquals(PLAYERS + 100_000 - rejected.get(), wallet.getLedger().getLastSequence());
+        }
+
+        try (StripedWallet reopened = open(true)) {
+            for (int player = 0; player < PLAYERS; player++) {
+                assertEquals(expected[player], reopened.balance(player(player)));
+            }
+        }
+    }
+
+    @Test
+    void testReserveNeedsFunds() throws IOException {
+        try (StripedWallet wallet = open(false)) {
+            assertThrows(InsufficientFundsException.class, () -> wallet.reserve("unknown", 1));
+            wallet.deposit("alice", 5);
+            assertThrows(InsufficientFundsException.class, () -> wallet.reserve("alice", 10));
+            assertEquals(5, wallet.balance("alice"));
+
+            wallet.reserve("alice", 5);
+            assertEquals(0, wallet.balance("alice"));
+            wallet.cancel("alice", 5);
+            assertEquals(5, wallet.balance("alice"));
+            assertThrows(IllegalArgumentException.class, () -> wallet.deposit("alice", 0));
+            assertThrows(IllegalArgumentException.class, () -> wallet.deposit("", 5));
+        }
+    }
+
+    @Test
+    void testNonPositiveAmountsAreRejected() throws IOException {
+        try (StripedWallet wallet = open(false)) {
+            wallet.deposit("frank", 100);
+            assertThrows(IllegalArgumentException.class, () -> wallet.reserve("frank", -1000));
+            assertThrows(IllegalArgumentException.class, () -> wallet.reserve("frank", 0));
+            assertThrows(IllegalArgumentException.class, () -> wallet.cancel("frank", -1000));
+            assertThrows(IllegalArgumentException.class, () -> wallet.settle("frank", -1000, 0));
+            assertThrows(IllegalArgumentException.class, () -> wallet.settle("frank", 10, -1000));
+            assertThrows(IllegalArgumentException.class, () -> wallet.cancel("", 10));
+            assertThrows(IllegalArgumentException.class, () -> wallet.settle("", 10, 0));
+            assertEquals(100, wallet.balance("frank"));
+            assertEquals(1, wallet.getLedger().getLastSequence());
+        }
+    }
+
+    @Test
+    void testNegativeAndZeroBetsCannotBePaid() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        try (StripedWallet wallet = open(false)) {
+            GameServiceImpl service = new GameServiceImpl(RandomProvider.seeded(5L), SpinJournal.DISABLED,
+                    PlayMetrics.DISABLED, RtpMonitor.DISABLED, wallet);
+            wallet.deposit("grace", 100);
+
+            assertThrows(IllegalArgumentException.class, () -> service.spin("grace", -1000, model));
+            assertThrows(IllegalArgumentException.class, () -> service.spin("grace", 0, model));
+            assertEquals(100, wallet.balance("grace"));
+        }
+    }
+
+    @Test
+    void testUnsettledReservationsAndTornTailAreDroppedOnRecovery() throws IOException {
+        try (StripedWallet wallet = open(true)) {
+            wallet.deposit("bob", 100);
+            wallet.reserve("bob", 30);
+            wallet.settle("bob", 30, 0);
+            wallet.reserve("bob", 30);
+            wallet.deposit("carol", 50);
+        }
+        try (StripedWallet wallet = open(true)) {
+            assertEquals(70, wallet.balance("bob"));
+            assertEquals(50, wallet.balance("carol"));
+        }
+
+        // Corrupt the last entry of the first segment, the deposit for carol.
+        Path segment;
+        try (Stream<Path> files = Files.list(directory.resolve("ledger"))) {
+            segment = files.filter(path -> path.getFileName().toString().endsWith(".wal")).sorted().findFirst()
+                    .orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            List<Integer> offsets = new ArrayList<>();
+            for (int position = 0; buffer.getInt(position) != 0; position += buffer.getInt(position)) {
+                offsets.add(position);
+            }
+            int last = offsets.get(offsets.size() - 1);
+            buffer.put(last + 20, (byte) (buffer.get(last + 20) ^ 1));
+        }
+        try (StripedWallet wallet = open(true)) {
+            assertEquals(70, wallet.balance("bob"));
+            assertEquals(0, wallet.balance("carol"));
+        }
+    }
+
+    @Test
+    void testPaidSpinsSettleRewardsInMinorUnits() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        try (StripedWallet wallet = open(false)) {
+            GameServiceImpl service = new GameServiceImpl(RandomProvider.seeded(5L), SpinJournal.DISABLED,
+                    PlayMetrics.DISABLED, RtpMonitor.DISABLED, wallet);
+            wallet.deposit("dave", 10_000_000);
+
+            long expected = 10_000_000;
+            for (int i = 0; i < 1000; i++) {
+                SpinResult result = service.spin("dave", 10, model);
+                expected += result.getRewardMinorUnits() - 10L * result.getScale();
+            }
+            assertEquals(expected, wallet.balance("dave"));
+            assertEquals(1001, wallet.getLedger().getLastSequence());
+
+            service.spin(null, 10, model);
+            assertEquals(expected, wallet.balance("dave"));
+            assertThrows(InsufficientFundsException.class, () -> service.spin("erin", 10, model));
+        }
+    }
+
+    @Test
+    void testFailedSettlementsReturnTheReservation() throws IOException {
+        GameModel model = GameModel.load(Paths.get("src/main/resources/config.json"));
+        try (StripedWallet wallet = open(true)) {
+            GameServiceImpl service = new GameServiceImpl(RandomProvider.seeded(5L), SpinJournal.DISABLED,
+                    PlayMetrics.DISABLED, RtpMonitor.DISABLED, wallet);
+            wallet.deposit("frank", 1000);
+            wallet.getLedger().close();
+
+            for (int i = 0; i < 50; i++) {
+                assertThrows(IllegalStateException.class, () -> service.spin("frank", 10, model));
+                assertEquals(1000, wallet.balance("frank"));
+            }
+        }
+    }
+
+    private StripedWallet open(boolean sync) throws IOException {
+        return new StripedWallet(directory.resolve("ledger"), 8, 1 << 20, 1, sync);
+    }
+
+    private static String player(int index) {
+        return "player-" + index;
+    }
+}